@@ -0,0 +1,83 @@
+package likelion._th.ganzithon.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import likelion._th.ganzithon.dto.response.PathInfo;
+import likelion._th.ganzithon.dto.response.PathSearchResponse;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// /paths 응답 직렬화 (경로 3개, 경로당 좌표 points 개), format 별 비교
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PathSearchResponseSerializationBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    int points;
+
+    @Param({"json", "cbor", "msgpack", "protobuf"})
+    String format;
+
+    private ObjectWriter writer;
+    private PathSearchResponse response;
+
+    @Setup
+    public void setup() throws Exception {
+        writer = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory()).writer();
+            case "msgpack" -> new ObjectMapper(new MessagePackFactory()).writer();
+            case "protobuf" -> {
+                try (InputStream in = getClass().getResourceAsStream("/proto/path_search_response.proto")) {
+                    yield new ObjectMapper(new ProtobufFactory())
+                            .writer(ProtobufSchemaLoader.std.load(in, "PathSearchResponse"))
+                            .with(JsonGenerator.Feature.IGNORE_UNKNOWN);
+                }
+            }
+            default -> new ObjectMapper().writer();
+        };
+
+        List<PathInfo> paths = new ArrayList<>(3);
+        for (int i = 0; i < 3; i++) {
+            Map<String, Double> cpted = new LinkedHashMap<>();
+            cpted.put("cctv", 3.2);
+            cpted.put("light", 4.1);
+            cpted.put("store", 1.5);
+            cpted.put("police", 0.4);
+
+            paths.add(PathInfo.builder()
+                    .id("path-" + (i + 1))
+                    .time(SyntheticRoutes.distanceOf(points))
+                    .distance(SyntheticRoutes.distanceOf(points))
+                    .polyline(SyntheticRoutes.route(points, 42L + i))
+                    .cpted(cpted)
+                    .summaryGrade("B(72점)")
+                    .grade("B")
+                    .score(72)
+                    .aiPreview(List.of("CCTV가 많은 큰길 위주 경로입니다.", "공원 옆 구간은 조명이 부족합니다."))
+                    .isRecommended(i == 0)
+                    .routeToken("00000000-0000-0000-0000-00000000000" + i)
+                    .build());
+        }
+        response = PathSearchResponse.builder()
+                .message("후보 경로 조회 성공")
+                .paths(paths)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
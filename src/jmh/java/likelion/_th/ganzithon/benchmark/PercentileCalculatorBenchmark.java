@@ -0,0 +1,49 @@
+package likelion._th.ganzithon.benchmark;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.util.PercentileCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 분포 내 percentile 계산 (값 하나당 1회 호출)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PercentileCalculatorBenchmark {
+
+    // 분포 샘플(셀) 개수
+    @Param({"100", "1000", "10000", "50000"})
+    int samples;
+
+    private static final String[] TYPES = {"cctv", "light", "store", "police", "score"};
+
+    private PercentileCalculator calculator;
+    private double[] values;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42L);
+        List<FirebaseClient.SafetyCell> cells = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            cells.add(SyntheticRoutes.randomCell("cell-" + i, random));
+        }
+        calculator = new PercentileCalculator(cells);
+
+        values = new double[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(20);
+        }
+    }
+
+    @Benchmark
+    public int getPercentile() {
+        int i = cursor;
+        cursor = (i + 1) & (values.length - 1);
+        return calculator.getPercentile(TYPES[i % TYPES.length], values[i]);
+    }
+}
@@ -0,0 +1,72 @@
+package likelion._th.ganzithon.benchmark;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.domain.CoordinateBuffer;
+import likelion._th.ganzithon.dto.request.ReportRequest;
+import likelion._th.ganzithon.util.GridIndex;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// 벤치마크용 합성 경로/셀 데이터 (seed 고정으로 실행마다 같은 입력)
+public final class SyntheticRoutes {
+
+    // 좌표 간격 약 10m
+    public static final double STEP = 0.0001;
+    public static final int METERS_PER_POINT = 10;
+
+    private static final double START_LAT = 37.5665;
+    private static final double START_LNG = 126.9780;
+
+    private SyntheticRoutes() {
+    }
+
+    // 서울 시청 부근에서 시작하는 보행 경로 (대체로 북동쪽으로 진행하는 random walk)
+    public static CoordinateBuffer route(int points, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        CoordinateBuffer buffer = new CoordinateBuffer(points);
+        double lat = START_LAT;
+        double lng = START_LNG;
+        for (int i = 0; i < points; i++) {
+            buffer.add(lat, lng);
+            lat += STEP * (random.nextDouble() - 0.3);
+            lng += STEP * (random.nextDouble() - 0.3);
+        }
+        return buffer;
+    }
+
+    public static int distanceOf(int points) {
+        return points * METERS_PER_POINT;
+    }
+
+    // 경로가 지나는 셀마다 시설물 개수를 채운 셀 데이터 (약 10% 는 DB 에 없는 셀로 둠)
+    public static Map<String, FirebaseClient.SafetyCell> cellsAlong(List<ReportRequest.Coordinate> route, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<String> visited = new HashSet<>();
+        Map<String, FirebaseClient.SafetyCell> cells = new HashMap<>();
+        for (ReportRequest.Coordinate point : route) {
+            String cellId = GridIndex.cellId(point.getLat(), point.getLng());
+            if (!visited.add(cellId) || random.nextInt(10) == 0) {
+                continue;
+            }
+            cells.put(cellId, randomCell(cellId, random));
+        }
+        return cells;
+    }
+
+    public static FirebaseClient.SafetyCell randomCell(String cellId, SplittableRandom random) {
+        return FirebaseClient.SafetyCell.builder()
+                .cellId(cellId)
+                .cctvCount(random.nextInt(12))
+                .lightCount(random.nextInt(20))
+                .storeCount(random.nextInt(6))
+                .policeCount(random.nextInt(2))
+                .schoolCount(random.nextInt(3))
+                .cptedScore(Math.round(random.nextDouble(5.0) * 10.0) / 10.0)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package likelion._th.ganzithon.client;
+
+import likelion._th.ganzithon.benchmark.SyntheticRoutes;
+import likelion._th.ganzithon.domain.CoordinateBuffer;
+import likelion._th.ganzithon.domain.LatLng;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Google encoded polyline 디코딩
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class GoogleMapsClientBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    int points;
+
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        encoded = encode(SyntheticRoutes.route(points, 42L));
+    }
+
+    @Benchmark
+    public List<LatLng> decodePolyline() {
+        return GoogleMapsClient.decodePolyline(encoded);
+    }
+
+    // Google polyline 인코딩 (decodePolyline 의 역)
+    private static String encode(CoordinateBuffer route) {
+        StringBuilder sb = new StringBuilder(route.size() * 8);
+        long prevLat = 0, prevLng = 0;
+        for (int i = 0; i < route.size(); i++) {
+            long lat = Math.round(route.lat(i) * 1e5);
+            long lng = Math.round(route.lng(i) * 1e5);
+            encodeValue(sb, lat - prevLat);
+            encodeValue(sb, lng - prevLng);
+            prevLat = lat;
+            prevLng = lng;
+        }
+        return sb.toString();
+    }
+
+    private static void encodeValue(StringBuilder sb, long value) {
+        long v = value < 0 ? ~(value << 1) : (value << 1);
+        while (v >= 0x20) {
+            sb.append((char) ((0x20 | (v & 0x1f)) + 63));
+            v >>= 5;
+        }
+        sb.append((char) (v + 63));
+    }
+}
@@ -0,0 +1,49 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.benchmark.SyntheticRoutes;
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.domain.CoordinateBuffer;
+import likelion._th.ganzithon.dto.RouteAnalysisData;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.store.InMemoryCellStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// CPTED 경로 분석 전체 (좌표 → 셀 조회 → 점수/구간), 분석 모드별
+// 모드는 전체 분석에만 영향이 있어서 CptedServiceBenchmark 의 세부 벤치마크와 분리
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CptedServiceAnalysisBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    int points;
+
+    // vertex: 좌표 셀만 / corridor: 경로 버퍼 셀 거리 가중 집계
+    @Param({"vertex", "corridor"})
+    String analysisMode;
+
+    private CptedService cptedService;
+    private CoordinateBuffer route;
+    private int distance;
+
+    @Setup
+    public void setup() {
+        route = SyntheticRoutes.route(points, 42L);
+        distance = SyntheticRoutes.distanceOf(points);
+
+        Map<String, FirebaseClient.SafetyCell> cellData = SyntheticRoutes.cellsAlong(route, 7L);
+        AnalysisMetrics metrics = new AnalysisMetrics(new SimpleMeterRegistry());
+        cptedService = new CptedService(
+                new InMemoryCellStore(cellData, 0, metrics), metrics, analysisMode, 100, 0.3);
+    }
+
+    // 좌표 → gridId → 셀 조회(stub) → 점수/구간 계산 전체
+    @Benchmark
+    public RouteAnalysisData analyzeRoute() throws Exception {
+        return cptedService.analyzeRoute("route-1", route, distance, distance);
+    }
+}
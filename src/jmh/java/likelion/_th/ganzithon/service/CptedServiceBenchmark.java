@@ -0,0 +1,95 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.benchmark.SyntheticRoutes;
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.domain.CellTable;
+import likelion._th.ganzithon.domain.CoordinateBuffer;
+import likelion._th.ganzithon.dto.RouteAnalysisData;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.store.InMemoryCellStore;
+import likelion._th.ganzithon.util.GridIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// CPTED 점수 계산 경로 (/paths, /report 요청마다 실행)
+// 셀 조회는 지연 없는 InMemoryCellStore 로 대체해서 계산/할당 비용만 측정
+// 경로 분석 전체(분석 모드별)는 CptedServiceAnalysisBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CptedServiceBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    int points;
+
+    private CptedService cptedService;
+    private int distance;
+
+    private double[] lats;
+    private double[] lngs;
+    private int cursor;
+
+    private int[] pointSlots;
+    private CellTable cells;
+
+    private CptedService.SegmentStats[] segmentStats;
+
+    @Setup
+    public void setup() {
+        CoordinateBuffer route = SyntheticRoutes.route(points, 42L);
+        distance = SyntheticRoutes.distanceOf(points);
+
+        Map<String, FirebaseClient.SafetyCell> cellData = SyntheticRoutes.cellsAlong(route, 7L);
+        AnalysisMetrics metrics = new AnalysisMetrics(new SimpleMeterRegistry());
+        cptedService = new CptedService(
+                new InMemoryCellStore(cellData, 0, metrics), metrics, "vertex", 100, 0.3);
+
+        lats = new double[points];
+        lngs = new double[points];
+        for (int i = 0; i < points; i++) {
+            lats[i] = route.lat(i);
+            lngs[i] = route.lng(i);
+        }
+
+        cells = CellTable.from(cellData.values());
+        pointSlots = new int[points];
+        for (int i = 0; i < points; i++) {
+            pointSlots[i] = cells.slotOf(GridIndex.cellId(lats[i], lngs[i]));
+        }
+
+        // 시설물 많은 구간 / 보통 구간 / 빈 구간
+        segmentStats = new CptedService.SegmentStats[]{
+                new CptedService.SegmentStats(4.2, 9, 12, 3, 1, 1),
+                new CptedService.SegmentStats(2.1, 2, 1, 1, 0, 0),
+                new CptedService.SegmentStats(0.0, 0, 0, 0, 0, 0)
+        };
+    }
+
+    // 좌표 하나당 gridId 문자열 생성 비용
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String toGridId() {
+        int i = cursor;
+        cursor = (i + 1 == points) ? 0 : i + 1;
+        return cptedService.toGridId(lats[i], lngs[i]);
+    }
+
+    // 200m 구간 분석 (셀 슬롯이 이미 준비된 상태)
+    @Benchmark
+    public List<RouteAnalysisData.SegmentAnalysis> buildSegments() {
+        return cptedService.buildSegments(pointSlots, cells, distance);
+    }
+
+    // 구간 설명 문구 생성 (구간마다 1회)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String generateSegmentDescription() {
+        int i = cursor;
+        cursor = (i + 1 == points) ? 0 : i + 1;
+        return cptedService.generateSegmentDescription(segmentStats[i % segmentStats.length]);
+    }
+}
@@ -0,0 +1,38 @@
+package likelion._th.ganzithon.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// --key=value 형식 명령행 인자
+final class Args {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    Args(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
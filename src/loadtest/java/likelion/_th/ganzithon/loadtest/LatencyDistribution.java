@@ -0,0 +1,73 @@
+package likelion._th.ganzithon.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// stub 응답 지연 분포
+// - fixed:200          항상 200ms
+// - uniform:100-400    100~400ms 균등 분포
+// - lognormal:300,1200 중앙값 300ms, p99 1200ms 인 로그정규 분포 (외부 API 응답 시간과 비슷한 꼬리)
+final class LatencyDistribution {
+
+    // 표준정규분포 99% 분위수
+    private static final double Z_99 = 2.326;
+
+    private final String spec;
+    private final Kind kind;
+    private final double a;
+    private final double b;
+
+    private enum Kind { FIXED, UNIFORM, LOGNORMAL }
+
+    private LatencyDistribution(String spec, Kind kind, double a, double b) {
+        this.spec = spec;
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+    }
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("지연 분포 형식 오류: " + spec);
+        }
+        switch (parts[0]) {
+            case "fixed":
+                return new LatencyDistribution(spec, Kind.FIXED, Double.parseDouble(parts[1]), 0);
+            case "uniform": {
+                String[] range = parts[1].split("-");
+                return new LatencyDistribution(spec, Kind.UNIFORM,
+                        Double.parseDouble(range[0]), Double.parseDouble(range[1]));
+            }
+            case "lognormal": {
+                String[] params = parts[1].split(",");
+                double median = Double.parseDouble(params[0]);
+                double p99 = Double.parseDouble(params[1]);
+                if (median <= 0 || p99 < median) {
+                    throw new IllegalArgumentException("lognormal 은 0 < p50 <= p99 이어야 합니다: " + spec);
+                }
+                double mu = Math.log(median);
+                double sigma = (Math.log(p99) - mu) / Z_99;
+                return new LatencyDistribution(spec, Kind.LOGNORMAL, mu, sigma);
+            }
+            default:
+                throw new IllegalArgumentException("알 수 없는 지연 분포: " + spec);
+        }
+    }
+
+    long sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (kind) {
+            case FIXED:
+                return (long) a;
+            case UNIFORM:
+                return (long) (a + random.nextDouble() * (b - a));
+            default:
+                return (long) Math.exp(a + b * random.nextGaussian());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
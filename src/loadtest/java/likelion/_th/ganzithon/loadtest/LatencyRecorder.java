@@ -0,0 +1,41 @@
+package likelion._th.ganzithon.loadtest;
+
+import java.util.Arrays;
+
+// 클라이언트 측 응답 시간 기록 (ms, 정렬 후 분위수 계산)
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private int errors;
+
+    synchronized void record(long millis) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = millis;
+    }
+
+    synchronized void error() {
+        errors++;
+    }
+
+    synchronized int count() {
+        return size;
+    }
+
+    synchronized int errors() {
+        return errors;
+    }
+
+    // nearest-rank 분위수
+    synchronized long percentile(double q) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(q * size);
+        return sorted[Math.max(0, Math.min(size - 1, rank - 1))];
+    }
+}
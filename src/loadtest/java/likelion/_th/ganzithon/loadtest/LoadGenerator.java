@@ -0,0 +1,229 @@
+package likelion._th.ganzithon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// /api/v1/analysis/paths, /report 부하 생성기
+// - open-loop: 응답을 기다리지 않고 목표 RPS 간격으로 요청 발사 (서버가 느려져도 부하 유지)
+// - /paths 성공 응답 중 --report-ratio 비율로 추천 경로의 /report 를 이어서 요청
+// - 클라이언트 측 지연 분위수 + 서버 /actuator/prometheus 히스토그램 delta 로 단계별 분위수 출력
+//
+// 옵션 (기본값)
+//   --base-url=http://localhost:8080 --rps=2 --duration=60 --warmup=10
+//   --report-ratio=0.5 --timeout=60 --seed=42
+public class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // 서울 도심 출발지 범위 (위도/경도 중심 + 반경)
+    private static final double CENTER_LAT = 37.5665;
+    private static final double CENTER_LNG = 126.9780;
+    private static final double AREA_RADIUS = 0.03;
+    // 출발-도착 간격 (약 300m ~ 2.5km)
+    private static final double MIN_TRIP = 0.003;
+    private static final double MAX_TRIP = 0.022;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final double reportRatio;
+
+    private final LatencyRecorder pathsLatency = new LatencyRecorder();
+    private final LatencyRecorder reportLatency = new LatencyRecorder();
+    private final AtomicBoolean recording = new AtomicBoolean(false);
+
+    LoadGenerator(String baseUrl, Duration timeout, double reportRatio) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.reportRatio = reportRatio;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        String baseUrl = args.get("base-url", "http://localhost:8080");
+        double rps = args.getDouble("rps", 2.0);
+        int durationSeconds = args.getInt("duration", 60);
+        int warmupSeconds = args.getInt("warmup", 10);
+        double reportRatio = args.getDouble("report-ratio", 0.5);
+        int timeoutSeconds = args.getInt("timeout", 60);
+
+        LoadGenerator generator = new LoadGenerator(baseUrl, Duration.ofSeconds(timeoutSeconds), reportRatio);
+        System.out.printf("target=%s rps=%.2f duration=%ds warmup=%ds report-ratio=%.2f%n",
+                baseUrl, rps, durationSeconds, warmupSeconds, reportRatio);
+
+        if (warmupSeconds > 0) {
+            System.out.println("warmup...");
+            generator.run(rps, warmupSeconds, timeoutSeconds);
+        }
+
+        PrometheusSnapshot before = generator.scrape();
+        generator.recording.set(true);
+        long start = System.nanoTime();
+        generator.run(rps, durationSeconds, timeoutSeconds);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        generator.recording.set(false);
+        PrometheusSnapshot after = generator.scrape();
+
+        generator.printReport(elapsedSeconds, before, after);
+    }
+
+    // rps 간격으로 durationSeconds 동안 요청 발사 후, 진행 중인 요청이 끝날 때까지 대기
+    private void run(double rps, int durationSeconds, int timeoutSeconds) throws InterruptedException {
+        long intervalNanos = (long) (1_000_000_000L / rps);
+        long total = (long) (rps * durationSeconds);
+
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            workers.execute(this::scenario);
+        }
+        workers.shutdown();
+        workers.awaitTermination(timeoutSeconds * 2L, TimeUnit.SECONDS);
+    }
+
+    // /paths → (일부) 추천 경로 /report
+    private void scenario() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double startLat = CENTER_LAT + (random.nextDouble() * 2 - 1) * AREA_RADIUS;
+        double startLng = CENTER_LNG + (random.nextDouble() * 2 - 1) * AREA_RADIUS;
+        double trip = MIN_TRIP + random.nextDouble() * (MAX_TRIP - MIN_TRIP);
+        double angle = random.nextDouble() * Math.PI * 2;
+
+        ObjectNode pathsBody = MAPPER.createObjectNode();
+        pathsBody.put("start_lat", startLat);
+        pathsBody.put("start_lng", startLng);
+        pathsBody.put("end_lat", startLat + Math.sin(angle) * trip);
+        pathsBody.put("end_lng", startLng + Math.cos(angle) * trip);
+        pathsBody.put("start_name", "출발지");
+        pathsBody.put("end_name", "도착지");
+
+        JsonNode paths = post("/api/v1/analysis/paths", pathsBody, pathsLatency);
+        if (paths == null || random.nextDouble() >= reportRatio) {
+            return;
+        }
+
+        JsonNode recommended = null;
+        for (JsonNode path : paths.path("paths")) {
+            if (path.path("is_recommended").asBoolean(false)) {
+                recommended = path;
+            }
+        }
+        if (recommended == null) {
+            return;
+        }
+
+        ObjectNode reportBody = MAPPER.createObjectNode();
+        reportBody.put("routeId", recommended.path("id").asText());
+        reportBody.put("route_token", recommended.path("route_token").asText());
+        reportBody.put("origin", "출발지");
+        reportBody.put("destination", "도착지");
+        reportBody.put("totalDistance", recommended.path("distance").asInt());
+        reportBody.put("totalTime", recommended.path("time").asInt());
+        reportBody.put("score", recommended.path("score").asInt());
+        reportBody.put("grade", recommended.path("grade").asText());
+        reportBody.set("coordinates", recommended.path("polyline"));
+
+        post("/api/v1/analysis/report", reportBody, reportLatency);
+    }
+
+    private JsonNode post(String path, JsonNode body, LatencyRecorder recorder) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                    .build();
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            if (response.statusCode() != 200) {
+                if (recording.get()) {
+                    recorder.error();
+                }
+                return null;
+            }
+            if (recording.get()) {
+                recorder.record(millis);
+            }
+            return MAPPER.readTree(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            if (recording.get()) {
+                recorder.error();
+            }
+            return null;
+        }
+    }
+
+    private PrometheusSnapshot scrape() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("/actuator/prometheus 조회 실패: " + response.statusCode());
+        }
+        return PrometheusSnapshot.parse(response.body());
+    }
+
+    private void printReport(double elapsedSeconds, PrometheusSnapshot before, PrometheusSnapshot after) {
+        System.out.println();
+        System.out.printf("== client (%.1fs) ==%n", elapsedSeconds);
+        System.out.printf("%-10s %8s %8s %10s %9s %9s %9s%n",
+                "endpoint", "ok", "errors", "ok/s", "p50(ms)", "p95(ms)", "p99(ms)");
+        printClient("/paths", pathsLatency, elapsedSeconds);
+        printClient("/report", reportLatency, elapsedSeconds);
+
+        System.out.println();
+        System.out.println("== server stages (analysis.stage histogram delta) ==");
+        System.out.printf("%-12s %8s %8s %10s %9s %9s %9s%n",
+                "stage", "count", "per/s", "mean(ms)", "p50(ms)", "p95(ms)", "p99(ms)");
+        List<PrometheusSnapshot.StageStats> stages = after.stagesSince(before);
+        for (PrometheusSnapshot.StageStats s : stages) {
+            System.out.printf("%-12s %8d %8.2f %10.1f %9.1f %9.1f %9.1f%n",
+                    s.stage(), s.count(), s.count() / elapsedSeconds,
+                    s.meanSeconds() * 1000, s.p50Seconds() * 1000,
+                    s.p95Seconds() * 1000, s.p99Seconds() * 1000);
+        }
+
+        Map<String, Double> fallbacks = after.fallbacksSince(before);
+        if (!fallbacks.isEmpty()) {
+            System.out.println();
+            System.out.println("== fallbacks ==");
+            fallbacks.forEach((type, count) -> System.out.printf("%-12s %8.0f%n", type, count));
+        }
+    }
+
+    private static void printClient(String name, LatencyRecorder recorder, double elapsedSeconds) {
+        System.out.printf("%-10s %8d %8d %10.2f %9d %9d %9d%n",
+                name, recorder.count(), recorder.errors(), recorder.count() / elapsedSeconds,
+                recorder.percentile(0.50), recorder.percentile(0.95), recorder.percentile(0.99));
+    }
+}
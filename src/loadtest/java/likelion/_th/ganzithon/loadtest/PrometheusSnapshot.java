@@ -0,0 +1,133 @@
+package likelion._th.ganzithon.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// /actuator/prometheus 텍스트에서 analysis.* 지표만 읽은 스냅샷
+// 두 스냅샷의 차이(delta)로 부하 구간에 해당하는 값만 계산
+final class PrometheusSnapshot {
+
+    private static final Pattern LINE = Pattern.compile("^([a-zA-Z_:][a-zA-Z0-9_:]*)(\\{([^}]*)})?\\s+(\\S+)");
+    private static final Pattern LABEL = Pattern.compile("(\\w+)=\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    // stage → le → 누적 개수
+    private final Map<String, TreeMap<Double, Double>> stageBuckets = new HashMap<>();
+    private final Map<String, Double> stageCounts = new HashMap<>();
+    private final Map<String, Double> stageSums = new HashMap<>();
+    private final Map<String, Double> fallbacks = new HashMap<>();
+
+    static PrometheusSnapshot parse(String text) {
+        PrometheusSnapshot snapshot = new PrometheusSnapshot();
+        for (String line : text.split("\n")) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            Matcher m = LINE.matcher(line);
+            if (!m.find()) {
+                continue;
+            }
+            String name = m.group(1);
+            Map<String, String> labels = labels(m.group(3));
+            double value = Double.parseDouble(m.group(4));
+
+            switch (name) {
+                case "analysis_stage_seconds_bucket":
+                    snapshot.stageBuckets
+                            .computeIfAbsent(labels.get("stage"), k -> new TreeMap<>())
+                            .merge(parseLe(labels.get("le")), value, Double::sum);
+                    break;
+                case "analysis_stage_seconds_count":
+                    snapshot.stageCounts.merge(labels.get("stage"), value, Double::sum);
+                    break;
+                case "analysis_stage_seconds_sum":
+                    snapshot.stageSums.merge(labels.get("stage"), value, Double::sum);
+                    break;
+                case "analysis_fallback_total":
+                    snapshot.fallbacks.merge(labels.get("type"), value, Double::sum);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return snapshot;
+    }
+
+    List<StageStats> stagesSince(PrometheusSnapshot before) {
+        List<StageStats> result = new ArrayList<>();
+        for (String stage : new TreeMap<>(stageCounts).keySet()) {
+            double count = stageCounts.get(stage) - before.stageCounts.getOrDefault(stage, 0.0);
+            if (count <= 0) {
+                continue;
+            }
+            double sum = stageSums.getOrDefault(stage, 0.0) - before.stageSums.getOrDefault(stage, 0.0);
+
+            TreeMap<Double, Double> delta = new TreeMap<>();
+            TreeMap<Double, Double> prev = before.stageBuckets.getOrDefault(stage, new TreeMap<>());
+            stageBuckets.getOrDefault(stage, new TreeMap<>())
+                    .forEach((le, cumulative) -> delta.put(le, cumulative - prev.getOrDefault(le, 0.0)));
+
+            result.add(new StageStats(stage, (long) count, sum / count,
+                    quantile(delta, count, 0.50),
+                    quantile(delta, count, 0.95),
+                    quantile(delta, count, 0.99)));
+        }
+        return result;
+    }
+
+    Map<String, Double> fallbacksSince(PrometheusSnapshot before) {
+        Map<String, Double> result = new TreeMap<>();
+        fallbacks.forEach((type, value) -> {
+            double delta = value - before.fallbacks.getOrDefault(type, 0.0);
+            if (delta > 0) {
+                result.put(type, delta);
+            }
+        });
+        return result;
+    }
+
+    // 누적 히스토그램 버킷에서 분위수 (버킷 안에서는 선형 보간, 초 단위)
+    private static double quantile(TreeMap<Double, Double> cumulative, double total, double q) {
+        double target = q * total;
+        double prevLe = 0.0;
+        double prevCount = 0.0;
+        for (Map.Entry<Double, Double> bucket : cumulative.entrySet()) {
+            double le = bucket.getKey();
+            double count = bucket.getValue();
+            if (count >= target) {
+                if (Double.isInfinite(le)) {
+                    return prevLe;
+                }
+                double inBucket = count - prevCount;
+                double fraction = inBucket <= 0 ? 1.0 : (target - prevCount) / inBucket;
+                return prevLe + (le - prevLe) * fraction;
+            }
+            prevLe = le;
+            prevCount = count;
+        }
+        return prevLe;
+    }
+
+    private static double parseLe(String le) {
+        return "+Inf".equals(le) ? Double.POSITIVE_INFINITY : Double.parseDouble(le);
+    }
+
+    private static Map<String, String> labels(String text) {
+        Map<String, String> labels = new HashMap<>();
+        if (text != null) {
+            Matcher m = LABEL.matcher(text);
+            while (m.find()) {
+                labels.put(m.group(1), m.group(2));
+            }
+        }
+        return labels;
+    }
+
+    record StageStats(String stage, long count, double meanSeconds,
+                      double p50Seconds, double p95Seconds, double p99Seconds) {
+    }
+}
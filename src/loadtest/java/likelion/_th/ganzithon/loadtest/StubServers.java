@@ -0,0 +1,249 @@
+package likelion._th.ganzithon.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Tmap / Upstage 대역 stub 서버
+// - 녹화한 응답(*.json)이 있으면 순서대로 재생, 없으면 요청 좌표로 합성 응답 생성
+// - 응답마다 지연 분포에서 뽑은 시간만큼 대기 후 응답
+// - --error-rate 비율만큼 500 응답 (폴백 경로 측정용)
+//
+// 옵션 (기본값)
+//   --tmap-port=18081 --upstage-port=18082
+//   --tmap-latency=lognormal:250,900 --upstage-latency=lognormal:1500,5000
+//   --tmap-recordings=<dir> --upstage-recordings=<dir> --error-rate=0
+public class StubServers {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // 합성 경로 좌표 간격 (약 10m)
+    private static final double STEP_METERS = 10.0;
+    private static final double METERS_PER_DEGREE = 111_000.0;
+    // 보행 속도 (m/s)
+    private static final double WALK_SPEED = 1.2;
+
+    private static final String[] PREVIEW_LINES = {
+            "큰길 위주라 CCTV와 가로등이 충분해요",
+            "중간에 조명이 조금 부족한 골목이 있어요",
+            "편의점이 곳곳에 있어 늦은 시간에도 무난해요",
+            "학교 주변을 지나 비교적 안정적인 길이에요"
+    };
+
+    public static void main(String[] argv) throws IOException {
+        Args args = new Args(argv);
+        int tmapPort = args.getInt("tmap-port", 18081);
+        int upstagePort = args.getInt("upstage-port", 18082);
+        LatencyDistribution tmapLatency = LatencyDistribution.parse(args.get("tmap-latency", "lognormal:250,900"));
+        LatencyDistribution upstageLatency = LatencyDistribution.parse(args.get("upstage-latency", "lognormal:1500,5000"));
+        double errorRate = args.getDouble("error-rate", 0.0);
+
+        Recordings tmapRecordings = Recordings.load(args.get("tmap-recordings", null));
+        Recordings upstageRecordings = Recordings.load(args.get("upstage-recordings", null));
+
+        HttpServer tmap = HttpServer.create(new InetSocketAddress(tmapPort), 0);
+        tmap.createContext("/tmap/routes/pedestrian", exchange -> handle(exchange, tmapLatency, errorRate,
+                () -> tmapRecordings.isEmpty()
+                        ? synthesizeTmapRoute(readForm(exchange))
+                        : tmapRecordings.next()));
+        tmap.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+
+        HttpServer upstage = HttpServer.create(new InetSocketAddress(upstagePort), 0);
+        upstage.createContext("/v1/chat/completions", exchange -> handle(exchange, upstageLatency, errorRate,
+                () -> {
+                    exchange.getRequestBody().readAllBytes();
+                    return upstageRecordings.isEmpty()
+                            ? synthesizeChatCompletion()
+                            : upstageRecordings.next();
+                }));
+        upstage.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+
+        tmap.start();
+        upstage.start();
+
+        System.out.printf("Tmap stub    : http://localhost:%d (latency=%s, recordings=%d)%n",
+                tmapPort, tmapLatency, tmapRecordings.size());
+        System.out.printf("Upstage stub : http://localhost:%d/v1 (latency=%s, recordings=%d)%n",
+                upstagePort, upstageLatency, upstageRecordings.size());
+        System.out.printf("error-rate   : %.3f%n", errorRate);
+    }
+
+    private interface Body {
+        byte[] create() throws IOException;
+    }
+
+    private static void handle(HttpExchange exchange, LatencyDistribution latency,
+                               double errorRate, Body body) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] response = body.create();
+            Thread.sleep(latency.sampleMillis());
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("stub 처리 실패: " + e);
+            exchange.sendResponseHeaders(500, -1);
+        }
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    // 출발 → 경유지(passList) → 도착을 잇는 Tmap 형식 FeatureCollection
+    private static byte[] synthesizeTmapRoute(Map<String, String> form) throws IOException {
+        List<double[]> stops = new ArrayList<>();
+        stops.add(new double[]{Double.parseDouble(form.get("startX")), Double.parseDouble(form.get("startY"))});
+        String passList = form.get("passList");
+        if (passList != null && !passList.isBlank()) {
+            for (String pass : passList.split("_")) {
+                String[] lngLat = pass.split(",");
+                stops.add(new double[]{Double.parseDouble(lngLat[0]), Double.parseDouble(lngLat[1])});
+            }
+        }
+        stops.add(new double[]{Double.parseDouble(form.get("endX")), Double.parseDouble(form.get("endY"))});
+
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("type", "FeatureCollection");
+        ArrayNode features = root.putArray("features");
+
+        ObjectNode startPoint = features.addObject();
+        startPoint.put("type", "Feature");
+        ObjectNode startGeometry = startPoint.putObject("geometry");
+        startGeometry.put("type", "Point");
+        startGeometry.putArray("coordinates").add(stops.get(0)[0]).add(stops.get(0)[1]);
+        ObjectNode startProperties = startPoint.putObject("properties");
+
+        double totalMeters = 0;
+        for (int i = 0; i + 1 < stops.size(); i++) {
+            double[] from = stops.get(i);
+            double[] to = stops.get(i + 1);
+            double meters = distanceMeters(from, to);
+            totalMeters += meters;
+
+            ObjectNode line = features.addObject();
+            line.put("type", "Feature");
+            ObjectNode geometry = line.putObject("geometry");
+            geometry.put("type", "LineString");
+            ArrayNode coordinates = geometry.putArray("coordinates");
+
+            int steps = Math.max(1, (int) (meters / STEP_METERS));
+            for (int s = 0; s <= steps; s++) {
+                double t = (double) s / steps;
+                // 실제 보행 경로처럼 약간 흔들림
+                double jitter = (s == 0 || s == steps) ? 0 : (ThreadLocalRandom.current().nextDouble() - 0.5) * 0.00005;
+                coordinates.addArray()
+                        .add(from[0] + (to[0] - from[0]) * t + jitter)
+                        .add(from[1] + (to[1] - from[1]) * t + jitter);
+            }
+            line.putObject("properties").put("distance", (int) meters);
+        }
+
+        startProperties.put("totalDistance", (int) totalMeters);
+        startProperties.put("totalTime", (int) (totalMeters / WALK_SPEED));
+        return MAPPER.writeValueAsBytes(root);
+    }
+
+    // recommend / preview / report 세 프롬프트 모두 파싱되는 응답
+    // ("경로N" 포함 → 추천, 줄 단위 → 프리뷰, 전체 → 리포트 코멘트)
+    private static byte[] synthesizeChatCompletion() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String content = "경로" + (random.nextInt(3) + 1) + "을 추천합니다.\n"
+                + PREVIEW_LINES[random.nextInt(PREVIEW_LINES.length)] + "\n"
+                + PREVIEW_LINES[random.nextInt(PREVIEW_LINES.length)];
+
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("id", "stub-" + System.nanoTime());
+        root.put("object", "chat.completion");
+        root.put("model", "solar-pro2");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.put("finish_reason", "stop");
+        ObjectNode message = choice.putObject("message");
+        message.put("role", "assistant");
+        message.put("content", content);
+        return MAPPER.writeValueAsBytes(root);
+    }
+
+    private static double distanceMeters(double[] from, double[] to) {
+        double dLat = (to[1] - from[1]) * METERS_PER_DEGREE;
+        double dLng = (to[0] - from[0]) * METERS_PER_DEGREE * Math.cos(Math.toRadians(from[1]));
+        return Math.sqrt(dLat * dLat + dLng * dLng);
+    }
+
+    // 녹화 응답 (디렉터리의 *.json 파일을 이름순으로 돌아가며 재생)
+    private static final class Recordings {
+        private final List<byte[]> bodies;
+        private final AtomicLong cursor = new AtomicLong();
+
+        private Recordings(List<byte[]> bodies) {
+            this.bodies = bodies;
+        }
+
+        static Recordings load(String dir) throws IOException {
+            List<byte[]> bodies = new ArrayList<>();
+            if (dir != null) {
+                try (Stream<Path> files = Files.list(Path.of(dir))) {
+                    for (Path file : files.filter(f -> f.toString().endsWith(".json")).sorted().toList()) {
+                        bodies.add(Files.readAllBytes(file));
+                    }
+                }
+            }
+            return new Recordings(bodies);
+        }
+
+        boolean isEmpty() {
+            return bodies.isEmpty();
+        }
+
+        int size() {
+            return bodies.size();
+        }
+
+        byte[] next() {
+            return bodies.get((int) (cursor.getAndIncrement() % bodies.size()));
+        }
+    }
+}
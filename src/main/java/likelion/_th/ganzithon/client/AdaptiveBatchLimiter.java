@@ -0,0 +1,172 @@
+package likelion._th.ganzithon.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+// Firestore batch 조회 동시성 / 배치 크기 자동 조절 (AIMD)
+// - 배치 RPC 가 목표 지연보다 빠르면: 동시 배치 수 +1/limit (한 윈도우에 약 +1), 아주 빠르면 배치 크기 +1
+// - 목표 지연보다 느리면: 둘 다 조금씩 감소 (0.9)
+// - RESOURCE_EXHAUSTED / DEADLINE_EXCEEDED / UNAVAILABLE / 타임아웃: 둘 다 절반 (multiplicative decrease)
+// - 모든 요청이 limiter 하나를 공유해서 인스턴스 전체의 in-flight 배치 수를 제한
+public class AdaptiveBatchLimiter {
+
+    private static final double SLOW_DECREASE = 0.9;
+    private static final double OVERLOAD_DECREASE = 0.5;
+
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetLatencyNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double concurrencyLimit;
+    private double batchSize;
+    private int inFlight;
+
+    private final AtomicLong overloads = new AtomicLong();
+
+    public AdaptiveBatchLimiter(
+            @Value("${firebase.batch.min-concurrency:1}") int minConcurrency,
+            @Value("${firebase.batch.max-concurrency:32}") int maxConcurrency,
+            @Value("${firebase.batch.initial-concurrency:5}") int initialConcurrency,
+            @Value("${firebase.batch.min-size:10}") int minBatchSize,
+            @Value("${firebase.batch.max-size:100}") int maxBatchSize,
+            @Value("${firebase.batch.initial-size:30}") int initialBatchSize,
+            @Value("${firebase.batch.target-latency-ms:300}") long targetLatencyMs,
+            AnalysisMetrics metrics
+    ) {
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.concurrencyLimit = clamp(initialConcurrency, minConcurrency, maxConcurrency);
+        this.batchSize = clamp(initialBatchSize, minBatchSize, maxBatchSize);
+        registerMetrics(metrics.registry());
+    }
+
+    // firestore.batch.limit{knob}: 현재 한도, firestore.batch.in_flight: 실행 중 배치 수
+    private void registerMetrics(MeterRegistry registry) {
+        Gauge.builder("firestore.batch.limit", this, AdaptiveBatchLimiter::concurrencyLimit)
+                .description("Firestore batch 조회 자동 조절 한도")
+                .tag("knob", "concurrency")
+                .register(registry);
+        Gauge.builder("firestore.batch.limit", this, AdaptiveBatchLimiter::batchSize)
+                .description("Firestore batch 조회 자동 조절 한도")
+                .tag("knob", "batch_size")
+                .register(registry);
+        Gauge.builder("firestore.batch.in_flight", this, AdaptiveBatchLimiter::inFlight)
+                .description("실행 중인 Firestore batch 조회 수")
+                .register(registry);
+        FunctionCounter.builder("firestore.batch.overloads", overloads, AtomicLong::doubleValue)
+                .description("과부하 신호(RESOURCE_EXHAUSTED / 타임아웃 등)로 한도를 줄인 횟수")
+                .register(registry);
+    }
+
+    public int batchSize() {
+        lock.lock();
+        try {
+            return (int) batchSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 배치 1개 실행 권한 획득 (한도만큼 실행 중이면 대기), 시간 안에 못 얻으면 false
+    public boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (inFlight >= (int) concurrencyLimit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 배치 성공: 지연 시간으로 한도 조절
+    public void onSuccess(long latencyNanos) {
+        lock.lock();
+        try {
+            if (latencyNanos <= targetLatencyNanos) {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+                if (latencyNanos <= targetLatencyNanos / 2) {
+                    batchSize = Math.min(maxBatchSize, batchSize + 1);
+                }
+            } else {
+                concurrencyLimit = Math.max(minConcurrency, concurrencyLimit * SLOW_DECREASE);
+                batchSize = Math.max(minBatchSize, batchSize * SLOW_DECREASE);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 과부하 신호: 동시성 / 배치 크기 절반
+    public void onOverload() {
+        overloads.incrementAndGet();
+        lock.lock();
+        try {
+            concurrencyLimit = Math.max(minConcurrency, concurrencyLimit * OVERLOAD_DECREASE);
+            batchSize = Math.max(minBatchSize, batchSize * OVERLOAD_DECREASE);
+            log.warn("[Firestore] 과부하 감지 → 동시 배치 {}, 배치 크기 {}",
+                    (int) concurrencyLimit, (int) batchSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double concurrencyLimit() {
+        lock.lock();
+        try {
+            return Math.floor(concurrencyLimit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static double clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
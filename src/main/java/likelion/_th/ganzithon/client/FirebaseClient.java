@@ -1,138 +1,347 @@
 package likelion._th.ganzithon.client;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.monitoring.CellBatchFetchEvent;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class FirebaseClient {
 
+    // testMode 이거나 cell-store.type 이 firestore 가 아니면 FirebaseConfig 가 로드되지 않으므로 null
+    @Nullable
     private final Firestore firestore;
+    private final AnalysisMetrics metrics;
+    // 배치 크기 / 동시 배치 수는 지연 시간과 과부하 응답에 따라 자동 조절
+    private final AdaptiveBatchLimiter batchLimiter;
 
     @Value("${firebase.test-mode:false}")
     private boolean testMode;
 
-    // firestore 권장 배치 크기
-    private static final int BATCH_SIZE = 30;
-    // 동시 실행 배치 수
-    private static final int PARALLEL_BATCHES = 5;
+    // getCellDataBatch 전체 대기 한도
+    @Value("${firebase.batch.timeout-seconds:30}")
+    private long batchTimeoutSeconds;
+
+    // 배치 RPC 1회 대기 한도 (초과 시 과부하로 간주)
+    @Value("${firebase.batch.rpc-timeout-ms:5000}")
+    private long rpcTimeoutMs;
+
+    // Firestore 가 과부하일 때 돌려주는 상태 코드
+    private static final Set<StatusCode.Code> OVERLOAD_CODES = EnumSet.of(
+            StatusCode.Code.RESOURCE_EXHAUSTED,
+            StatusCode.Code.DEADLINE_EXCEEDED,
+            StatusCode.Code.UNAVAILABLE);
+
+    // 배치 실행 스레드 (동시 실행 수는 batchLimiter 가 제한, 요청마다 풀을 만들지 않음)
+    private final ExecutorService batchExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setName("firestore-batch-" + thread.getId());
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @PostConstruct
     public void logProject() {
         log.info("[Firebase] projectId={}, testMode={}",
-                firestore.getOptions().getProjectId(),
+                firestore != null ? firestore.getOptions().getProjectId() : "-",
                 testMode);
     }
 
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
     // 여러 cellId를 한번에 조회(Batch)
     public Map<String, SafetyCell> getCellDataBatch(List<String> cellIds)
             throws ExecutionException, InterruptedException, TimeoutException{
+        return getCellDataBatch(cellIds, null);
+    }
+
+    // unresolved: 타임아웃 / 실패 / 실행 대기 초과로 조회하지 못한 cellId 를 담음 (없는 문서와 구분용, null 이면 생략)
+    public Map<String, SafetyCell> getCellDataBatch(List<String> cellIds, @Nullable Set<String> unresolved)
+            throws ExecutionException, InterruptedException, TimeoutException {
         if (cellIds == null || cellIds.isEmpty()) {
             return Collections.emptyMap();
         }
 
-        long startTime = System.currentTimeMillis();
-
         if(testMode) {
             log.warn("[Test Mode]Mock data disabled");
+            if (unresolved != null) {
+                unresolved.addAll(cellIds);
+            }
             return Collections.emptyMap();
         }
 
+        Timer.Sample sample = metrics.startTimer();
+        CellBatchFetchEvent event = new CellBatchFetchEvent();
+        event.begin();
+        event.batchSize = cellIds.size();
+
         log.info("Batch 조회 시작: {} 개 셀", cellIds.size());
 
         Map<String, SafetyCell> results = new ConcurrentHashMap<>();
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        PendingRpcs pending = new PendingRpcs();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(batchTimeoutSeconds);
 
-        // cellIds를 30개씩 분하
-        List<List<String>> batches = partitionList(cellIds, BATCH_SIZE);
-        log.info("   ➜ {} 개 배치로 분할", batches.size());
+        // 배치 크기는 분할 시점의 limiter 값 사용, 동시 실행 한도만큼 실행 중이면 자리가 날 때까지 대기
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        // 실패 / 취소된 조회도 소요 시간과 JFR 이벤트를 남김
+        AnalysisMetrics.Outcome outcome = AnalysisMetrics.Outcome.SUCCESS;
+        try {
+            int offset = 0;
+            while (offset < cellIds.size()) {
+                List<String> batch = cellIds.subList(offset,
+                        Math.min(offset + batchLimiter.batchSize(), cellIds.size()));
 
-        // 병렬 실행용 ExecutorService
-        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_BATCHES);
+                if (!batchLimiter.acquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    metrics.fallback(AnalysisMetrics.Fallback.CELL_BATCH);
+                    log.warn("배치 실행 대기 시간 초과: {} 개 셀 조회 생략", cellIds.size() - offset);
+                    failed.addAll(cellIds.subList(offset, cellIds.size()));
+                    break;
+                }
 
-        try {
-            // 각 배치를 병렬로 조회
-            List<CompletableFuture<Void>> futures = batches.stream()
-                    .map(batch -> CompletableFuture.runAsync(() -> {
+                try {
+                    futures.add(CompletableFuture.runAsync(() -> {
                         try {
-                            fetchBatchSync(batch, results);
-                        } catch (Exception e) {
-                            log.error("배치 조회 실패: {}", e.getMessage());
+                            fetchBatchSync(batch, results, failed, pending);
+                        } finally {
+                            batchLimiter.release();
                         }
-                    }, executor))
-                    .collect(Collectors.toList());
+                    }, batchExecutor));
+                } catch (RejectedExecutionException e) {
+                    batchLimiter.release();
+                    throw e;
+                }
+                offset += batch.size();
+            }
+            log.info("   ➜ {} 개 배치로 분할", futures.size());
 
-            // 모든 배치 완료 대기 (최대 30초)
+            // 모든 배치 완료 대기 (남은 전체 대기 한도까지)
             CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                    .get(30, TimeUnit.SECONDS);
-
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException | TimeoutException e) {
+            // 호출한 쪽이 더 이상 기다리지 않으므로 진행 중인 RPC 취소, 남은 배치는 시작하지 않음
+            int cancelled = pending.cancelAll();
+            if (cancelled > 0) {
+                metrics.cancelled(AnalysisMetrics.Cancellation.CELL_BATCH, cancelled);
+                log.info("Batch 조회 중단: 진행 중이던 RPC {} 개 취소", cancelled);
+            }
+            outcome = AnalysisMetrics.Outcome.of(e);
+            throw e;
+        } catch (ExecutionException | RuntimeException e) {
+            outcome = AnalysisMetrics.Outcome.of(e);
+            throw e;
         } finally {
-            executor.shutdown();
+            metrics.stop(sample, AnalysisMetrics.Stage.CELL_FETCH, outcome);
+            event.subBatchCount = futures.size();
+            event.foundCount = results.size();
+            event.outcome = outcome.tag();
+            event.commit();
         }
 
-        long endTime = System.currentTimeMillis();
-        long elapsed = endTime - startTime;
+        metrics.recordCells(cellIds.size(), results.size());
 
-        log.info("✅ Batch 조회 완료: {} 개 로드, {} ms 소요, 초당 {}/s",
-                results.size(), elapsed,
-                elapsed > 0 ? (cellIds.size() * 1000 / elapsed) : 0);
+        log.info("✅ Batch 조회 완료: {} / {} 개 로드", results.size(), cellIds.size());
+        if (!failed.isEmpty()) {
+            log.warn("   ➜ {} 개 셀은 조회하지 못함 (타임아웃 / 실패)", failed.size());
+            if (unresolved != null) {
+                unresolved.addAll(failed);
+            }
+        }
 
         return results;
     }
 
-    // 배치 하나를 동기적으로 조회
-    private void fetchBatchSync(List<String> cellIds, Map<String, SafetyCell> results) {
+    // Firestore gRPC 채널 연결 (없는 문서 1건 조회, 결과는 사용하지 않음)
+    public void warmupChannel() throws ExecutionException, InterruptedException, TimeoutException {
+        if (testMode || firestore == null) {
+            return;
+        }
+        firestore.collection("cpted_grid").document("warmup").get().get(30, TimeUnit.SECONDS);
+    }
+
+    // 배치 하나를 getAll RPC 1회로 조회하고, 소요 시간 / 오류를 limiter 에 반영
+    // 결과를 받지 못하면 배치의 cellId 전체를 failed 에 담음
+    private void fetchBatchSync(List<String> cellIds, Map<String, SafetyCell> results,
+                                Set<String> failed, PendingRpcs pending) {
+        if (pending.isCancelled()) {
+            failed.addAll(cellIds);
+            return;
+        }
+
+        DocumentReference[] refs = cellIds.stream()
+                .map(cellId -> firestore.collection("cpted_grid").document(cellId))
+                .toArray(DocumentReference[]::new);
+
+        long start = System.nanoTime();
+        ApiFuture<List<DocumentSnapshot>> future = firestore.getAll(refs);
+        if (!pending.register(future)) {
+            future.cancel(true);
+            failed.addAll(cellIds);
+            return;
+        }
+        boolean completed = false;
         try {
-            // Firestore는 여러 Document를 동시에 가져오는 API 제공
-            List<ApiFuture<DocumentSnapshot>> futures = cellIds.stream()
-                    .map(cellId -> firestore.collection("cpted_grid")
-                            .document(cellId)
-                            .get())
-                    .collect(Collectors.toList());
-
-            // 모든 Future 완료 대기
-            for (int i = 0; i < futures.size(); i++) {
-                String cellId = cellIds.get(i);
-                try {
-                    DocumentSnapshot snapshot = futures.get(i).get(5, TimeUnit.SECONDS);
-
-                    if (snapshot.exists()) {
-                        SafetyCell cell = snapshot.toObject(SafetyCell.class);
-                        if (cell != null) {
-                            cell.setCellId(cellId); // cellId 명시적 설정
-                            results.put(cellId, cell);
-                            log.debug("✓ {}", cellId);
-                        }
-                    } else {
-                        log.debug("✗ {} (not found)", cellId);
-                    }
-                } catch (Exception e) {
-                    log.warn("⚠ {} 조회 실패", cellId, e);
+            List<DocumentSnapshot> snapshots = future.get(rpcTimeoutMs, TimeUnit.MILLISECONDS);
+            batchLimiter.onSuccess(System.nanoTime() - start);
+
+            for (DocumentSnapshot snapshot : snapshots) {
+                if (snapshot.exists()) {
+                    String cellId = snapshot.getId();
+                    results.put(cellId, SafetyCell.fromSnapshot(cellId, snapshot));
+                    log.debug("✓ {}", cellId);
+                } else {
+                    log.debug("✗ {} (not found)", snapshot.getId());
                 }
             }
-        } catch (Exception e) {
-            log.error("fetchBatchSync 실패", e);
+            completed = true;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            batchLimiter.onOverload();
+            metrics.fallback(AnalysisMetrics.Fallback.CELL_BATCH);
+            log.warn("배치 조회 타임아웃: {} 개 셀 ({} ms)", cellIds.size(), rpcTimeoutMs);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            metrics.fallback(AnalysisMetrics.Fallback.CELL_BATCH);
+        } catch (ExecutionException e) {
+            if (isOverload(e.getCause())) {
+                batchLimiter.onOverload();
+            }
+            metrics.fallback(AnalysisMetrics.Fallback.CELL_BATCH);
+            log.error("배치 조회 실패: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (CancellationException e) {
+            // getCellDataBatch 가 중단되면서 취소함 (집계는 cancelAll 에서)
+            log.debug("배치 조회 취소: {} 개 셀", cellIds.size());
+        } finally {
+            pending.unregister(future);
+            if (!completed) {
+                failed.addAll(cellIds);
+            }
         }
     }
 
-    // 리스트를 N개씩 분할하는 메서드
-    private <T> List<List<T>> partitionList(List<T> list, int size) {
-        List<List<T>> partitions = new ArrayList<>();
-        for (int i = 0; i < list.size(); i += size) {
-            partitions.add(list.subList(i, Math.min(i + size, list.size())));
+    // getCellDataBatch 1회에서 진행 중인 RPC 목록 (중단 시 한 번에 취소)
+    private static class PendingRpcs {
+        private final Set<ApiFuture<?>> futures = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        // 이미 취소된 호출이면 false
+        boolean register(ApiFuture<?> future) {
+            futures.add(future);
+            if (cancelled) {
+                futures.remove(future);
+                return false;
+            }
+            return true;
+        }
+
+        void unregister(ApiFuture<?> future) {
+            futures.remove(future);
+        }
+
+        int cancelAll() {
+            cancelled = true;
+            int count = 0;
+            for (ApiFuture<?> future : futures) {
+                if (future.cancel(true)) {
+                    count++;
+                }
+            }
+            futures.clear();
+            return count;
+        }
+    }
+
+    // 위도 인덱스 한 행에서 [minLngIdx, maxLngIdx] 셀 조회 (문서 id 범위 쿼리 1회, 있는 문서만 읽음)
+    // - 경도 인덱스 자릿수가 같으면 "lat_minLng" ~ "lat_maxLng" 사전순 범위가 곧 인덱스 범위
+    // - 자릿수가 다르거나 음수면 "lat_" 접두사 범위 전체를 읽고 경도로 거름
+    public List<SafetyCell> scanRow(long latIdx, long minLngIdx, long maxLngIdx)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (testMode || firestore == null) {
+            return List.of();
+        }
+
+        String prefix = latIdx + "_";
+        String from = prefix;
+        String to = prefix + "\uf8ff";
+        String minLng = String.valueOf(minLngIdx);
+        String maxLng = String.valueOf(maxLngIdx);
+        if (minLngIdx >= 0 && minLng.length() == maxLng.length()) {
+            from = prefix + minLng;
+            to = prefix + maxLng;
+        }
+
+        Timer.Sample sample = metrics.startTimer();
+        ApiFuture<QuerySnapshot> future = firestore.collection("cpted_grid")
+                .orderBy(FieldPath.documentId())
+                .startAt(from)
+                .endAt(to)
+                .get();
+        QuerySnapshot snapshot;
+        AnalysisMetrics.Outcome outcome = AnalysisMetrics.Outcome.SUCCESS;
+        try {
+            snapshot = future.get(batchTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException | TimeoutException e) {
+            future.cancel(true);
+            outcome = AnalysisMetrics.Outcome.of(e);
+            throw e;
+        } catch (ExecutionException | RuntimeException e) {
+            outcome = AnalysisMetrics.Outcome.of(e);
+            throw e;
+        } finally {
+            metrics.stop(sample, AnalysisMetrics.Stage.CELL_FETCH, outcome);
         }
-        return partitions;
+
+        List<SafetyCell> cells = new ArrayList<>(snapshot.size());
+        for (QueryDocumentSnapshot document : snapshot.getDocuments()) {
+            String cellId = document.getId();
+            int sep = cellId.indexOf('_');
+            if (sep <= 0) {
+                continue;
+            }
+            long lngIdx;
+            try {
+                lngIdx = Long.parseLong(cellId, sep + 1, cellId.length(), 10);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (lngIdx >= minLngIdx && lngIdx <= maxLngIdx) {
+                cells.add(SafetyCell.fromSnapshot(cellId, document));
+            }
+        }
+        return cells;
+    }
+
+    private static boolean isOverload(Throwable cause) {
+        return cause instanceof ApiException apiException
+                && OVERLOAD_CODES.contains(apiException.getStatusCode().getCode());
     }
 
     // 기존 cellId 조회 함수
@@ -143,41 +352,39 @@ public class FirebaseClient {
             return null;
         }
 
-        long start = System.currentTimeMillis();
+        Timer.Sample sample = metrics.startTimer();
 
         try {
             DocumentReference docRef = firestore.collection("cpted_grid").document(cellId);
             // 한 셀 조회 타임아웃 30초
             DocumentSnapshot snapshot = docRef.get().get(30, TimeUnit.SECONDS);
-            long took = System.currentTimeMillis() - start;
+            metrics.stop(sample, AnalysisMetrics.Stage.CELL_FETCH);
 
             if (snapshot.exists()) {
-                SafetyCell cell = snapshot.toObject(SafetyCell.class);
-                if (cell != null) {
-                    cell.setCellId(cellId);
-                }
-                log.info("[DB SUCCESS] cellId={} ({}ms, score={})",
-                        cellId, took,
-                        (cell != null ? cell.getCptedScore() : null));
+                SafetyCell cell = SafetyCell.fromSnapshot(cellId, snapshot);
+                metrics.recordCells(1, 1);
+                log.info("[DB SUCCESS] cellId={} (score={})", cellId, cell.getCptedScore());
                 return cell;
             } else {
-                log.warn("[DB NOT FOUND] cellId={} ({}ms)", cellId, took);
+                metrics.recordCells(1, 0);
+                log.warn("[DB NOT FOUND] cellId={}", cellId);
                 return null;
             }
 
         } catch (ExecutionException e) {
-            long took = System.currentTimeMillis() - start;
-            log.error("[DB ERROR] cellId={} ({}ms) - {}", cellId, took, e.getMessage());
+            metrics.stop(sample, AnalysisMetrics.Stage.CELL_FETCH, AnalysisMetrics.Outcome.ERROR);
+            log.error("[DB ERROR] cellId={} - {}", cellId, e.getMessage());
             return null;
 
         } catch (InterruptedException | TimeoutException e) {
-            long took = System.currentTimeMillis() - start;
-            log.error("[DB TIMEOUT] cellId={} ({}ms) - {}", cellId, took, e.getMessage());
+            metrics.stop(sample, AnalysisMetrics.Stage.CELL_FETCH, AnalysisMetrics.Outcome.of(e));
+            log.error("[DB TIMEOUT] cellId={} - {}", cellId, e.getMessage());
             return null;
         }
     }
 
-    // SafetyCell 내부 클래스는 Firestore가 객체로 변환할 때 사용합니다.
+    // 셀 하나의 CPTED 데이터 (primitive 필드, 누락된 값은 0)
+    // 대량 집계는 domain.CellTable 로 옮겨서 사용
     @Getter
     @Setter
     @Builder
@@ -185,11 +392,34 @@ public class FirebaseClient {
     @AllArgsConstructor
     public static class SafetyCell {
         private String cellId;
-        private Integer cctvCount;
-        private Integer lightCount;
-        private Integer storeCount;
-        private Integer policeCount;
-        private Integer schoolCount;
-        private Double cptedScore;
+        private int cctvCount;
+        private int lightCount;
+        private int storeCount;
+        private int policeCount;
+        private int schoolCount;
+        private double cptedScore;
+
+        // 리플렉션 기반 toObject 대신 필드를 직접 읽어서 변환
+        public static SafetyCell fromSnapshot(String cellId, DocumentSnapshot snapshot) {
+            return SafetyCell.builder()
+                    .cellId(cellId)
+                    .cctvCount(intField(snapshot, "cctvCount"))
+                    .lightCount(intField(snapshot, "lightCount"))
+                    .storeCount(intField(snapshot, "storeCount"))
+                    .policeCount(intField(snapshot, "policeCount"))
+                    .schoolCount(intField(snapshot, "schoolCount"))
+                    .cptedScore(doubleField(snapshot, "cptedScore"))
+                    .build();
+        }
+
+        private static int intField(DocumentSnapshot snapshot, String field) {
+            Long value = snapshot.getLong(field);
+            return value != null ? value.intValue() : 0;
+        }
+
+        private static double doubleField(DocumentSnapshot snapshot, String field) {
+            Double value = snapshot.getDouble(field);
+            return value != null ? value : 0.0;
+        }
     }
 }
\ No newline at end of file
@@ -114,8 +114,8 @@ public class GoogleMapsClient {
         return routes;
     }
 
-    // 디코딩
-    private List<LatLng> decodePolyline(String encoded) {
+    // 디코딩 (상태 없음, 벤치마크에서 직접 호출)
+    static List<LatLng> decodePolyline(String encoded) {
         List<LatLng> poly = new ArrayList<>();
         int index = 0, len = encoded.length();
         int lat = 0, lng = 0;
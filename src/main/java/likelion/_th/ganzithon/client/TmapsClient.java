@@ -1,8 +1,14 @@
 package likelion._th.ganzithon.client;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Timer;
+import likelion._th.ganzithon.domain.CoordinateBuffer;
 import likelion._th.ganzithon.domain.LatLng;
 import likelion._th.ganzithon.dto.request.ReportRequest;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.monitoring.TmapRouteEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,22 +18,33 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.SignalType;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 @Component
 @Slf4j
 public class TmapsClient {
 
+    // 스레드 안전, 파서 생성용으로 공유
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private final WebClient webClient;
     private final String tmapApiKey;
+    private final AnalysisMetrics metrics;
 
     public TmapsClient(
             @Qualifier("tmapClient") WebClient webClient,
-            @Value("${external-api.tmap.api-key}") String tmapApiKey
+            @Value("${external-api.tmap.api-key}") String tmapApiKey,
+            AnalysisMetrics metrics
     ) {
         this.webClient = webClient;
         this.tmapApiKey = tmapApiKey;
+        this.metrics = metrics;
     }
 
     /**
@@ -126,6 +143,14 @@ public class TmapsClient {
         return routes;
     }
 
+    // 연결 풀 미리 채우기 (DNS + TLS 핸드셰이크, 경로 API 호출 없음 → 쿼터 미사용)
+    public void warmupConnection() {
+        webClient.get()
+                .uri("/")
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                .block(Duration.ofSeconds(10));
+    }
+
     /**
      * Tmap API 단일 경로 조회
      */
@@ -157,71 +182,201 @@ public class TmapsClient {
             formData.add("passList", passListBuilder.toString());
         }
 
-        JsonNode response = webClient.post()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/tmap/routes/pedestrian")
-                        .queryParam("version", "1")
-                        .queryParam("format", "json")
-                        .build())
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(BodyInserters.fromFormData(formData))
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .block();
-
-        return parseTmapRoute(response);
+        TmapRouteEvent event = new TmapRouteEvent();
+        event.begin();
+        event.waypointCount = waypoints != null ? waypoints.size() : 0;
+
+        // JsonNode 트리를 만들지 않고 원본 바이트를 받아 스트리밍 파싱
+        Timer.Sample sample = metrics.startTimer();
+        byte[] response;
+        try {
+            response = webClient.post()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tmap/routes/pedestrian")
+                            .queryParam("version", "1")
+                            .queryParam("format", "json")
+                            .build())
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(BodyInserters.fromFormData(formData))
+                    .retrieve()
+                    .bodyToMono(byte[].class)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            metrics.cancelled(AnalysisMetrics.Cancellation.TMAP);
+                        }
+                    })
+                    .block();
+        } catch (RuntimeException e) {
+            event.commit();
+            // 요청 스레드가 interrupt 되면 block() 이 구독(HTTP 요청)을 취소하고 예외를 던짐
+            if (Exceptions.unwrap(e) instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Tmap 경로 조회 취소");
+            }
+            throw e;
+        } finally {
+            metrics.stop(sample, AnalysisMetrics.Stage.TMAP);
+        }
+
+        try {
+            TmapRoute route = parseTmapRoute(response);
+            if (route != null) {
+                event.pointCount = route.getCoordinates().size();
+                event.distance = route.getDistance();
+                event.success = true;
+            }
+            return route;
+        } catch (IOException e) {
+            log.warn("Tmap 응답 파싱 실패: {}", e.getMessage());
+            return null;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
-     * Tmap 응답 파싱
+     * Tmap 응답 파싱 (Jackson 스트리밍 파서)
+     * - totalDistance / totalTime 과 LineString 좌표만 읽음
+     * - Point 좌표와 나머지 properties 는 건너뜀
      */
-    private TmapRoute parseTmapRoute(JsonNode response) {
-        if (response == null || !response.has("features")) {
+    static TmapRoute parseTmapRoute(byte[] response) throws IOException {
+        if (response == null || response.length == 0) {
             return null;
         }
 
-        JsonNode features = response.get("features");
+        try (JsonParser parser = JSON_FACTORY.createParser(response)) {
+            return new TmapRouteParser(parser).parse();
+        }
+    }
+
+    // 스트리밍 파싱 상태 (요청마다 새로 생성)
+    private static class TmapRouteParser {
+        private final JsonParser parser;
+        private final CoordinateBuffer coordinates = new CoordinateBuffer(256);
+        private int totalDistance = 0;
+        private int totalTime = 0;
 
-        // 총 거리와 시간 추출
-        int totalDistance = 0;
-        int totalTime = 0;
-        List<ReportRequest.Coordinate> coordinates = new ArrayList<>();
-        StringBuilder polylineBuilder = new StringBuilder();
+        TmapRouteParser(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        TmapRoute parse() throws IOException {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
 
-        for (JsonNode feature : features) {
-            JsonNode properties = feature.get("properties");
+            boolean hasFeatures = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
 
-            if (properties.has("totalDistance")) {
-                totalDistance = properties.get("totalDistance").asInt();
+                if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+                    hasFeatures = true;
+                    readFeatures();
+                } else {
+                    parser.skipChildren();
+                }
             }
-            if (properties.has("totalTime")) {
-                totalTime = properties.get("totalTime").asInt();
+
+            if (!hasFeatures) {
+                return null;
             }
 
-            // 좌표 추출
-            JsonNode geometry = feature.get("geometry");
-            if (geometry != null && geometry.has("coordinates")) {
-                JsonNode coords = geometry.get("coordinates");
-
-                // LineString인 경우
-                if (coords.isArray()) {
-                    for (JsonNode coord : coords) {
-                        if (coord.isArray() && coord.size() >= 2) {
-                            double lng = coord.get(0).asDouble();
-                            double lat = coord.get(1).asDouble();
-                            coordinates.add(new ReportRequest.Coordinate(lat, lng));
-                        }
+            return TmapRoute.builder()
+                    .distance(totalDistance)
+                    .duration(totalTime)
+                    .coordinates(coordinates)
+                    .encodedPolyline(coordinates)
+                    .build();
+        }
+
+        private void readFeatures() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+
+                    if ("geometry".equals(field) && value == JsonToken.START_OBJECT) {
+                        readGeometry();
+                    } else if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                        readProperties();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        private void readGeometry() throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("coordinates".equals(field) && value == JsonToken.START_ARRAY) {
+                    readCoordinates();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        // LineString: [[lng, lat], ...] → 버퍼에 기록
+        // Point: [lng, lat] → 숫자 원소이므로 건너뜀
+        private void readCoordinates() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token == JsonToken.START_ARRAY) {
+                    readPoint();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        private void readPoint() throws IOException {
+            double lng = Double.NaN;
+            double lat = Double.NaN;
+            int index = 0;
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token.isNumeric()) {
+                    if (index == 0) {
+                        lng = parser.getDoubleValue();
+                    } else if (index == 1) {
+                        lat = parser.getDoubleValue();
                     }
+                } else {
+                    parser.skipChildren();
                 }
+                index++;
+            }
+
+            if (!Double.isNaN(lat) && !Double.isNaN(lng)) {
+                coordinates.add(lat, lng);
             }
         }
 
-        return TmapRoute.builder()
-                .distance(totalDistance)
-                .duration(totalTime)
-                .coordinates(coordinates)
-                .encodedPolyline(coordinates)
-                .build();
+        private void readProperties() throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("totalDistance".equals(field) && value.isScalarValue()) {
+                    totalDistance = parser.getValueAsInt();
+                } else if ("totalTime".equals(field) && value.isScalarValue()) {
+                    totalTime = parser.getValueAsInt();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
     }
 
     // 좌표 인코딩 (간단한 JSON 형식)
@@ -3,8 +3,11 @@ package likelion._th.ganzithon.client;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import likelion._th.ganzithon.dto.RouteAnalysisData;
 import likelion._th.ganzithon.dto.response.ReportResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.monitoring.UpstageCallEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
@@ -12,11 +15,16 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.SynchronousSink;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 
 @Component
@@ -26,44 +34,69 @@ import java.util.concurrent.CompletableFuture;
 public class UpstageAiClient {
 
 //    @Qualifier("upstageClient")
+    private static final String MODEL = "solar-pro2";
+
     private final WebClient webClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AnalysisMetrics metrics;
+    // 모든 chat 호출은 우선순위 큐를 거쳐 전체 동시 호출 수 제한
+    private final UpstageDispatcher dispatcher;
 
-    public UpstageAiClient(@Qualifier("upstageClient") WebClient webClient) {
+    public UpstageAiClient(@Qualifier("upstageClient") WebClient webClient,
+                           AnalysisMetrics metrics,
+                           UpstageDispatcher dispatcher) {
         this.webClient = webClient;
+        this.metrics = metrics;
+        this.dispatcher = dispatcher;
     }
 
     // AI가 3개 경로 중 추천 경로 선택
     public String selectRecommendedRoute(List<RouteAnalysisData> routes) {
+        return selectRecommendedRoute(routes, UpstageDispatcher.Priority.INTERACTIVE);
+    }
+
+    public String selectRecommendedRoute(List<RouteAnalysisData> routes, UpstageDispatcher.Priority priority) {
         if(routes== null || routes.size() < 3) {
             log.warn("경로가 3개 미만입니다. 첫 번째 경로를 추천합니다.");
             // 경로가 없거나, 3개 미만 -> 첫번째 경로 반환
             return routes.get(0).getRouteId();
         }
 
+        Timer.Sample sample = metrics.startTimer();
         try {
             String prompt = buildRouteComparisonPrompt(routes); // 프롬프트
-            String response = generateText(prompt);
+            String response = generateText(prompt, priority);
 
             return parseRecommendedRouteId(response, routes);
+        } catch (CancellationException e) {
+            throw e;
         } catch (Exception e) {
             log.error("AI 경로 선택 오류", e);
+            metrics.fallback(AnalysisMetrics.Fallback.RECOMMEND);
             return routes.stream()
                     .max((a,b) -> Double.compare(a.getCptedAvg(), b.getCptedAvg()))
                     .map(RouteAnalysisData::getRouteId)
                     .orElse(routes.get(0).getRouteId());
+        } finally {
+            metrics.stop(sample, AnalysisMetrics.Stage.RECOMMEND);
         }
     }
     
     // /paths: 경로별 AI 프리뷰 생성 (1-3줄)
     public List<String> generateRoutePreview(RouteAnalysisData route) {
+        Timer.Sample sample = metrics.startTimer();
         try {
             String prompt = buildPreviewPrompt(route);
             String response = generateText(prompt);
             return parsePreviewLines(response);
+        } catch (CancellationException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("AI 프리뷰 생성 실패: {}", e.getMessage());
+            metrics.fallback(AnalysisMetrics.Fallback.PREVIEW);
             return generateDefaultPreview(route);
+        } finally {
+            metrics.stop(sample, AnalysisMetrics.Stage.PREVIEW);
         }
     }
 
@@ -71,32 +104,106 @@ public class UpstageAiClient {
     public String generateDetailReport(
             String origin, String destination,
             RouteAnalysisData analysis, ReportResponse.CptedEvaluation cptedEval
+    ) throws JsonProcessingException {
+        return generateDetailReport(origin, destination, analysis, cptedEval,
+                UpstageDispatcher.Priority.INTERACTIVE);
+    }
+
+    // priority: 리포트 선생성은 BACKGROUND
+    public String generateDetailReport(
+            String origin, String destination,
+            RouteAnalysisData analysis, ReportResponse.CptedEvaluation cptedEval,
+            UpstageDispatcher.Priority priority
     ) throws JsonProcessingException {
         String prompt = buildDetailedPrompt(origin, destination, analysis, cptedEval);
-        return generateText(prompt);
+        Timer.Sample sample = metrics.startTimer();
+        try {
+            return generateText(prompt, priority);
+        } finally {
+            metrics.stop(sample, AnalysisMetrics.Stage.REPORT_LLM);
+        }
     }
 
-    // upstage ai 호출
+    // 연결 풀 미리 채우기 (모델 목록 조회, 토큰 미사용)
+    public void warmupConnection() {
+        webClient.get()
+                .uri("/models")
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                .block(Duration.ofSeconds(10));
+    }
+
+    // upstage ai 호출 (동기)
+    // 호출 스레드가 interrupt 되면 block() 이 HTTP 요청을 취소하고 CancellationException 으로 변환
     public String generateText(String prompt) throws JsonProcessingException {
-        Map<String, Object> requestBody = Map.of(
-                "model", "solar-pro2",
-                "reasoning_effort", "medium",
-                "messages", new Object[]{
-                        Map.of("role", "system", "content",
-                                "당신은 CPTED 기반 안전 경로 분석 전문가입니다."),
-                        Map.of("role", "user", "content", prompt)
-                }
-        );
+        return generateText(prompt, UpstageDispatcher.Priority.INTERACTIVE);
+    }
 
-        String responseJson = webClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+    public String generateText(String prompt, UpstageDispatcher.Priority priority)
+            throws JsonProcessingException {
+        try {
+            return generateTextMono(prompt, priority).block();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof JsonProcessingException jsonException) {
+                throw jsonException;
+            }
+            if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Upstage 호출 취소");
+            }
+            throw e;
+        }
+    }
+
+    // upstage ai 호출 (non-blocking, 구독을 취소하면 대기열에서 빠지거나 진행 중인 HTTP 요청도 취소)
+    public Mono<String> generateTextMono(String prompt) {
+        return generateTextMono(prompt, UpstageDispatcher.Priority.INTERACTIVE);
+    }
 
-        JsonNode jsonNode = objectMapper.readTree(responseJson);
-        return jsonNode.get("choices").get(0).get("message").get("content").asText();
+    public Mono<String> generateTextMono(String prompt, UpstageDispatcher.Priority priority) {
+        return dispatcher.dispatch(priority, () -> chatCompletion(prompt));
+    }
+
+    private Mono<String> chatCompletion(String prompt) {
+        return Mono.defer(() -> {
+            UpstageCallEvent event = new UpstageCallEvent();
+            event.begin();
+            event.model = MODEL;
+            event.promptLength = prompt.length();
+
+            Map<String, Object> requestBody = Map.of(
+                    "model", MODEL,
+                    "reasoning_effort", "medium",
+                    "messages", new Object[]{
+                            Map.of("role", "system", "content",
+                                    "당신은 CPTED 기반 안전 경로 분석 전문가입니다."),
+                            Map.of("role", "user", "content", prompt)
+                    }
+            );
+
+            return webClient.post()
+                    .uri("/chat/completions")
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .handle((String responseJson, SynchronousSink<String> sink) -> {
+                        try {
+                            JsonNode jsonNode = objectMapper.readTree(responseJson);
+                            String content = jsonNode.get("choices").get(0).get("message").get("content").asText();
+                            event.responseLength = content.length();
+                            event.success = true;
+                            sink.next(content);
+                        } catch (JsonProcessingException e) {
+                            sink.error(e);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            metrics.cancelled(AnalysisMetrics.Cancellation.UPSTAGE);
+                        }
+                        event.commit();
+                    });
+        });
     }
 
     // ------------------------ 프롬프트 생성 메서드들 ----------------------------
@@ -266,6 +373,7 @@ public class UpstageAiClient {
         }
 
         log.warn("AI 응답 파싱 실패, CPTED 최고점으로 폴백");
+        metrics.fallback(AnalysisMetrics.Fallback.RECOMMEND);
         return routes.stream()
                 .max((a, b) -> Double.compare(a.getCptedAvg(), b.getCptedAvg()))
                 .map(RouteAnalysisData::getRouteId)
@@ -285,7 +393,7 @@ public class UpstageAiClient {
     }
 
     // 기본 답변
-    private List<String> generateDefaultPreview(RouteAnalysisData route) {
+    public List<String> generateDefaultPreview(RouteAnalysisData route) {
         List<String> preview = new ArrayList<>();
 
         double avg = route.getCptedAvg();
@@ -324,9 +432,23 @@ public class UpstageAiClient {
         return preview;
     }
 
-    @Async("aiExecutor")
+    // 프리뷰를 스레드 점유 없이 생성, 반환된 future 를 cancel 하면 Upstage 호출도 취소
     public CompletableFuture<List<String>> generateRoutePreviewAsync(RouteAnalysisData route) {
-        return CompletableFuture.completedFuture(generateRoutePreview(route));
+        return generateRoutePreviewAsync(route, UpstageDispatcher.Priority.INTERACTIVE);
+    }
+
+    public CompletableFuture<List<String>> generateRoutePreviewAsync(
+            RouteAnalysisData route, UpstageDispatcher.Priority priority) {
+        Timer.Sample sample = metrics.startTimer();
+        return generateTextMono(buildPreviewPrompt(route), priority)
+                .map(this::parsePreviewLines)
+                .onErrorResume(e -> {
+                    log.warn("AI 프리뷰 생성 실패: {}", e.getMessage());
+                    metrics.fallback(AnalysisMetrics.Fallback.PREVIEW);
+                    return Mono.just(generateDefaultPreview(route));
+                })
+                .doFinally(signal -> metrics.stop(sample, AnalysisMetrics.Stage.PREVIEW))
+                .toFuture();
     }
 
     @Async("aiExecutor")
@@ -0,0 +1,230 @@
+package likelion._th.ganzithon.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+// Upstage 호출 우선순위 큐
+// - 전체 동시 호출 수를 max-concurrent 로 제한 (Upstage rate limit 에 맞춤)
+// - 자리가 나면 INTERACTIVE(사용자 대기 중) 를 BACKGROUND(선생성 등) 보다 먼저 실행
+// - BACKGROUND 는 대기열이 길거나 너무 오래 기다렸으면 실행하지 않고 버림
+// - 대기 중에 구독이 취소되면 대기열에서 제거, 실행 중이면 HTTP 요청 취소
+public class UpstageDispatcher {
+
+    public enum Priority {
+        INTERACTIVE("interactive"),
+        BACKGROUND("background");
+
+        private final String tag;
+
+        Priority(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final int maxConcurrent;
+    private final int maxBackgroundQueue;
+    private final long backgroundMaxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Priority, Deque<Ticket<?>>> queues = new EnumMap<>(Priority.class);
+    private int inFlight;
+
+    private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> dropCounters = new EnumMap<>(Priority.class);
+
+    public UpstageDispatcher(
+            @Value("${upstage.dispatch.max-concurrent:8}") int maxConcurrent,
+            @Value("${upstage.dispatch.max-background-queue:10}") int maxBackgroundQueue,
+            @Value("${upstage.dispatch.background-max-wait-ms:30000}") long backgroundMaxWaitMs,
+            AnalysisMetrics metrics
+    ) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxBackgroundQueue = maxBackgroundQueue;
+        this.backgroundMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMs);
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+        registerMetrics(metrics.registry());
+    }
+
+    // upstage.dispatch.wait{priority}: 대기 시간, upstage.dispatch.dropped{priority}: 버린 호출 수
+    // upstage.dispatch.queue{priority}: 대기열 길이, upstage.dispatch.in_flight: 실행 중 호출 수
+    private void registerMetrics(MeterRegistry registry) {
+        for (Priority priority : Priority.values()) {
+            waitTimers.put(priority, Timer.builder("upstage.dispatch.wait")
+                    .description("Upstage 호출 실행 전 대기 시간")
+                    .tag("priority", priority.tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            dropCounters.put(priority, Counter.builder("upstage.dispatch.dropped")
+                    .description("대기열 포화 / 대기 초과로 버린 Upstage 호출 수")
+                    .tag("priority", priority.tag)
+                    .register(registry));
+            Gauge.builder("upstage.dispatch.queue", this, d -> d.queueSize(priority))
+                    .description("Upstage 호출 대기열 길이")
+                    .tag("priority", priority.tag)
+                    .register(registry);
+        }
+        Gauge.builder("upstage.dispatch.in_flight", this, UpstageDispatcher::inFlight)
+                .description("실행 중인 Upstage 호출 수")
+                .register(registry);
+    }
+
+    // 자리가 나면 call 을 구독, 결과는 반환된 Mono 로 전달
+    public <T> Mono<T> dispatch(Priority priority, Supplier<Mono<T>> call) {
+        return Mono.create(sink -> {
+            Ticket<T> ticket = new Ticket<>(priority, Mono.defer(call), sink);
+            sink.onCancel(() -> cancel(ticket));
+            if (enqueue(ticket)) {
+                drain();
+            }
+        });
+    }
+
+    private boolean enqueue(Ticket<?> ticket) {
+        lock.lock();
+        try {
+            Deque<Ticket<?>> queue = queues.get(ticket.priority);
+            if (ticket.priority == Priority.BACKGROUND && queue.size() >= maxBackgroundQueue) {
+                drop(ticket, "대기열 포화");
+                return false;
+            }
+            queue.addLast(ticket);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 한도 안에서 대기열 앞쪽부터 실행 (INTERACTIVE 우선)
+    private void drain() {
+        while (true) {
+            Ticket<?> next;
+            lock.lock();
+            try {
+                if (inFlight >= maxConcurrent) {
+                    return;
+                }
+                next = queues.get(Priority.INTERACTIVE).pollFirst();
+                if (next == null) {
+                    next = queues.get(Priority.BACKGROUND).pollFirst();
+                }
+                if (next == null) {
+                    return;
+                }
+                long waited = System.nanoTime() - next.enqueuedAt;
+                if (next.priority == Priority.BACKGROUND && waited > backgroundMaxWaitNanos) {
+                    drop(next, "대기 시간 초과");
+                    continue;
+                }
+                inFlight++;
+                next.started = true;
+                waitTimers.get(next.priority).record(waited, TimeUnit.NANOSECONDS);
+            } finally {
+                lock.unlock();
+            }
+            next.start(this::release);
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private void cancel(Ticket<?> ticket) {
+        ticket.cancelled = true;
+        lock.lock();
+        try {
+            if (!ticket.started) {
+                queues.get(ticket.priority).remove(ticket);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        ticket.dispose();
+    }
+
+    // lock 보유 상태에서 호출
+    private void drop(Ticket<?> ticket, String reason) {
+        dropCounters.get(ticket.priority).increment();
+        log.debug("[Upstage] {} 호출 버림: {}", ticket.priority.tag, reason);
+        ticket.sink.error(new RejectedExecutionException("Upstage " + ticket.priority.tag + " 호출 버림: " + reason));
+    }
+
+    private int queueSize(Priority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Ticket<T> {
+        private final Priority priority;
+        private final Mono<T> call;
+        private final MonoSink<T> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private boolean started;
+        private volatile boolean cancelled;
+        private volatile Disposable running;
+
+        private Ticket(Priority priority, Mono<T> call, MonoSink<T> sink) {
+            this.priority = priority;
+            this.call = call;
+            this.sink = sink;
+        }
+
+        private void start(Runnable onFinally) {
+            running = call.doFinally(signal -> onFinally.run())
+                    .subscribe(sink::success, sink::error, sink::success);
+            // 구독 직전에 취소된 경우
+            if (cancelled) {
+                running.dispose();
+            }
+        }
+
+        private void dispose() {
+            Disposable disposable = running;
+            if (disposable != null) {
+                disposable.dispose();
+            }
+        }
+    }
+}
@@ -1,24 +1,139 @@
 package likelion._th.ganzithon.config;
 
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
+// 작업 종류별 executor 분리 (느린 LLM 호출이 CPU 작업을 굶기거나, 중첩 대기로 풀이 고갈되지 않도록)
+// - cptedExecutor: CPTED 점수 계산 (CPU, 코어 수 기준)
+// - aiExecutor: @Async Upstage 호출 (I/O 대기)
+// - requestExecutor: /paths, /report 요청 처리
+// - prefetchExecutor: 리포트 선생성 (낮은 우선순위)
+// - pathRefreshExecutor: /paths 응답 캐시 백그라운드 재계산
+// - batchTmapExecutor: 일괄 분석의 Tmap 조회 (병렬 수 제한)
 public class AsyncConfig {
 
+    // CPU 작업이라 코어 수만큼만, 큐가 차면 호출 스레드에서 직접 계산
+    @Bean(name = "cptedExecutor")
+    public Executor cptedExecutor(
+            AnalysisMetrics metrics,
+            @Value("${executor.cpted.pool-size:0}") int poolSize,
+            @Value("${executor.cpted.queue-capacity:64}") int queueCapacity
+    ) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cpted-");
+        executor.setRejectedExecutionHandler(callerRuns("cptedExecutor", metrics));
+        executor.initialize();
+        metrics.monitorExecutor("cptedExecutor", executor);
+        return executor;
+    }
+
+    // 대부분 Upstage 응답 대기라 스레드를 넉넉히, 포화 시 호출 스레드에서 실행
     @Bean(name = "aiExecutor")
-    public Executor aiExecutor() {
+    public Executor aiExecutor(
+            AnalysisMetrics metrics,
+            @Value("${executor.ai.core-pool-size:8}") int corePoolSize,
+            @Value("${executor.ai.max-pool-size:32}") int maxPoolSize,
+            @Value("${executor.ai.queue-capacity:50}") int queueCapacity
+    ) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(4);
-        executor.setMaxPoolSize(8);
-        executor.setQueueCapacity(20);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix("ai-");
+        executor.setRejectedExecutionHandler(callerRuns("aiExecutor", metrics));
+        executor.initialize();
+        metrics.monitorExecutor("aiExecutor", executor);
+        return executor;
+    }
+
+    // /paths, /report 처리용 (클라이언트 이탈 / 타임아웃 시 작업 스레드를 interrupt 해서 중단)
+    // 포화 시 TaskRejectedException → AnalysisController 에서 503
+    @Bean(name = "requestExecutor")
+    public ThreadPoolTaskExecutor requestExecutor(
+            AnalysisMetrics metrics,
+            @Value("${executor.request.core-pool-size:16}") int corePoolSize,
+            @Value("${executor.request.max-pool-size:64}") int maxPoolSize,
+            @Value("${executor.request.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("request-");
         executor.initialize();
+        metrics.monitorExecutor("requestExecutor", executor);
         return executor;
     }
+
+    // 추천 경로 리포트 선생성용 (낮은 우선순위, 작은 큐)
+    // 포화 시 TaskRejectedException → ReportPrefetcher 에서 건너뜀
+    @Bean(name = "prefetchExecutor")
+    public Executor prefetchExecutor(AnalysisMetrics metrics) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(10);
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setThreadNamePrefix("prefetch-");
+        executor.initialize();
+        metrics.monitorExecutor("prefetchExecutor", executor);
+        return executor;
+    }
+
+    // /paths 응답 캐시 stale 항목 재계산용 (검색 1회가 길어서 리포트 선생성과 풀을 나눔)
+    // 포화 시 TaskRejectedException → PathResponseCache 에서 건너뜀 (기존 응답을 계속 사용)
+    @Bean(name = "pathRefreshExecutor")
+    public Executor pathRefreshExecutor(
+            AnalysisMetrics metrics,
+            @Value("${executor.path-refresh.pool-size:2}") int poolSize,
+            @Value("${executor.path-refresh.queue-capacity:20}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("path-refresh-");
+        executor.initialize();
+        metrics.monitorExecutor("pathRefreshExecutor", executor);
+        return executor;
+    }
+
+    // 일괄 분석 Tmap 조회용, 풀 크기 = Tmap 동시 호출 상한 (chunk 단위로 넣으므로 큐는 넉넉히)
+    @Bean(name = "batchTmapExecutor")
+    public ThreadPoolTaskExecutor batchTmapExecutor(
+            AnalysisMetrics metrics,
+            @Value("${executor.batch-tmap.pool-size:8}") int poolSize
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("batch-tmap-");
+        executor.initialize();
+        metrics.monitorExecutor("batchTmapExecutor", executor);
+        return executor;
+    }
+
+    // 예외 대신 호출 스레드에서 실행 (횟수는 analysis.executor.caller_runs 로 집계)
+    private static RejectedExecutionHandler callerRuns(String name, AnalysisMetrics metrics) {
+        ThreadPoolExecutor.CallerRunsPolicy delegate = new ThreadPoolExecutor.CallerRunsPolicy();
+        return (task, pool) -> {
+            metrics.executorCallerRuns(name);
+            delegate.rejectedExecution(task, pool);
+        };
+    }
 }
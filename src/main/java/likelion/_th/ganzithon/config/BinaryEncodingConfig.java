@@ -0,0 +1,54 @@
+package likelion._th.ganzithon.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import likelion._th.ganzithon.dto.response.PathSearchResponse;
+import likelion._th.ganzithon.dto.response.ReportResponse;
+import lombok.RequiredArgsConstructor;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+// 분석 응답의 바이너리 인코딩 (Accept 헤더로 선택)
+// - application/cbor, application/x-msgpack: 같은 DTO 를 Jackson 으로 직렬화 (요청 본문도 지원)
+// - application/x-protobuf: classpath:proto/*.proto 스키마로 직렬화 (응답 전용)
+// 목록 맨 뒤에 추가해서 Accept 가 없거나 */* 이면 기존처럼 JSON
+// Jackson 설정(날짜 형식 등)은 Spring Boot 의 Jackson2ObjectMapperBuilder(prototype) 를 그대로 사용
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+
+    public static final MediaType MSGPACK = new MediaType("application", "x-msgpack");
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 기본 CBOR 컨버터는 Boot 의 Jackson 설정이 적용되지 않아서 교체
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                builders.getObject().createXmlMapper(false).factory(new CBORFactory()).build()));
+        converters.add(new MessagePackHttpMessageConverter(
+                builders.getObject().createXmlMapper(false).factory(new MessagePackFactory()).build()));
+        converters.add(new ProtobufSchemaHttpMessageConverter(
+                builders.getObject().createXmlMapper(false).factory(new ProtobufFactory()).build())
+                .register(PathSearchResponse.class, "proto/path_search_response.proto", "PathSearchResponse")
+                .register(ReportResponse.class, "proto/report_response.proto", "ReportResponse"));
+    }
+
+    static class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+        MessagePackHttpMessageConverter(ObjectMapper mapper) {
+            super(mapper, MSGPACK);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package likelion._th.ganzithon.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.store.CellStore;
+import likelion._th.ganzithon.store.FirestoreCellStore;
+import likelion._th.ganzithon.store.InMemoryCellStore;
+import likelion._th.ganzithon.store.JdbcCellStore;
+import likelion._th.ganzithon.store.MappedCellFile;
+import likelion._th.ganzithon.store.TieredCellStore;
+import likelion._th.ganzithon.util.TtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+@Configuration
+@Slf4j
+// 셀 저장소 선택 (cell-store.type: firestore(기본) / memory / jdbc)
+// 원본 저장소는 "cellStoreBackend", 서비스가 쓰는 CellStore 는 그 앞에 캐시를 둔 @Primary 빈
+public class CellStoreConfig {
+
+    @Bean
+    @Primary
+    public CellStore cellStore(
+            @Qualifier("cellStoreBackend") CellStore backend,
+            AnalysisMetrics metrics,
+            @Value("${cell-store.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${cell-store.cache.l1.max-size:20000}") int l1MaxSize,
+            @Value("${cell-store.cache.l1.ttl-seconds:3600}") long l1TtlSeconds,
+            @Value("${cell-store.cache.l2.enabled:true}") boolean l2Enabled,
+            @Value("${cell-store.cache.l2.path:${java.io.tmpdir}/ganzithon-cells.bin}") String l2Path,
+            @Value("${cell-store.cache.l2.max-cells:1000000}") int l2MaxCells,
+            @Value("${cell-store.cache.l2.ttl-seconds:3600}") long l2TtlSeconds
+    ) throws IOException {
+        if (!cacheEnabled) {
+            return backend;
+        }
+
+        MappedCellFile l2 = l2Enabled ? MappedCellFile.create(Path.of(l2Path), l2MaxCells, Duration.ofSeconds(l2TtlSeconds)) : null;
+        log.info("[CellStore] 캐시 사용: L1 {} 셀 / L2 {}", l1MaxSize, l2Enabled ? l2MaxCells + " 셀" : "비활성화");
+        return new TieredCellStore(
+                backend,
+                new TtlCache<>(l1MaxSize, Duration.ofSeconds(l1TtlSeconds)),
+                l2,
+                metrics.registry());
+    }
+
+    @Bean
+    @Qualifier("cellStoreBackend")
+    @ConditionalOnProperty(name = "cell-store.type", havingValue = "firestore", matchIfMissing = true)
+    public CellStore firestoreCellStore(FirebaseClient firebaseClient) {
+        log.info("[CellStore] firestore");
+        return new FirestoreCellStore(firebaseClient);
+    }
+
+    @Bean
+    @Qualifier("cellStoreBackend")
+    @ConditionalOnProperty(name = "cell-store.type", havingValue = "memory")
+    public CellStore inMemoryCellStore(
+            @Value("${cell-store.memory.source:synthetic}") String source,
+            @Value("${cell-store.memory.latency-ms:0}") long latencyMs,
+            AnalysisMetrics metrics
+    ) throws IOException {
+        return InMemoryCellStore.load(source, latencyMs, metrics);
+    }
+
+    // DataSourceAutoConfiguration 은 제외 (application.properties)
+    // → jdbc 저장소를 쓸 때만 DataSource(Hikari 풀) 생성, 다른 저장소에서는 풀 / DB health 체크 없음
+    // spring.datasource.* 의 DB 사용 (미설정 시 H2 메모리 DB)
+    @Bean
+    @ConditionalOnProperty(name = "cell-store.type", havingValue = "jdbc")
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties cellStoreDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cell-store.type", havingValue = "jdbc")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource cellStoreDataSource(DataSourceProperties cellStoreDataSourceProperties) {
+        return cellStoreDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Qualifier("cellStoreBackend")
+    @ConditionalOnProperty(name = "cell-store.type", havingValue = "jdbc")
+    public CellStore jdbcCellStore(
+            DataSource dataSource,
+            AnalysisMetrics metrics,
+            @Value("${cell-store.jdbc.init-schema:true}") boolean initSchema,
+            @Value("${cell-store.jdbc.import-file:}") String importFile
+    ) throws IOException {
+        if (initSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/cpted_grid.sql")).execute(dataSource);
+        }
+
+        JdbcCellStore store = new JdbcCellStore(
+                new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                metrics);
+
+        // 셀 JSON 파일 적재 (Firestore export 등)
+        if (!importFile.isBlank()) {
+            FirebaseClient.SafetyCell[] cells = new ObjectMapper()
+                    .readValue(Files.readAllBytes(Path.of(importFile)), FirebaseClient.SafetyCell[].class);
+            int imported = store.upsertAll(Arrays.asList(cells));
+            log.info("[CellStore] jdbc: {} 에서 {} 개 셀 적재", importFile, imported);
+        }
+
+        log.info("[CellStore] jdbc");
+        return store;
+    }
+}
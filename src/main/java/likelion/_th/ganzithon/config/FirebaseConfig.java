@@ -7,15 +7,16 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 @Configuration
 @Slf4j
+// testMode 이거나 셀 저장소가 firestore 가 아니면 자격 증명 없이 뜨도록 Firebase 빈을 만들지 않음
+@ConditionalOnExpression("!${firebase.test-mode:false} and '${cell-store.type:firestore}' == 'firestore'")
 public class FirebaseConfig {
 
     @Value("${firebase.database-url:}")
@@ -24,16 +25,16 @@ public class FirebaseConfig {
     @Value("${FIREBASE_PROJECT_ID:}")
     private String projectIdEnv;
 
-    private GoogleCredentials loadCredentials() throws IOException {
+    // ADC 자격 증명은 한 번만 읽어서 FirebaseApp / Firestore 가 공유 (콜드 스타트 단축)
+    @Bean
+    public GoogleCredentials googleCredentials() throws IOException {
         GoogleCredentials credentials = GoogleCredentials.getApplicationDefault();
         log.info("[Firebase] Using ADC credentials: {}", credentials.getClass().getName());
         return credentials;
     }
 
     @Bean
-    public FirebaseApp firebaseApp() throws IOException {
-        GoogleCredentials credentials = loadCredentials();
-
+    public FirebaseApp firebaseApp(GoogleCredentials credentials) {
         FirebaseOptions.Builder builder = FirebaseOptions.builder()
                 .setCredentials(credentials)
                 .setDatabaseUrl(databaseUrl);
@@ -55,9 +56,7 @@ public class FirebaseConfig {
     }
 
     @Bean
-    public Firestore firestore(FirebaseApp firebaseApp) throws IOException {
-        GoogleCredentials credentials = loadCredentials();
-
+    public Firestore firestore(FirebaseApp firebaseApp, GoogleCredentials credentials) {
         FirestoreOptions.Builder builder = FirestoreOptions.newBuilder()
                 .setCredentials(credentials);
 
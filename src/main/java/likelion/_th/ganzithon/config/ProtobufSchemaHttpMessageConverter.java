@@ -0,0 +1,67 @@
+package likelion._th.ganzithon.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// 응답 DTO 를 classpath:proto/*.proto 스키마에 맞춰 protobuf 로 직렬화 (쓰기 전용)
+// - 생성 코드 없이 Jackson protobuf 로 기존 DTO 를 그대로 사용
+// - 스키마에 없는 프로퍼티는 건너뜀
+public class ProtobufSchemaHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectWriter> writers = new HashMap<>();
+
+    // mapper 는 ProtobufFactory 기반이어야 함
+    public ProtobufSchemaHttpMessageConverter(ObjectMapper mapper) {
+        super(PROTOBUF);
+        this.mapper = mapper;
+    }
+
+    // type 을 schemaResource 의 rootType 메시지로 직렬화
+    public ProtobufSchemaHttpMessageConverter register(Class<?> type, String schemaResource, String rootType) {
+        try (InputStream in = new ClassPathResource(schemaResource).getInputStream()) {
+            ProtobufSchema schema = ProtobufSchemaLoader.std.load(in, rootType);
+            writers.put(type, mapper.writer(schema).with(JsonGenerator.Feature.IGNORE_UNKNOWN));
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException("protobuf 스키마 로드 실패: " + schemaResource, e);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return writers.containsKey(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("protobuf 요청 본문은 지원하지 않습니다.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        writers.get(value.getClass()).writeValue(outputMessage.getBody(), value);
+    }
+}
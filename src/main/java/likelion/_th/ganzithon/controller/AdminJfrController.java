@@ -0,0 +1,118 @@
+package likelion._th.ganzithon.controller;
+
+import likelion._th.ganzithon.monitoring.JfrRecordingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/jfr")
+@Slf4j
+// JFR 녹화 관리 (admin.token 미설정 시 비활성화)
+public class AdminJfrController {
+
+    private static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final JfrRecordingService jfrRecordingService;
+    private final String adminToken;
+
+    public AdminJfrController(
+            JfrRecordingService jfrRecordingService,
+            @Value("${admin.token:}") String adminToken
+    ) {
+        this.jfrRecordingService = jfrRecordingService;
+        this.adminToken = adminToken;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token,
+            @RequestParam(defaultValue = "default") String settings,
+            @RequestParam(defaultValue = "600") long maxAgeSeconds,
+            @RequestParam(defaultValue = "64") long maxSizeMb
+    ) throws IOException, ParseException {
+        checkToken(token);
+        try {
+            return ResponseEntity.ok(jfrRecordingService.start(
+                    settings, Duration.ofSeconds(maxAgeSeconds), maxSizeMb * 1024 * 1024));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<Map<String, Object>> stop(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token
+    ) {
+        checkToken(token);
+        try {
+            return ResponseEntity.ok(jfrRecordingService.stop());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> status(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token
+    ) {
+        checkToken(token);
+        return ResponseEntity.ok(jfrRecordingService.status());
+    }
+
+    // .jfr 파일 다운로드 (JDK Mission Control 에서 열기)
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dump(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token
+    ) throws IOException {
+        checkToken(token);
+        Path file;
+        try {
+            file = jfrRecordingService.dump();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+
+    private void checkToken(String token) {
+        if (adminToken == null || adminToken.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        if (token == null || !MessageDigest.isEqual(
+                adminToken.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("[ADMIN] 잘못된 토큰으로 JFR 요청");
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+}
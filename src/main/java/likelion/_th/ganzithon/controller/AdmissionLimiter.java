@@ -0,0 +1,156 @@
+package likelion._th.ganzithon.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 엔드포인트별 입장 제어 (인스턴스가 포화되면 파이프라인 깊은 곳에서 실패하기 전에 바로 거절)
+// 1) 동시 처리 한도 안이면 바로 입장
+// 2) 한도가 찼으면 짧은 대기열에서 queueWait 동안 대기
+// 3) 그래도 자리가 없으면 간략 모드(AI 호출 없음) 슬롯으로 입장
+// 4) 간략 모드 슬롯도 없으면 거절 (503 + Retry-After)
+class AdmissionLimiter {
+
+    enum Admission {
+        FULL("admitted"),
+        QUEUED("queued"),
+        DEGRADED("degraded"),
+        REJECTED("rejected");
+
+        private final String tag;
+
+        Admission(String tag) {
+            this.tag = tag;
+        }
+
+        boolean admitted() {
+            return this != REJECTED;
+        }
+
+        boolean degraded() {
+            return this == DEGRADED;
+        }
+    }
+
+    private final int maxConcurrent;
+    private final int maxDegraded;
+    private final int maxQueue;
+    private final long queueWaitMs;
+
+    private final Semaphore permits;
+    private final Semaphore degradedPermits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Map<Admission, Counter> counters = new EnumMap<>(Admission.class);
+
+    AdmissionLimiter(String endpoint, int maxConcurrent, int maxQueue, long queueWaitMs,
+                     int maxDegraded, AnalysisMetrics metrics) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxDegraded = maxDegraded;
+        this.maxQueue = maxQueue;
+        this.queueWaitMs = queueWaitMs;
+        this.permits = new Semaphore(maxConcurrent);
+        this.degradedPermits = new Semaphore(maxDegraded);
+        registerMetrics(endpoint, metrics.registry());
+    }
+
+    // analysis.admission{endpoint,result}: 입장 결과, analysis.admission.in_flight / waiting: 현재 처리 / 대기 수
+    private void registerMetrics(String endpoint, MeterRegistry registry) {
+        for (Admission admission : Admission.values()) {
+            counters.put(admission, Counter.builder("analysis.admission")
+                    .description("요청 입장 제어 결과")
+                    .tag("endpoint", endpoint)
+                    .tag("result", admission.tag)
+                    .register(registry));
+        }
+        Gauge.builder("analysis.admission.in_flight", this, AdmissionLimiter::inFlight)
+                .description("입장 후 처리 중인 요청 수")
+                .tag("endpoint", endpoint)
+                .register(registry);
+        Gauge.builder("analysis.admission.waiting", waiting, AtomicInteger::get)
+                .description("입장 대기 중인 요청 수")
+                .tag("endpoint", endpoint)
+                .register(registry);
+    }
+
+    // 입장 시도, 결과가 REJECTED 가 아니면 처리가 끝난 뒤 Permit.release() 필수
+    Permit acquire() throws InterruptedException {
+        Admission admission = tryAdmit();
+        counters.get(admission).increment();
+        return new Permit(admission);
+    }
+
+    private Admission tryAdmit() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return Admission.FULL;
+        }
+
+        if (waiting.incrementAndGet() <= maxQueue) {
+            try {
+                if (permits.tryAcquire(queueWaitMs, TimeUnit.MILLISECONDS)) {
+                    return Admission.QUEUED;
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } else {
+            waiting.decrementAndGet();
+        }
+
+        if (degradedPermits.tryAcquire()) {
+            return Admission.DEGRADED;
+        }
+        return Admission.REJECTED;
+    }
+
+    private int inFlight() {
+        return (maxConcurrent - permits.availablePermits())
+                + (maxDegraded - degradedPermits.availablePermits());
+    }
+
+    // 입장권 (release 는 여러 번 호출해도 1회만 반영)
+    // - 작업 스레드는 시작할 때 start(), 끝날 때(finally) release()
+    // - 취소하는 쪽은 releaseIfNotStarted(): 큐에서 시작 전에 빠진 작업은 finally 가 돌지 않으므로 여기서 반납
+    class Permit {
+        private final Admission admission;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Admission admission) {
+            this.admission = admission;
+        }
+
+        Admission admission() {
+            return admission;
+        }
+
+        void start() {
+            started.set(true);
+        }
+
+        // 시작 직후 취소와 겹쳐 양쪽에서 반납해도 release 가 1회만 반영
+        void releaseIfNotStarted() {
+            if (!started.get()) {
+                release();
+            }
+        }
+
+        void release() {
+            if (!admission.admitted() || !released.compareAndSet(false, true)) {
+                return;
+            }
+            if (admission.degraded()) {
+                degradedPermits.release();
+            } else {
+                permits.release();
+            }
+        }
+    }
+}
@@ -1,39 +1,221 @@
 package likelion._th.ganzithon.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.validation.Valid;
+import likelion._th.ganzithon.client.UpstageDispatcher;
+import likelion._th.ganzithon.dto.request.BatchPathRequest;
 import likelion._th.ganzithon.dto.request.PathSearchRequest;
 import likelion._th.ganzithon.dto.request.ReportRequest;
 import likelion._th.ganzithon.dto.response.PathSearchResponse;
 import likelion._th.ganzithon.dto.response.ReportResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.service.BatchPathService;
+import likelion._th.ganzithon.service.PathResponseCache;
 import likelion._th.ganzithon.service.PathService;
 import likelion._th.ganzithon.service.ReportService;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
 
 @RestController
 @RequestMapping("/api/v1/analysis")
-@RequiredArgsConstructor
+@Slf4j
+// 요청은 requestExecutor 에서 처리하고, 클라이언트 연결 종료 / 타임아웃 시 작업 스레드를 interrupt
+// → Tmap(block), Firestore(ApiFuture), Upstage(WebClient 구독) 호출이 함께 취소됨
+// 엔드포인트별 입장 제어: 포화 시 /paths 는 AI 없는 간략 모드, 그래도 넘치면 503 + Retry-After
 public class AnalysisController {
 
+    static final String DEGRADED_HEADER = "X-Degraded";
+
     private final PathService pathService;
+    private final PathResponseCache pathResponseCache;
     private final ReportService reportService;
+    private final BatchPathService batchPathService;
+    private final ThreadPoolTaskExecutor requestExecutor;
+    private final AnalysisMetrics metrics;
+    private final long requestTimeoutMs;
+    private final String retryAfterSeconds;
+    private final AdmissionLimiter pathsAdmission;
+    private final AdmissionLimiter reportAdmission;
+    private final AdmissionLimiter batchAdmission;
+    private final long batchTimeoutMs;
+
+    public AnalysisController(
+            PathService pathService,
+            PathResponseCache pathResponseCache,
+            ReportService reportService,
+            BatchPathService batchPathService,
+            @Qualifier("requestExecutor") ThreadPoolTaskExecutor requestExecutor,
+            AnalysisMetrics metrics,
+            @Value("${analysis.request-timeout-seconds:60}") long requestTimeoutSeconds,
+            @Value("${analysis.admission.retry-after-seconds:2}") long retryAfterSeconds,
+            @Value("${analysis.admission.paths.max-concurrent:16}") int pathsMaxConcurrent,
+            @Value("${analysis.admission.paths.max-queue:16}") int pathsMaxQueue,
+            @Value("${analysis.admission.paths.queue-wait-ms:200}") long pathsQueueWaitMs,
+            @Value("${analysis.admission.paths.max-degraded:16}") int pathsMaxDegraded,
+            @Value("${analysis.admission.report.max-concurrent:8}") int reportMaxConcurrent,
+            @Value("${analysis.admission.report.max-queue:8}") int reportMaxQueue,
+            @Value("${analysis.admission.report.queue-wait-ms:200}") long reportQueueWaitMs,
+            @Value("${analysis.admission.batch.max-concurrent:2}") int batchMaxConcurrent,
+            @Value("${analysis.batch.timeout-seconds:600}") long batchTimeoutSeconds
+    ) {
+        this.pathService = pathService;
+        this.pathResponseCache = pathResponseCache;
+        this.reportService = reportService;
+        this.batchPathService = batchPathService;
+        this.requestExecutor = requestExecutor;
+        this.metrics = metrics;
+        this.requestTimeoutMs = requestTimeoutSeconds * 1000;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.pathsAdmission = new AdmissionLimiter("paths",
+                pathsMaxConcurrent, pathsMaxQueue, pathsQueueWaitMs, pathsMaxDegraded, metrics);
+        // 리포트는 AI 코멘트가 핵심이라 간략 모드 없음
+        this.reportAdmission = new AdmissionLimiter("report",
+                reportMaxConcurrent, reportMaxQueue, reportQueueWaitMs, 0, metrics);
+        // 일괄 분석은 오래 걸리므로 대기열 없이 바로 거절
+        this.batchAdmission = new AdmissionLimiter("batch", batchMaxConcurrent, 0, 0, 0, metrics);
+        this.batchTimeoutMs = batchTimeoutSeconds * 1000;
+    }
 
     @PostMapping("/paths")
-    public ResponseEntity<PathSearchResponse> getPaths(
+    public DeferredResult<ResponseEntity<PathSearchResponse>> getPaths(
             @Valid @RequestBody PathSearchRequest request
-    ) throws ExecutionException, InterruptedException, TimeoutException {
-        return ResponseEntity.ok(pathService.searchPaths(request));
+    ) throws InterruptedException {
+        AdmissionLimiter.Permit permit = pathsAdmission.acquire();
+        boolean degraded = permit.admission().degraded();
+        return cancellable("paths", permit, () -> {
+            // 간략 모드는 캐시된 전체 응답이 있으면 그대로, 없으면 AI 없이 계산 (캐시하지 않음)
+            if (degraded) {
+                PathSearchResponse cached = pathResponseCache.find(request);
+                return cached != null ? cached : pathService.searchPaths(request, true);
+            }
+            return pathResponseCache.get(request,
+                    () -> pathService.searchPaths(request),
+                    () -> pathService.searchPaths(request, UpstageDispatcher.Priority.BACKGROUND));
+        });
     }
 
     @PostMapping("/report")
-    public ResponseEntity<ReportResponse> generateReport(
+    public DeferredResult<ResponseEntity<ReportResponse>> generateReport(
             @RequestBody ReportRequest request
-    ) throws JsonProcessingException, ExecutionException, InterruptedException, TimeoutException {
-        return ResponseEntity.ok(reportService.generateReport(request));
+    ) throws InterruptedException {
+        return cancellable("report", reportAdmission.acquire(),
+                () -> reportService.generateReport(request));
+    }
+
+    // 여러 출발지/도착지 쌍 일괄 분석, 끝나는 순서대로 한 줄에 하나씩 결과 전송 (NDJSON)
+    @PostMapping(value = "/paths/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> getPathsBatch(
+            @Valid @RequestBody BatchPathRequest request
+    ) throws InterruptedException {
+        AdmissionLimiter.Permit permit = batchAdmission.acquire();
+        if (!permit.admission().admitted()) {
+            log.warn("[batch] 인스턴스 포화로 요청 거절");
+            return overloaded();
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(batchTimeoutMs);
+        Future<?> task;
+        try {
+            task = requestExecutor.submit(() -> {
+                permit.start();
+                try {
+                    batchPathService.analyze(request, result -> {
+                        emitter.send(result, MediaType.APPLICATION_JSON);
+                        emitter.send("\n", MediaType.TEXT_PLAIN);
+                    });
+                    emitter.complete();
+                } catch (InterruptedException | CancellationException e) {
+                    log.debug("[batch] 요청 처리 중단");
+                } catch (Exception e) {
+                    emitter.completeWithError(e);
+                } finally {
+                    permit.release();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            permit.release();
+            log.warn("[batch] requestExecutor 포화로 요청 거절");
+            return overloaded();
+        }
+
+        emitter.onTimeout(() -> cancel("batch", task, permit, "timeout"));
+        emitter.onError(e -> cancel("batch", task, permit, "client error: " + e.getMessage()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    // 응답을 기다리는 클라이언트가 없어지면 작업 중단
+    // - 결과/예외는 기존 동기 처리와 같이 MVC 예외 처리로 전달
+    // - 입장권은 작업이 실제로 끝날 때(finally) 반납, 타임아웃 뒤에도 작업이 돌고 있으면 계속 점유
+    private <T> DeferredResult<ResponseEntity<T>> cancellable(
+            String name, AdmissionLimiter.Permit permit, Callable<T> work) {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(requestTimeoutMs);
+
+        if (!permit.admission().admitted()) {
+            log.warn("[{}] 인스턴스 포화로 요청 거절", name);
+            result.setResult(overloaded());
+            return result;
+        }
+
+        ResponseEntity.BodyBuilder ok = permit.admission().degraded()
+                ? ResponseEntity.ok().header(DEGRADED_HEADER, "true")
+                : ResponseEntity.ok();
+
+        Future<?> task;
+        try {
+            task = requestExecutor.submit(() -> {
+                permit.start();
+                try {
+                    result.setResult(ok.body(work.call()));
+                } catch (InterruptedException | CancellationException e) {
+                    // 이미 타임아웃 / 연결 종료 처리된 요청
+                    log.debug("[{}] 요청 처리 중단", name);
+                } catch (Exception e) {
+                    result.setErrorResult(e);
+                } finally {
+                    permit.release();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            permit.release();
+            log.warn("[{}] requestExecutor 포화로 요청 거절", name);
+            result.setResult(overloaded());
+            return result;
+        }
+
+        result.onTimeout(() -> cancel(name, task, permit, "timeout"));
+        result.onError(e -> cancel(name, task, permit, "client error: " + e.getMessage()));
+        return result;
+    }
+
+    // 포화 응답: 다른 인스턴스로 재시도하도록 바로 503
+    private <T> ResponseEntity<T> overloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .build();
+    }
+
+    // 실행 중인 작업은 interrupt 만 하고 입장권은 작업의 finally 가 반납
+    // 큐에서 시작 전에 취소된 작업은 finally 가 돌지 않으므로 여기서 반납
+    private void cancel(String name, Future<?> task, AdmissionLimiter.Permit permit, String reason) {
+        if (task.cancel(true)) {
+            metrics.cancelled(AnalysisMetrics.Cancellation.REQUEST);
+            log.info("[{}] 요청 취소 ({})", name, reason);
+        }
+        permit.releaseIfNotStarted();
     }
 }
@@ -0,0 +1,65 @@
+package likelion._th.ganzithon.controller;
+
+import likelion._th.ganzithon.dto.response.AreaSafetyResponse;
+import likelion._th.ganzithon.service.AreaQueryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/v1/area")
+@Slf4j
+// 영역 안전도 조회 (학교 주변, 정류장 반경 300m 등)
+// - 메모리 그리드에서만 응답, 그리드 적재 전에는 503 + Retry-After
+public class AreaController {
+
+    private final AreaQueryService areaQueryService;
+    private final String retryAfterSeconds;
+
+    public AreaController(
+            AreaQueryService areaQueryService,
+            @Value("${area.retry-after-seconds:30}") long retryAfterSeconds
+    ) {
+        this.areaQueryService = areaQueryService;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    // 사각형 영역
+    @GetMapping("/bbox")
+    public ResponseEntity<AreaSafetyResponse> bbox(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng
+    ) {
+        return query(() -> areaQueryService.bbox(minLat, minLng, maxLat, maxLng));
+    }
+
+    // 중심 + 반경(m)
+    @GetMapping("/radius")
+    public ResponseEntity<AreaSafetyResponse> radius(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "300") double radius
+    ) {
+        return query(() -> areaQueryService.radius(lat, lng, radius));
+    }
+
+    private ResponseEntity<AreaSafetyResponse> query(Supplier<AreaSafetyResponse> query) {
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                    .build();
+        }
+    }
+}
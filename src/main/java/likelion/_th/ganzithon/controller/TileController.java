@@ -0,0 +1,72 @@
+package likelion._th.ganzithon.controller;
+
+import likelion._th.ganzithon.service.TileService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/tiles")
+@Slf4j
+// CPTED 히트맵 타일 (형식은 TileService 참고)
+// - ETag / If-None-Match 로 변경 없는 타일은 304
+// - 그리드 적재 전에는 503 + Retry-After
+public class TileController {
+
+    private final TileService tileService;
+    private final CacheControl cacheControl;
+    private final String retryAfterSeconds;
+
+    public TileController(
+            TileService tileService,
+            @Value("${tiles.max-age-seconds:300}") long maxAgeSeconds,
+            @Value("${tiles.retry-after-seconds:30}") long retryAfterSeconds
+    ) {
+        this.tileService = tileService;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @GetMapping(value = "/{z}/{x}/{y}", produces = TileService.MEDIA_TYPE)
+    public ResponseEntity<byte[]> tile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            WebRequest webRequest
+    ) {
+        if (!tileService.ready()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                    .build();
+        }
+
+        TileService.Tile tile;
+        try {
+            tile = tileService.tile(z, x, y);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        // 약한 비교(W/), 여러 ETag 목록, * 까지 처리
+        if (webRequest.checkNotModified(tile.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(tile.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TileService.MEDIA_TYPE))
+                .eTag(tile.getEtag())
+                .cacheControl(cacheControl)
+                .body(tile.getBody());
+    }
+}
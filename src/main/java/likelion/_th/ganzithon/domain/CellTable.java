@@ -0,0 +1,153 @@
+package likelion._th.ganzithon.domain;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// 셀 데이터를 슬롯 번호 기준의 병렬 primitive 배열(struct-of-arrays)로 보관
+// - 집계 루프에서 박싱/언박싱 및 null 체크 없이 배열만 순회
+// - 슬롯 번호는 0 ~ size()-1, 없는 셀은 MISSING(-1)
+public class CellTable {
+
+    public static final int MISSING = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Map<String, Integer> slotByCellId;
+    private String[] cellIds;
+    private int[] cctvCounts;
+    private int[] lightCounts;
+    private int[] storeCounts;
+    private int[] policeCounts;
+    private int[] schoolCounts;
+    private double[] cptedScores;
+    private int size;
+
+    public CellTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CellTable(int capacity) {
+        int cap = Math.max(capacity, 1);
+        this.slotByCellId = new HashMap<>(cap * 2);
+        this.cellIds = new String[cap];
+        this.cctvCounts = new int[cap];
+        this.lightCounts = new int[cap];
+        this.storeCounts = new int[cap];
+        this.policeCounts = new int[cap];
+        this.schoolCounts = new int[cap];
+        this.cptedScores = new double[cap];
+    }
+
+    public static CellTable from(Collection<FirebaseClient.SafetyCell> cells) {
+        CellTable table = new CellTable(cells.size());
+        for (FirebaseClient.SafetyCell cell : cells) {
+            table.put(cell);
+        }
+        return table;
+    }
+
+    public int put(FirebaseClient.SafetyCell cell) {
+        return put(cell.getCellId(),
+                cell.getCctvCount(),
+                cell.getLightCount(),
+                cell.getStoreCount(),
+                cell.getPoliceCount(),
+                cell.getSchoolCount(),
+                cell.getCptedScore());
+    }
+
+    // 같은 cellId가 이미 있으면 해당 슬롯을 덮어씀
+    public int put(String cellId, int cctv, int light, int store,
+                   int police, int school, double cptedScore) {
+        Integer existing = slotByCellId.get(cellId);
+        int slot;
+        if (existing != null) {
+            slot = existing;
+        } else {
+            ensureCapacity(size + 1);
+            slot = size++;
+            cellIds[slot] = cellId;
+            slotByCellId.put(cellId, slot);
+        }
+
+        cctvCounts[slot] = cctv;
+        lightCounts[slot] = light;
+        storeCounts[slot] = store;
+        policeCounts[slot] = police;
+        schoolCounts[slot] = school;
+        cptedScores[slot] = cptedScore;
+        return slot;
+    }
+
+    public int slotOf(String cellId) {
+        Integer slot = slotByCellId.get(cellId);
+        return slot != null ? slot : MISSING;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String cellId(int slot) {
+        return cellIds[slot];
+    }
+
+    public int cctvCount(int slot) {
+        return cctvCounts[slot];
+    }
+
+    public int lightCount(int slot) {
+        return lightCounts[slot];
+    }
+
+    public int storeCount(int slot) {
+        return storeCounts[slot];
+    }
+
+    public int policeCount(int slot) {
+        return policeCounts[slot];
+    }
+
+    public int schoolCount(int slot) {
+        return schoolCounts[slot];
+    }
+
+    public double cptedScore(int slot) {
+        return cptedScores[slot];
+    }
+
+    // 슬롯 하나를 SafetyCell 객체로 변환 (외부 API 응답용)
+    public FirebaseClient.SafetyCell toSafetyCell(int slot) {
+        return FirebaseClient.SafetyCell.builder()
+                .cellId(cellIds[slot])
+                .cctvCount(cctvCounts[slot])
+                .lightCount(lightCounts[slot])
+                .storeCount(storeCounts[slot])
+                .policeCount(policeCounts[slot])
+                .schoolCount(schoolCounts[slot])
+                .cptedScore(cptedScores[slot])
+                .build();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= cellIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(required, cellIds.length * 2);
+        cellIds = Arrays.copyOf(cellIds, newCapacity);
+        cctvCounts = Arrays.copyOf(cctvCounts, newCapacity);
+        lightCounts = Arrays.copyOf(lightCounts, newCapacity);
+        storeCounts = Arrays.copyOf(storeCounts, newCapacity);
+        policeCounts = Arrays.copyOf(policeCounts, newCapacity);
+        schoolCounts = Arrays.copyOf(schoolCounts, newCapacity);
+        cptedScores = Arrays.copyOf(cptedScores, newCapacity);
+    }
+}
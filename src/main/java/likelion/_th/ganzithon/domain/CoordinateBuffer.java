@@ -0,0 +1,75 @@
+package likelion._th.ganzithon.domain;
+
+import likelion._th.ganzithon.dto.request.ReportRequest;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// 위도/경도를 primitive 배열로 보관하는 좌표 버퍼
+// - 파싱 단계에서는 좌표마다 객체를 만들지 않고 배열에 바로 기록
+// - 기존 List<Coordinate> 를 받는 코드에는 읽기 전용 List 뷰로 그대로 전달
+public class CoordinateBuffer extends AbstractList<ReportRequest.Coordinate> implements RandomAccess {
+
+    private double[] lats;
+    private double[] lngs;
+    private int size;
+
+    public CoordinateBuffer() {
+        this(64);
+    }
+
+    public CoordinateBuffer(int capacity) {
+        int cap = Math.max(capacity, 1);
+        this.lats = new double[cap];
+        this.lngs = new double[cap];
+    }
+
+    public void add(double lat, double lng) {
+        if (size == lats.length) {
+            int newCapacity = lats.length * 2;
+            lats = Arrays.copyOf(lats, newCapacity);
+            lngs = Arrays.copyOf(lngs, newCapacity);
+        }
+        lats[size] = lat;
+        lngs[size] = lng;
+        size++;
+    }
+
+    public double lat(int index) {
+        checkIndex(index);
+        return lats[index];
+    }
+
+    public double lng(int index) {
+        checkIndex(index);
+        return lngs[index];
+    }
+
+    // List<Coordinate> 를 받는 코드에서 좌표 객체 없이 읽기 (버퍼면 배열에서 바로, 아니면 get)
+    public static double latOf(List<ReportRequest.Coordinate> coordinates, int index) {
+        return coordinates instanceof CoordinateBuffer buffer ? buffer.lat(index) : coordinates.get(index).getLat();
+    }
+
+    public static double lngOf(List<ReportRequest.Coordinate> coordinates, int index) {
+        return coordinates instanceof CoordinateBuffer buffer ? buffer.lng(index) : coordinates.get(index).getLng();
+    }
+
+    @Override
+    public ReportRequest.Coordinate get(int index) {
+        checkIndex(index);
+        return new ReportRequest.Coordinate(lats[index], lngs[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+        }
+    }
+}
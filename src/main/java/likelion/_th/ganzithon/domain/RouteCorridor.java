@@ -0,0 +1,106 @@
+package likelion._th.ganzithon.domain;
+
+import likelion._th.ganzithon.dto.request.ReportRequest;
+import likelion._th.ganzithon.util.GridIndex;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 경로 주변 버퍼(corridor) 안의 셀과 거리 가중치
+// - 좌표 사이 선분마다 버퍼만큼 넓힌 사각형 안의 셀을 보고, 선분까지 거리가 버퍼 이내인 셀만 포함
+// - 셀 거리 = 셀 중심 ~ 선분 거리 - 셀 반폭 (좌표가 들어 있는 셀은 0)
+// - 가중치는 거리 0 에서 1, 버퍼 끝에서 edgeWeight 까지 선형 감소
+// - 같은 셀은 한 번만 (여러 선분에 걸치면 가장 큰 가중치)
+public class RouteCorridor {
+
+    private final String[] cellIds;
+    private final double[] weights;
+
+    private RouteCorridor(String[] cellIds, double[] weights) {
+        this.cellIds = cellIds;
+        this.weights = weights;
+    }
+
+    // coordinates[from, to) 구간의 corridor (마지막 좌표에서 다음 좌표로 가는 선분까지 포함)
+    public static RouteCorridor build(List<ReportRequest.Coordinate> coordinates, int from, int to,
+                                      double bufferMeters, double edgeWeight) {
+        Map<Long, Double> weightByKey = new LinkedHashMap<>();
+        int end = Math.min(to, coordinates.size());
+        for (int i = from; i < end; i++) {
+            int next = i + 1 < coordinates.size() ? i + 1 : i;
+            addSegment(weightByKey,
+                    CoordinateBuffer.latOf(coordinates, i), CoordinateBuffer.lngOf(coordinates, i),
+                    CoordinateBuffer.latOf(coordinates, next), CoordinateBuffer.lngOf(coordinates, next),
+                    bufferMeters, edgeWeight);
+        }
+
+        String[] cellIds = new String[weightByKey.size()];
+        double[] weights = new double[weightByKey.size()];
+        int i = 0;
+        for (Map.Entry<Long, Double> entry : weightByKey.entrySet()) {
+            long key = entry.getKey();
+            cellIds[i] = GridIndex.cellId(key >> 32, (int) key);
+            weights[i] = entry.getValue();
+            i++;
+        }
+        return new RouteCorridor(cellIds, weights);
+    }
+
+    private static void addSegment(Map<Long, Double> weightByKey,
+                                   double aLat, double aLng, double bLat, double bLng,
+                                   double bufferMeters, double edgeWeight) {
+        // 선분 시작점 위도 기준 평면 근사 (선분 길이가 짧아 오차 무시)
+        double metersPerLat = GridIndex.METERS_PER_DEGREE;
+        double metersPerLng = GridIndex.metersPerDegreeLng(aLat);
+        double halfCell = GridIndex.GRID_SIZE * Math.min(metersPerLat, metersPerLng) / 2;
+
+        double dLat = bufferMeters / metersPerLat;
+        double dLng = bufferMeters / metersPerLng;
+        long minLatIdx = GridIndex.latIndex(Math.min(aLat, bLat) - dLat);
+        long maxLatIdx = GridIndex.latIndex(Math.max(aLat, bLat) + dLat);
+        long minLngIdx = GridIndex.lngIndex(Math.min(aLng, bLng) - dLng);
+        long maxLngIdx = GridIndex.lngIndex(Math.max(aLng, bLng) + dLng);
+
+        // a 기준 미터 좌표
+        double bx = (bLng - aLng) * metersPerLng;
+        double by = (bLat - aLat) * metersPerLat;
+        double lengthSquared = bx * bx + by * by;
+
+        for (long latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+            double cy = ((latIdx + 0.5) * GridIndex.GRID_SIZE - aLat) * metersPerLat;
+            for (long lngIdx = minLngIdx; lngIdx <= maxLngIdx; lngIdx++) {
+                double cx = ((lngIdx + 0.5) * GridIndex.GRID_SIZE - aLng) * metersPerLng;
+                double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, (cx * bx + cy * by) / lengthSquared));
+                double dx = cx - t * bx;
+                double dy = cy - t * by;
+                double distance = Math.max(0, Math.sqrt(dx * dx + dy * dy) - halfCell);
+                if (distance > bufferMeters) {
+                    continue;
+                }
+                double weight = bufferMeters == 0 ? 1.0 : 1.0 - (1.0 - edgeWeight) * distance / bufferMeters;
+                weightByKey.merge(GridIndex.packKey(latIdx, lngIdx), weight, Math::max);
+            }
+        }
+
+        // 좌표가 들어 있는 셀은 항상 가중치 1
+        weightByKey.put(GridIndex.packKey(GridIndex.latIndex(aLat), GridIndex.lngIndex(aLng)), 1.0);
+        weightByKey.put(GridIndex.packKey(GridIndex.latIndex(bLat), GridIndex.lngIndex(bLng)), 1.0);
+    }
+
+    public int size() {
+        return cellIds.length;
+    }
+
+    public String cellId(int index) {
+        return cellIds[index];
+    }
+
+    public double weight(int index) {
+        return weights[index];
+    }
+
+    public String[] cellIds() {
+        return cellIds;
+    }
+}
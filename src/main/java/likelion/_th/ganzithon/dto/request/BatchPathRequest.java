@@ -0,0 +1,25 @@
+package likelion._th.ganzithon.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+// 여러 출발지/도착지 쌍 일괄 경로 분석 요청
+public class BatchPathRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid PathSearchRequest> pairs;
+
+    // AI 프리뷰 생성 여부 (기본: 규칙 기반 문구)
+    @JsonProperty("ai_preview")
+    private boolean aiPreview;
+}
@@ -1,5 +1,6 @@
 package likelion._th.ganzithon.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.*;
 
 import java.util.List;
@@ -10,11 +11,13 @@ import java.util.List;
 @AllArgsConstructor
 public class ReportRequest {
     private String routeId; // 선택한 경로 id ex) path-1
+    @JsonAlias("route_token")
+    private String routeToken; // /paths 응답의 route_token (있으면 좌표 재분석 생략)
     private String origin; // 출발지 이름
     private String destination; // 도착지 이름
     private Integer totalDistance; // 총 거리
     private Integer totalTime; // 총 시간
-    private List<Coordinate> coordinates; // 경로 좌표 목록
+    private List<Coordinate> coordinates; // 경로 좌표 목록 (routeToken 만료 시 재분석용)
 
     private Integer score;
     private String grade;
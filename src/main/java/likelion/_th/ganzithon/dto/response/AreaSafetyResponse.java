@@ -0,0 +1,74 @@
+package likelion._th.ganzithon.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+// 영역(사각형 / 반경) 안전도 집계 응답
+public class AreaSafetyResponse {
+
+    // bbox / radius
+    @JsonProperty("query")
+    private String query;
+
+    // 조회한 셀 인덱스 범위 중 서비스 지역 안 셀 개수 (데이터 유무와 무관)
+    @JsonProperty("covered_cells")
+    private int coveredCells;
+
+    // 데이터가 있는 셀 개수
+    @JsonProperty("cell_count")
+    private int cellCount;
+
+    @JsonProperty("facilities")
+    private Facilities facilities;
+
+    @JsonProperty("score")
+    private ScoreStats score;
+
+    // 요청 영역 일부가 서비스 지역(grid.bbox) 밖이라 잘라냈으면 true
+    @JsonProperty("clipped")
+    private boolean clipped;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Facilities {
+        @JsonProperty("cctv")
+        private long cctv;
+
+        @JsonProperty("light")
+        private long light;
+
+        @JsonProperty("store")
+        private long store;
+
+        @JsonProperty("police")
+        private long police;
+
+        @JsonProperty("school")
+        private long school;
+    }
+
+    // 셀 cptedScore 통계 (데이터가 있는 셀 기준, 없으면 null)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScoreStats {
+        @JsonProperty("min")
+        private Double min;
+
+        @JsonProperty("max")
+        private Double max;
+
+        @JsonProperty("avg")
+        private Double avg;
+    }
+}
@@ -0,0 +1,36 @@
+package likelion._th.ganzithon.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+// 일괄 경로 분석 결과 1건 (NDJSON 한 줄)
+public class BatchPathResult {
+    // 요청 pairs 의 순번 (0부터, 완료 순서대로 전송되므로 순번으로 매칭)
+    private int index;
+    // ok / error
+    private String status;
+    private String message;
+    private List<PathInfo> paths;
+
+    public static BatchPathResult ok(int index, List<PathInfo> paths) {
+        return BatchPathResult.builder()
+                .index(index)
+                .status("ok")
+                .paths(paths)
+                .build();
+    }
+
+    public static BatchPathResult error(int index, String message) {
+        return BatchPathResult.builder()
+                .index(index)
+                .status("error")
+                .message(message)
+                .build();
+    }
+}
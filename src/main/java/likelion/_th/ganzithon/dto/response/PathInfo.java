@@ -36,4 +36,7 @@ public class PathInfo {
     // 추천 경로 여부
     @JsonProperty("is_recommended")
     private boolean isRecommended;
+    // 분석 결과 토큰 (/report 요청 시 좌표 대신 전달)
+    @JsonProperty("route_token")
+    private String routeToken;
 }
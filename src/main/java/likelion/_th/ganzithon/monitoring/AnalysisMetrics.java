@@ -0,0 +1,205 @@
+package likelion._th.ganzithon.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Component
+// 분석 파이프라인 단계별 지표 (actuator /prometheus 로 노출)
+// - analysis.stage{stage, outcome}: 단계별 소요 시간 히스토그램 (outcome: success / error / cancelled)
+// - analysis.cells{result}: 셀 조회 요청/성공/미존재 개수
+// - analysis.fallback{type}: 폴백 발생 횟수
+// - analysis.cancelled{work}: 중간에 취소된 작업 수 (클라이언트 이탈 / 타임아웃)
+// - analysis.executor.*{executor}: executor 큐 길이 / 활성 스레드 / 풀 크기 / 포화 시 호출 스레드 실행 횟수
+public class AnalysisMetrics {
+
+    public enum Stage {
+        SEARCH("search"),           // /paths 전체
+        SEARCH_REFRESH("search_refresh"), // /paths 응답 캐시 백그라운드 재계산 (요청 지연 분포와 분리)
+        TMAP("tmap"),               // Tmap 경로 API 1회 호출
+        LOCAL_ROUTE("local_route"), // 로컬 보행자 그래프 후보 경로 탐색 (3개 프로필 전체)
+        CELL_FETCH("cell_fetch"),   // Firestore 셀 batch 조회
+        CPTED("cpted"),             // CPTED 분석 (셀 조회 + 점수 계산)
+        RECOMMEND("recommend"),     // AI 추천 경로 선택
+        PREVIEW("preview"),         // AI 경로 프리뷰 1건
+        REPORT_LLM("report_llm"),   // AI 상세 리포트 코멘트
+        REPORT("report");           // /report 전체
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // 단계 결과 (요청 전체 단계는 실패 / 취소도 기록)
+    public enum Outcome {
+        SUCCESS("success"),
+        ERROR("error"),
+        CANCELLED("cancelled");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        // 태그 값 그대로 (JFR 이벤트 필드용)
+        public String tag() {
+            return tag;
+        }
+
+        public static Outcome of(Throwable error) {
+            return error instanceof InterruptedException || error instanceof CancellationException
+                    ? CANCELLED
+                    : ERROR;
+        }
+    }
+
+    public enum Fallback {
+        CPTED("cpted"),             // CPTED 분석 실패 → 0점 분석
+        PREVIEW("preview"),         // AI 프리뷰 실패/지연 → 기본 문구
+        RECOMMEND("recommend"),     // AI 추천 실패 → CPTED 최고점
+        CELL_BATCH("cell_batch");   // 셀 배치 조회 실패 → 해당 배치 누락
+
+        private final String tag;
+
+        Fallback(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Cancellation {
+        REQUEST("request"),         // 클라이언트 연결 종료 / 요청 타임아웃
+        TMAP("tmap"),               // 진행 중이던 Tmap 호출
+        CELL_BATCH("cell_batch"),   // 진행 중이던 Firestore 배치 RPC
+        UPSTAGE("upstage");         // 진행 중이던 Upstage 호출 (프리뷰 타임아웃 포함)
+
+        private final String tag;
+
+        Cancellation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Fallback, Counter> fallbackCounters = new EnumMap<>(Fallback.class);
+    private final Map<Cancellation, Counter> cancellationCounters = new EnumMap<>(Cancellation.class);
+    private final Counter cellsRequested;
+    private final Counter cellsFound;
+    private final Counter cellsMissing;
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, stageTimer(stage, Outcome.SUCCESS));
+        }
+
+        for (Fallback fallback : Fallback.values()) {
+            fallbackCounters.put(fallback, Counter.builder("analysis.fallback")
+                    .description("폴백 발생 횟수")
+                    .tag("type", fallback.tag)
+                    .register(registry));
+        }
+
+        for (Cancellation cancellation : Cancellation.values()) {
+            cancellationCounters.put(cancellation, Counter.builder("analysis.cancelled")
+                    .description("중간에 취소된 작업 수")
+                    .tag("work", cancellation.tag)
+                    .register(registry));
+        }
+
+        this.cellsRequested = cellCounter("requested");
+        this.cellsFound = cellCounter("found");
+        this.cellsMissing = cellCounter("missing");
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    // 소요 시간(ns) 반환
+    public long stop(Timer.Sample sample, Stage stage) {
+        return sample.stop(stageTimers.get(stage));
+    }
+
+    // 실패 / 취소 timer 는 처음 기록할 때 등록 (레지스트리가 같은 timer 를 돌려줌)
+    public long stop(Timer.Sample sample, Stage stage, Outcome outcome) {
+        return sample.stop(outcome == Outcome.SUCCESS ? stageTimers.get(stage) : stageTimer(stage, outcome));
+    }
+
+    private Timer stageTimer(Stage stage, Outcome outcome) {
+        return Timer.builder("analysis.stage")
+                .description("분석 파이프라인 단계별 소요 시간")
+                .tag("stage", stage.tag)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    public void recordCells(int requested, int found) {
+        cellsRequested.increment(requested);
+        cellsFound.increment(found);
+        cellsMissing.increment(Math.max(0, requested - found));
+    }
+
+    public void fallback(Fallback fallback) {
+        fallbackCounters.get(fallback).increment();
+    }
+
+    public void cancelled(Cancellation cancellation) {
+        cancelled(cancellation, 1);
+    }
+
+    public void cancelled(Cancellation cancellation, int count) {
+        cancellationCounters.get(cancellation).increment(count);
+    }
+
+    // executor 큐 길이 / 활성 스레드 gauge 등록
+    public void monitorExecutor(String name, ThreadPoolTaskExecutor executor) {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        Gauge.builder("analysis.executor.queue.depth", pool, p -> p.getQueue().size())
+                .description("executor 대기 작업 수")
+                .tag("executor", name)
+                .register(registry);
+        Gauge.builder("analysis.executor.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("executor 실행 중 스레드 수")
+                .tag("executor", name)
+                .register(registry);
+        Gauge.builder("analysis.executor.pool.size", pool, ThreadPoolExecutor::getPoolSize)
+                .description("executor 현재 스레드 수")
+                .tag("executor", name)
+                .register(registry);
+    }
+
+    // 큐 포화로 호출 스레드에서 직접 실행한 횟수
+    public void executorCallerRuns(String name) {
+        Counter.builder("analysis.executor.caller_runs")
+                .description("executor 포화로 호출 스레드에서 실행한 작업 수")
+                .tag("executor", name)
+                .register(registry)
+                .increment();
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    private Counter cellCounter(String result) {
+        return Counter.builder("analysis.cells")
+                .description("셀 조회 개수")
+                .tag("result", result)
+                .register(registry);
+    }
+}
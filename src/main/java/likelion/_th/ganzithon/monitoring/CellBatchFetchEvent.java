@@ -0,0 +1,31 @@
+package likelion._th.ganzithon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("likelion.ganzithon.CellBatchFetch")
+@Label("Cell Batch Fetch")
+@Category({"Ganzithon", "Firestore"})
+@Description("Firestore 셀 batch 조회 (FirebaseClient.getCellDataBatch)")
+@StackTrace(false)
+public class CellBatchFetchEvent extends Event {
+
+    @Label("Batch Size")
+    @Description("요청한 셀 수")
+    public int batchSize;
+
+    @Label("Found")
+    @Description("존재해서 읽어온 셀 수")
+    public int foundCount;
+
+    @Label("Sub Batches")
+    public int subBatchCount;
+
+    @Label("Outcome")
+    @Description("success / error / cancelled")
+    public String outcome;
+}
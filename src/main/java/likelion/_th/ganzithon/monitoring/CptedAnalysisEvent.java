@@ -0,0 +1,32 @@
+package likelion._th.ganzithon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("likelion.ganzithon.CptedAnalysis")
+@Label("CPTED Analysis")
+@Category({"Ganzithon", "Analysis"})
+@Description("경로 CPTED 분석 (셀 조회 + 점수 계산)")
+@StackTrace(false)
+public class CptedAnalysisEvent extends Event {
+
+    @Label("Routes")
+    public int routeCount;
+
+    @Label("Points")
+    public int pointCount;
+
+    @Label("Cells Requested")
+    public int cellCount;
+
+    @Label("Cells Found")
+    public int foundCellCount;
+
+    @Label("Outcome")
+    @Description("success / error / cancelled")
+    public String outcome;
+}
@@ -0,0 +1,95 @@
+package likelion._th.ganzithon.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+// 운영 중 JFR 녹화 시작/중지/덤프 (한 번에 하나의 녹화만 관리)
+public class JfrRecordingService {
+
+    // 애플리케이션 커스텀 이벤트 (항상 활성화)
+    private static final List<Class<? extends jdk.jfr.Event>> APP_EVENTS = List.of(
+            TmapRouteEvent.class,
+            CellBatchFetchEvent.class,
+            UpstageCallEvent.class,
+            CptedAnalysisEvent.class
+    );
+
+    private Recording recording;
+
+    // settings: JDK 기본 설정 이름 ("default" 저부하, "profile" 상세)
+    public synchronized Map<String, Object> start(String settings, Duration maxAge, long maxSizeBytes)
+            throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("이미 진행 중인 JFR 녹화가 있습니다.");
+        }
+        closeQuietly();
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName("ganzithon-admin");
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge);
+        newRecording.setMaxSize(maxSizeBytes);
+        for (Class<? extends jdk.jfr.Event> eventClass : APP_EVENTS) {
+            newRecording.enable(eventClass);
+        }
+        newRecording.start();
+        recording = newRecording;
+
+        log.info("[JFR] 녹화 시작: settings={}, maxAge={}, maxSize={}B", settings, maxAge, maxSizeBytes);
+        return status();
+    }
+
+    public synchronized Map<String, Object> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("진행 중인 JFR 녹화가 없습니다.");
+        }
+        recording.stop();
+        log.info("[JFR] 녹화 중지");
+        return status();
+    }
+
+    // 녹화 내용을 임시 파일로 덤프 (진행 중이면 현재까지의 스냅샷)
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("덤프할 JFR 녹화가 없습니다.");
+        }
+        Path file = Files.createTempFile("ganzithon-", ".jfr");
+        recording.dump(file);
+        log.info("[JFR] 덤프 생성: {} ({}B)", file, Files.size(file));
+        return file;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    private void closeQuietly() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
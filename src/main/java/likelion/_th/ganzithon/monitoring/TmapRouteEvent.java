@@ -0,0 +1,29 @@
+package likelion._th.ganzithon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("likelion.ganzithon.TmapRoute")
+@Label("Tmap Route Call")
+@Category({"Ganzithon", "External"})
+@Description("Tmap 도보 경로 API 1회 호출")
+@StackTrace(false)
+public class TmapRouteEvent extends Event {
+
+    @Label("Waypoints")
+    public int waypointCount;
+
+    @Label("Points")
+    @Description("응답에서 읽은 LineString 좌표 수")
+    public int pointCount;
+
+    @Label("Distance (m)")
+    public int distance;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,30 @@
+package likelion._th.ganzithon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("likelion.ganzithon.UpstageCall")
+@Label("Upstage Chat Completion")
+@Category({"Ganzithon", "External"})
+@Description("Upstage LLM 호출 1회 (UpstageAiClient.generateText)")
+@StackTrace(false)
+public class UpstageCallEvent extends Event {
+
+    @Label("Model")
+    public String model;
+
+    @Label("Prompt Length")
+    @Description("프롬프트 문자 수")
+    public int promptLength;
+
+    @Label("Response Length")
+    @Description("응답 본문 문자 수")
+    public int responseLength;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,211 @@
+package likelion._th.ganzithon.routing;
+
+import io.micrometer.core.instrument.Timer;
+import likelion._th.ganzithon.client.TmapsClient;
+import likelion._th.ganzithon.domain.CoordinateBuffer;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.service.CellGridService;
+import likelion._th.ganzithon.store.CellGrid;
+import likelion._th.ganzithon.util.GridIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@Slf4j
+// 로컬 보행자 그래프 기반 후보 경로 (routing.enabled=true 일 때 Tmap 대신 사용)
+// - 빠른 / 균형 / 안전 3개 프로필을 A* 로 탐색 (간선 비용에 CPTED 점수 반영, SafetyWeightedRouter)
+// - 간선 위험도는 메모리 그리드(CellGridService)가 바뀔 때마다 간선 중점 셀 점수로 다시 계산
+// - 프로필끼리 같은 경로가 나오면 이미 쓴 노드에 penalty 를 준 대안 경로로 채움
+// - 출발/도착지가 그래프에서 멀거나 경로가 없으면 빈 목록 → 호출 측이 Tmap 으로 폴백
+public class LocalRouteService {
+
+    // cptedScore 최대값 (RouteAnalysisData.cptedAvg 0.0 ~ 5.0)
+    private static final double MAX_CPTED_SCORE = 5.0;
+
+    private final AnalysisMetrics metrics;
+    private final double maxSnapMeters;
+    private final int maxSettledNodes;
+    private final double walkSpeedMps;
+    private final double balancedWeight;
+    private final double safestWeight;
+    private final double alternativePenalty;
+
+    private final PedestrianGraph graph;
+    private final SafetyWeightedRouter router;
+    // 간선별 위험도 (그리드 교체 시 배열째 교체)
+    private volatile float[] edgeRisk;
+
+    public LocalRouteService(
+            CellGridService gridService,
+            AnalysisMetrics metrics,
+            @Value("${routing.enabled:false}") boolean enabled,
+            @Value("${routing.graph-file:}") String graphFile,
+            @Value("${routing.max-snap-meters:150}") double maxSnapMeters,
+            @Value("${routing.max-settled-nodes:200000}") int maxSettledNodes,
+            @Value("${routing.walk-speed-mps:1.2}") double walkSpeedMps,
+            @Value("${routing.safety-weight.balanced:1.0}") double balancedWeight,
+            @Value("${routing.safety-weight.safest:3.0}") double safestWeight,
+            @Value("${routing.alternative-penalty:1.5}") double alternativePenalty
+    ) {
+        this.metrics = metrics;
+        this.maxSnapMeters = maxSnapMeters;
+        this.maxSettledNodes = maxSettledNodes;
+        this.walkSpeedMps = walkSpeedMps;
+        this.balancedWeight = balancedWeight;
+        this.safestWeight = safestWeight;
+        this.alternativePenalty = alternativePenalty;
+
+        PedestrianGraph loaded = null;
+        if (enabled && !graphFile.isBlank()) {
+            try {
+                loaded = PedestrianGraph.load(Path.of(graphFile));
+            } catch (Exception e) {
+                log.warn("[ROUTING] 보행자 그래프 로드 실패, Tmap 후보 경로만 사용: {}", e.getMessage());
+            }
+        } else if (enabled) {
+            log.warn("[ROUTING] routing.graph-file 미설정, Tmap 후보 경로만 사용");
+        }
+        this.graph = loaded;
+        this.router = loaded != null ? new SafetyWeightedRouter(loaded) : null;
+
+        if (loaded != null) {
+            PedestrianGraph g = loaded;
+            this.edgeRisk = computeEdgeRisk(g, gridService.current());
+            gridService.addListener(grid -> edgeRisk = computeEdgeRisk(g, grid));
+        }
+    }
+
+    public boolean available() {
+        return graph != null;
+    }
+
+    // 빠른 / 균형 / 안전 후보 경로 (Tmap 경로와 같은 형식), 찾지 못하면 빈 목록
+    public List<TmapsClient.TmapRoute> findRoutes(Double startLat, Double startLng,
+                                                  Double endLat, Double endLng,
+                                                  Double waypointLat, Double waypointLng) {
+        if (graph == null) {
+            return List.of();
+        }
+
+        List<double[]> stops = new ArrayList<>(3);
+        stops.add(new double[]{startLat, startLng});
+        if (waypointLat != null && waypointLng != null && waypointLat != 0.0 && waypointLng != 0.0) {
+            stops.add(new double[]{waypointLat, waypointLng});
+        }
+        stops.add(new double[]{endLat, endLng});
+
+        int[] stopNodes = new int[stops.size()];
+        for (int i = 0; i < stopNodes.length; i++) {
+            stopNodes[i] = graph.nearestNode(stops.get(i)[0], stops.get(i)[1], maxSnapMeters);
+            if (stopNodes[i] < 0) {
+                log.info("[ROUTING] 그래프 근처가 아님 ({},{}), Tmap 사용", stops.get(i)[0], stops.get(i)[1]);
+                return List.of();
+            }
+        }
+
+        Timer.Sample sample = metrics.startTimer();
+        float[] risk = edgeRisk;
+        List<int[]> found = new ArrayList<>(3);
+        List<Double> lengths = new ArrayList<>(3);
+
+        for (double weight : new double[]{0.0, balancedWeight, safestWeight}) {
+            addIfNew(found, lengths, searchLegs(stopNodes, risk, weight, null));
+        }
+
+        // 프로필이 같은 경로로 모이면 이미 쓴 노드를 피하는 대안 경로 (최대 2회)
+        for (int attempt = 0; found.size() < 3 && !found.isEmpty() && attempt < 2; attempt++) {
+            boolean[] used = new boolean[graph.nodeCount()];
+            for (int[] nodes : found) {
+                for (int node : nodes) {
+                    used[node] = true;
+                }
+            }
+            addIfNew(found, lengths, searchLegs(stopNodes, risk, balancedWeight, used));
+        }
+        metrics.stop(sample, AnalysisMetrics.Stage.LOCAL_ROUTE);
+
+        List<TmapsClient.TmapRoute> routes = new ArrayList<>(found.size());
+        for (int i = 0; i < found.size(); i++) {
+            routes.add(toRoute(found.get(i), lengths.get(i), stops));
+        }
+        log.info("[ROUTING] 로컬 후보 경로 {} 개", routes.size());
+        return routes;
+    }
+
+    // 출발 → (경유지) → 도착 구간별 탐색 후 이어붙임, 한 구간이라도 실패하면 null
+    private SafetyWeightedRouter.RoutePath searchLegs(int[] stopNodes, float[] risk, double weight, boolean[] penalized) {
+        int[] nodes = new int[]{stopNodes[0]};
+        double length = 0;
+        for (int i = 0; i + 1 < stopNodes.length; i++) {
+            SafetyWeightedRouter.RoutePath leg = router.search(
+                    stopNodes[i], stopNodes[i + 1], risk, weight, penalized, alternativePenalty, maxSettledNodes);
+            if (leg == null) {
+                return null;
+            }
+            // 구간 시작 노드는 앞 구간 마지막 노드와 같으므로 제외
+            int offset = nodes.length;
+            nodes = Arrays.copyOf(nodes, offset + leg.nodes.length - 1);
+            System.arraycopy(leg.nodes, 1, nodes, offset, leg.nodes.length - 1);
+            length += leg.lengthMeters;
+        }
+        return new SafetyWeightedRouter.RoutePath(nodes, length);
+    }
+
+    private static void addIfNew(List<int[]> found, List<Double> lengths, SafetyWeightedRouter.RoutePath path) {
+        if (path == null) {
+            return;
+        }
+        for (int[] nodes : found) {
+            if (Arrays.equals(nodes, path.nodes)) {
+                return;
+            }
+        }
+        found.add(path.nodes);
+        lengths.add(path.lengthMeters);
+    }
+
+    // 실제 출발/도착 좌표를 양끝에 붙인 Tmap 경로 형식
+    private TmapsClient.TmapRoute toRoute(int[] nodes, double lengthMeters, List<double[]> stops) {
+        double[] start = stops.get(0);
+        double[] end = stops.get(stops.size() - 1);
+        CoordinateBuffer coordinates = new CoordinateBuffer(nodes.length + 2);
+        coordinates.add(start[0], start[1]);
+        for (int node : nodes) {
+            coordinates.add(graph.lat(node), graph.lng(node));
+        }
+        coordinates.add(end[0], end[1]);
+
+        double total = lengthMeters
+                + PedestrianGraph.distanceMeters(start[0], start[1], graph.lat(nodes[0]), graph.lng(nodes[0]))
+                + PedestrianGraph.distanceMeters(end[0], end[1],
+                graph.lat(nodes[nodes.length - 1]), graph.lng(nodes[nodes.length - 1]));
+        int distance = (int) Math.round(total);
+        return TmapsClient.TmapRoute.builder()
+                .distance(distance)
+                .duration((int) Math.round(distance / walkSpeedMps))
+                .coordinates(coordinates)
+                .encodedPolyline(coordinates)
+                .build();
+    }
+
+    // 간선 중점 셀 점수 → 위험도 (셀 데이터 없음 = 1)
+    private static float[] computeEdgeRisk(PedestrianGraph graph, CellGrid grid) {
+        float[] risk = new float[graph.edgeCount()];
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int target = graph.edgeTarget(edge);
+                double midLat = (graph.lat(node) + graph.lat(target)) / 2;
+                double midLng = (graph.lng(node) + graph.lng(target)) / 2;
+                double score = grid.score(GridIndex.latIndex(midLat), GridIndex.lngIndex(midLng), 0.0);
+                risk[edge] = (float) (1.0 - Math.max(0.0, Math.min(score / MAX_CPTED_SCORE, 1.0)));
+            }
+        }
+        return risk;
+    }
+}
@@ -0,0 +1,227 @@
+package likelion._th.ganzithon.routing;
+
+import likelion._th.ganzithon.util.GridIndex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// 보행자 도로 그래프 (읽기 전용, 양방향 간선)
+// - 노드 좌표 / 간선을 CSR(offsets + targets) primitive 배열로 보관
+// - 가까운 노드 찾기는 GridIndex 셀(200m) 단위 버킷
+//
+// 파일 형식 (UTF-8 텍스트, 한 줄에 하나, '#' 주석)
+//   n,<노드 id>,<위도>,<경도>
+//   e,<노드 id>,<노드 id>[,<길이(m)>]     (길이 생략 시 두 노드 직선 거리, 직선 거리보다 짧으면 직선 거리로 올림)
+@Slf4j
+public final class PedestrianGraph {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+    private final double[] lats;
+    private final double[] lngs;
+    // 노드 i 의 간선은 edgeTargets[edgeOffsets[i] .. edgeOffsets[i + 1])
+    private final int[] edgeOffsets;
+    private final int[] edgeTargets;
+    private final float[] edgeLengths;
+    // GridIndex.packKey(셀) → 셀 안 노드 번호
+    private final Map<Long, int[]> nodesByCell;
+
+    private PedestrianGraph(double[] lats, double[] lngs, int[] edgeOffsets,
+                            int[] edgeTargets, float[] edgeLengths) {
+        this.lats = lats;
+        this.lngs = lngs;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeLengths = edgeLengths;
+        this.nodesByCell = indexNodes(lats, lngs);
+    }
+
+    public static PedestrianGraph load(Path path) throws IOException {
+        Map<Long, Integer> nodeById = new HashMap<>();
+        double[] lats = new double[1024];
+        double[] lngs = new double[1024];
+        int nodeCount = 0;
+        // 간선 (from, to, 길이) 임시 목록, 양방향으로 2번 기록
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        float[] length = new float[1024];
+        int edgeCount = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                try {
+                    if (parts[0].equals("n") && parts.length == 4) {
+                        if (nodeCount == lats.length) {
+                            lats = Arrays.copyOf(lats, nodeCount * 2);
+                            lngs = Arrays.copyOf(lngs, nodeCount * 2);
+                        }
+                        if (nodeById.putIfAbsent(Long.parseLong(parts[1].trim()), nodeCount) != null) {
+                            throw new IllegalArgumentException("중복 노드 id");
+                        }
+                        lats[nodeCount] = Double.parseDouble(parts[2].trim());
+                        lngs[nodeCount] = Double.parseDouble(parts[3].trim());
+                        nodeCount++;
+                    } else if (parts[0].equals("e") && (parts.length == 3 || parts.length == 4)) {
+                        Integer a = nodeById.get(Long.parseLong(parts[1].trim()));
+                        Integer b = nodeById.get(Long.parseLong(parts[2].trim()));
+                        if (a == null || b == null) {
+                            throw new IllegalArgumentException("간선보다 먼저 노드가 나와야 합니다");
+                        }
+                        // A* 휴리스틱(직선 거리)이 과대 추정이 되지 않도록 간선 길이는 직선 거리 이상
+                        double straight = distanceMeters(lats[a], lngs[a], lats[b], lngs[b]);
+                        float meters = roundUp(straight);
+                        if (parts.length == 4) {
+                            float given = Float.parseFloat(parts[3].trim());
+                            if (!(given >= 0) || Float.isInfinite(given)) {
+                                throw new IllegalArgumentException("간선 길이가 올바르지 않습니다");
+                            }
+                            meters = Math.max(given, meters);
+                        }
+                        if (edgeCount + 2 > from.length) {
+                            from = Arrays.copyOf(from, from.length * 2);
+                            to = Arrays.copyOf(to, to.length * 2);
+                            length = Arrays.copyOf(length, length.length * 2);
+                        }
+                        from[edgeCount] = a;
+                        to[edgeCount] = b;
+                        length[edgeCount++] = meters;
+                        from[edgeCount] = b;
+                        to[edgeCount] = a;
+                        length[edgeCount++] = meters;
+                    } else {
+                        throw new IllegalArgumentException("알 수 없는 형식");
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(path + ":" + lineNo + " " + e.getMessage() + ": " + line, e);
+                }
+            }
+        }
+
+        // CSR 변환 (노드별 간선 개수 → offsets → 채우기)
+        int[] offsets = new int[nodeCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[from[i] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        int[] targets = new int[edgeCount];
+        float[] lengths = new float[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int slot = cursor[from[i]]++;
+            targets[slot] = to[i];
+            lengths[slot] = length[i];
+        }
+
+        PedestrianGraph graph = new PedestrianGraph(
+                Arrays.copyOf(lats, nodeCount), Arrays.copyOf(lngs, nodeCount), offsets, targets, lengths);
+        log.info("[ROUTING] 보행자 그래프 로드: 노드 {} 개, 간선 {} 개 ({})", nodeCount, edgeCount / 2, path);
+        return graph;
+    }
+
+    // float 변환으로 직선 거리보다 작아지지 않도록 올림
+    private static float roundUp(double meters) {
+        float value = (float) meters;
+        return value < meters ? Math.nextUp(value) : value;
+    }
+
+    private static Map<Long, int[]> indexNodes(double[] lats, double[] lngs) {
+        Map<Long, int[]> buckets = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (int i = 0; i < lats.length; i++) {
+            long key = GridIndex.packKey(GridIndex.latIndex(lats[i]), GridIndex.lngIndex(lngs[i]));
+            int size = sizes.merge(key, 1, Integer::sum);
+            int[] bucket = buckets.get(key);
+            if (bucket == null || bucket.length < size) {
+                bucket = bucket == null ? new int[4] : Arrays.copyOf(bucket, bucket.length * 2);
+                buckets.put(key, bucket);
+            }
+            bucket[size - 1] = i;
+        }
+        buckets.replaceAll((key, bucket) -> Arrays.copyOf(bucket, sizes.get(key)));
+        return buckets;
+    }
+
+    // maxMeters 안에서 가장 가까운 노드, 없으면 -1 (셀 크기보다 먼 노드는 찾지 않음)
+    public int nearestNode(double lat, double lng, double maxMeters) {
+        long latIdx = GridIndex.latIndex(lat);
+        long lngIdx = GridIndex.lngIndex(lng);
+        int best = -1;
+        double bestMeters = maxMeters;
+        for (long dLat = -1; dLat <= 1; dLat++) {
+            for (long dLng = -1; dLng <= 1; dLng++) {
+                int[] bucket = nodesByCell.get(GridIndex.packKey(latIdx + dLat, lngIdx + dLng));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int node : bucket) {
+                    double meters = distanceMeters(lat, lng, lats[node], lngs[node]);
+                    if (meters <= bestMeters) {
+                        bestMeters = meters;
+                        best = node;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    public int nodeCount() {
+        return lats.length;
+    }
+
+    public int edgeCount() {
+        return edgeTargets.length;
+    }
+
+    public double lat(int node) {
+        return lats[node];
+    }
+
+    public double lng(int node) {
+        return lngs[node];
+    }
+
+    public int firstEdge(int node) {
+        return edgeOffsets[node];
+    }
+
+    // 마지막 간선 다음 번호 (exclusive)
+    public int endEdge(int node) {
+        return edgeOffsets[node + 1];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    public float edgeLength(int edge) {
+        return edgeLengths[edge];
+    }
+
+    // 하버사인 거리 (m)
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,216 @@
+package likelion._th.ganzithon.routing;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+
+// 보행자 그래프 A* 탐색
+// - 간선 비용 = 길이 x (1 + safetyWeight x 간선 위험도) x (이미 쓴 노드로 들어가면 penalty)
+// - 위험도는 0(최고 CPTED 점수) ~ 1(점수 없음), safetyWeight = 0 이면 최단 거리
+// - 휴리스틱은 목적지까지 직선 거리 (비용 배수가 1 이상이라 과대 추정 없음)
+// - 탐색 상태 배열은 CPU 수만큼 풀에 보관해서 재사용 (스탬프로 초기화 생략)
+//   풀이 비면 새로 만들고, 반납할 때 풀이 가득 차 있으면 버림 → 보관하는 상태는 최대 CPU 수만큼
+final class SafetyWeightedRouter {
+
+    // 이 개수만큼 노드를 꺼낼 때마다 interrupt 확인 (요청 취소 시 탐색 중단)
+    private static final int INTERRUPT_CHECK_MASK = 4096 - 1;
+
+    private final PedestrianGraph graph;
+    private final BlockingQueue<SearchState> states;
+
+    SafetyWeightedRouter(PedestrianGraph graph) {
+        this.graph = graph;
+        this.states = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    }
+
+    // 경로 없음 / 탐색 한도 초과 시 null
+    // penalizedNodes: 대안 경로용 (null 이면 penalty 없음)
+    RoutePath search(int source, int target, float[] edgeRisk, double safetyWeight,
+                boolean[] penalizedNodes, double penalty, int maxSettled) {
+        SearchState state = states.poll();
+        if (state == null) {
+            state = new SearchState(graph.nodeCount());
+        }
+        try {
+            return search(state, source, target, edgeRisk, safetyWeight, penalizedNodes, penalty, maxSettled);
+        } finally {
+            states.offer(state);
+        }
+    }
+
+    private RoutePath search(SearchState state, int source, int target, float[] edgeRisk, double safetyWeight,
+                             boolean[] penalizedNodes, double penalty, int maxSettled) {
+        int stamp = state.nextStamp();
+        double targetLat = graph.lat(target);
+        double targetLng = graph.lng(target);
+
+        state.open(source, stamp, 0.0, -1, -1);
+        state.heap.push(heuristic(source, targetLat, targetLng), source);
+
+        int settled = 0;
+        while (!state.heap.isEmpty()) {
+            int node = state.heap.pop();
+            if (state.closedStamp[node] == stamp) {
+                continue;
+            }
+            state.closedStamp[node] = stamp;
+            if (node == target) {
+                return state.toPath(graph, source, target);
+            }
+            if (++settled > maxSettled) {
+                return null;
+            }
+            if ((settled & INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("경로 탐색 취소");
+            }
+
+            double g = state.g[node];
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.edgeTarget(edge);
+                if (state.closedStamp[next] == stamp) {
+                    continue;
+                }
+                double cost = graph.edgeLength(edge) * (1.0 + safetyWeight * edgeRisk[edge]);
+                if (penalizedNodes != null && penalizedNodes[next] && next != target) {
+                    cost *= penalty;
+                }
+                double candidate = g + cost;
+                if (state.openStamp[next] != stamp || candidate < state.g[next]) {
+                    state.open(next, stamp, candidate, node, edge);
+                    state.heap.push(candidate + heuristic(next, targetLat, targetLng), next);
+                }
+            }
+        }
+        return null;
+    }
+
+    private double heuristic(int node, double targetLat, double targetLng) {
+        return PedestrianGraph.distanceMeters(graph.lat(node), graph.lng(node), targetLat, targetLng);
+    }
+
+    // 탐색 결과 (노드 순서 + 실제 길이)
+    static final class RoutePath {
+        final int[] nodes;
+        final double lengthMeters;
+
+        RoutePath(int[] nodes, double lengthMeters) {
+            this.nodes = nodes;
+            this.lengthMeters = lengthMeters;
+        }
+    }
+
+    private static final class SearchState {
+        final double[] g;
+        final int[] prevNode;
+        final int[] prevEdge;
+        final int[] openStamp;
+        final int[] closedStamp;
+        final MinHeap heap = new MinHeap();
+        int stamp;
+
+        SearchState(int nodeCount) {
+            this.g = new double[nodeCount];
+            this.prevNode = new int[nodeCount];
+            this.prevEdge = new int[nodeCount];
+            this.openStamp = new int[nodeCount];
+            this.closedStamp = new int[nodeCount];
+        }
+
+        int nextStamp() {
+            heap.clear();
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(openStamp, 0);
+                Arrays.fill(closedStamp, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+
+        void open(int node, int stamp, double cost, int from, int edge) {
+            openStamp[node] = stamp;
+            g[node] = cost;
+            prevNode[node] = from;
+            prevEdge[node] = edge;
+        }
+
+        RoutePath toPath(PedestrianGraph graph, int source, int target) {
+            int count = 1;
+            for (int node = target; node != source; node = prevNode[node]) {
+                count++;
+            }
+            int[] nodes = new int[count];
+            double length = 0;
+            int node = target;
+            for (int i = count - 1; i >= 0; i--) {
+                nodes[i] = node;
+                if (node != source) {
+                    length += graph.edgeLength(prevEdge[node]);
+                    node = prevNode[node];
+                }
+            }
+            return new RoutePath(nodes, length);
+        }
+    }
+
+    // (우선순위, 노드) 이진 힙, 같은 노드가 여러 번 들어갈 수 있음 (꺼낼 때 closed 확인)
+    private static final class MinHeap {
+        private double[] keys = new double[256];
+        private int[] values = new int[256];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void push(double key, int value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                values[i] = values[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int pop() {
+            int top = values[0];
+            double key = keys[--size];
+            int value = values[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
+            }
+            if (size > 0) {
+                keys[i] = key;
+                values[i] = value;
+            }
+            return top;
+        }
+    }
+}
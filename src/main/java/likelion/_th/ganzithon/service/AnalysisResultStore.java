@@ -0,0 +1,41 @@
+package likelion._th.ganzithon.service;
+
+import likelion._th.ganzithon.dto.RouteAnalysisData;
+import likelion._th.ganzithon.util.TtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@Slf4j
+// /paths 에서 계산한 경로 분석 결과를 잠시 보관 → /report 에서 재사용
+public class AnalysisResultStore {
+
+    private final TtlCache<String, RouteAnalysisData> results;
+
+    public AnalysisResultStore(
+            @Value("${analysis.result-store.max-size:1000}") int maxSize,
+            @Value("${analysis.result-store.ttl-seconds:1800}") long ttlSeconds
+    ) {
+        this.results = new TtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    // 분석 결과 저장 후 외부에 내려줄 불투명 토큰 반환
+    public String save(RouteAnalysisData analysis) {
+        String token = UUID.randomUUID().toString();
+        results.put(token, analysis);
+        return token;
+    }
+
+    // 토큰으로 분석 결과 조회 (없거나 만료 시 empty)
+    public Optional<RouteAnalysisData> find(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(results.get(token));
+    }
+}
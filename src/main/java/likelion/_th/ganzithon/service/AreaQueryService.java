@@ -0,0 +1,205 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import likelion._th.ganzithon.dto.response.AreaSafetyResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.store.CellGrid;
+import likelion._th.ganzithon.store.SummedAreaTable;
+import likelion._th.ganzithon.util.GridIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+// 영역 안전도 조회 (사각형 / 반경)
+// - 좌표 범위를 GRID_SIZE 셀 인덱스 범위로 바꾼 뒤 범위 안의 셀만 순회 (덮는 셀 수에 비례)
+// - 메모리 그리드에서만 집계 (요청마다 셀 저장소를 읽지 않음 → 공개 API 로 읽기 비용이 늘지 않음)
+//   서비스 지역(grid.bbox) 밖은 잘라내고, 그리드 적재 전에는 IllegalStateException
+// - 사각형 조회는 그리드 누적합 테이블로 합계 O(1) + 블록 단위 점수 min/max (셀 순회 없음)
+// - 반경 조회는 원과 겹치는 셀만 포함 (원 모양이라 범위 안 셀 순회)
+public class AreaQueryService {
+
+    private final CellGridService gridService;
+    private final long maxCells;
+    private final double maxRadiusMeters;
+    private final Counter servedQueries;
+    private final Counter notReadyQueries;
+
+    public AreaQueryService(
+            CellGridService gridService,
+            AnalysisMetrics metrics,
+            @Value("${area.max-cells:10000}") long maxCells,
+            @Value("${area.max-radius-meters:5000}") double maxRadiusMeters
+    ) {
+        this.gridService = gridService;
+        this.maxCells = maxCells;
+        this.maxRadiusMeters = maxRadiusMeters;
+        MeterRegistry registry = metrics.registry();
+        this.servedQueries = queryCounter(registry, "served");
+        this.notReadyQueries = queryCounter(registry, "not_ready");
+    }
+
+    // area.query{result}: 영역 조회 결과 (served / 그리드 적재 전 not_ready)
+    private static Counter queryCounter(MeterRegistry registry, String result) {
+        return Counter.builder("area.query")
+                .description("영역 안전도 조회 수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public AreaSafetyResponse bbox(double minLat, double minLng, double maxLat, double maxLng) {
+        checkLatLng(minLat, minLng);
+        checkLatLng(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("min 값이 max 값보다 큽니다");
+        }
+        return query("bbox",
+                GridIndex.latIndex(minLat), GridIndex.latIndex(maxLat),
+                GridIndex.lngIndex(minLng), GridIndex.lngIndex(maxLng),
+                new Aggregate(null));
+    }
+
+    public AreaSafetyResponse radius(double lat, double lng, double radiusMeters) {
+        checkLatLng(lat, lng);
+        if (!Double.isFinite(radiusMeters) || radiusMeters <= 0 || radiusMeters > maxRadiusMeters) {
+            throw new IllegalArgumentException("반경은 0 초과 " + maxRadiusMeters + "m 이하여야 합니다: " + radiusMeters);
+        }
+        long[] range = GridIndex.indexRangeAround(lat, lng, radiusMeters);
+        return query("radius", range[0], range[1], range[2], range[3],
+                new Aggregate(new Circle(lat, lng, radiusMeters)));
+    }
+
+    private AreaSafetyResponse query(String type, long minLatIdx, long maxLatIdx,
+                                     long minLngIdx, long maxLngIdx, Aggregate aggregate) {
+        long requested = (maxLatIdx - minLatIdx + 1) * (maxLngIdx - minLngIdx + 1);
+        if (requested > maxCells) {
+            throw new IllegalArgumentException("조회 영역이 너무 큽니다: 셀 " + requested + " 개 (최대 " + maxCells + ")");
+        }
+        if (!gridService.ready()) {
+            notReadyQueries.increment();
+            throw new IllegalStateException("셀 그리드 적재 전입니다");
+        }
+        servedQueries.increment();
+
+        long[] range = gridService.clip(minLatIdx, maxLatIdx, minLngIdx, maxLngIdx);
+        if (range == null) {
+            return aggregate.toResponse(type, 0, true);
+        }
+        long covered = (range[1] - range[0] + 1) * (range[3] - range[2] + 1);
+
+        CellGrid grid = gridService.current();
+        if (aggregate.circle == null) {
+            aggregate.add(grid.sum(range[0], range[1], range[2], range[3]),
+                    grid.scoreRange(range[0], range[1], range[2], range[3]));
+        } else {
+            grid.forEach(range[0], range[1], range[2], range[3], aggregate);
+        }
+        return aggregate.toResponse(type, (int) covered, covered < requested);
+    }
+
+    private static void checkLatLng(double lat, double lng) {
+        // NaN 은 범위 비교를 모두 통과하므로 따로 거름
+        if (!Double.isFinite(lat) || !Double.isFinite(lng)
+                || lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("좌표 범위를 벗어났습니다: " + lat + ", " + lng);
+        }
+    }
+
+    // 원과 셀 사각형이 겹치는지 (반경이 작아 셀 중심이 원 밖이어도 걸친 셀은 포함)
+    private static final class Circle {
+        final double lat;
+        final double lng;
+        final double radiusSquared;
+        final double metersPerDegreeLng;
+
+        Circle(double lat, double lng, double radiusMeters) {
+            this.lat = lat;
+            this.lng = lng;
+            this.radiusSquared = radiusMeters * radiusMeters;
+            this.metersPerDegreeLng = GridIndex.metersPerDegreeLng(lat);
+        }
+
+        boolean intersects(long latIdx, long lngIdx) {
+            double cellMinLat = latIdx * GridIndex.GRID_SIZE;
+            double cellMinLng = lngIdx * GridIndex.GRID_SIZE;
+            double dLat = Math.max(0, Math.max(cellMinLat - lat, lat - (cellMinLat + GridIndex.GRID_SIZE)));
+            double dLng = Math.max(0, Math.max(cellMinLng - lng, lng - (cellMinLng + GridIndex.GRID_SIZE)));
+            double dy = dLat * GridIndex.METERS_PER_DEGREE;
+            double dx = dLng * metersPerDegreeLng;
+            return dx * dx + dy * dy <= radiusSquared;
+        }
+    }
+
+    private static final class Aggregate implements CellGrid.CellVisitor {
+        private final Circle circle;
+        private int cells;
+        private long cctv;
+        private long light;
+        private long store;
+        private long police;
+        private long school;
+        private double scoreSum;
+        private double scoreMin = Double.POSITIVE_INFINITY;
+        private double scoreMax = Double.NEGATIVE_INFINITY;
+
+        Aggregate(Circle circle) {
+            this.circle = circle;
+        }
+
+        @Override
+        public void visit(long latIdx, long lngIdx, int cctv, int light, int store,
+                          int police, int school, double cptedScore) {
+            if (circle != null && !circle.intersects(latIdx, lngIdx)) {
+                return;
+            }
+            this.cells++;
+            this.cctv += cctv;
+            this.light += light;
+            this.store += store;
+            this.police += police;
+            this.school += school;
+            this.scoreSum += cptedScore;
+            this.scoreMin = Math.min(scoreMin, cptedScore);
+            this.scoreMax = Math.max(scoreMax, cptedScore);
+        }
+
+        // 사각형 합계 한 번에 반영
+        void add(SummedAreaTable.RectSum sum, double[] scoreRange) {
+            this.cells += sum.cells();
+            this.cctv += sum.cctv();
+            this.light += sum.light();
+            this.store += sum.store();
+            this.police += sum.police();
+            this.school += sum.school();
+            this.scoreSum += sum.scoreSum();
+            if (scoreRange != null) {
+                this.scoreMin = Math.min(scoreMin, scoreRange[0]);
+                this.scoreMax = Math.max(scoreMax, scoreRange[1]);
+            }
+        }
+
+        AreaSafetyResponse toResponse(String type, int covered, boolean clipped) {
+            boolean hasCells = cells > 0;
+            return AreaSafetyResponse.builder()
+                    .query(type)
+                    .coveredCells(covered)
+                    .cellCount(cells)
+                    .facilities(AreaSafetyResponse.Facilities.builder()
+                            .cctv(cctv)
+                            .light(light)
+                            .store(store)
+                            .police(police)
+                            .school(school)
+                            .build())
+                    .score(AreaSafetyResponse.ScoreStats.builder()
+                            .min(hasCells ? scoreMin : null)
+                            .max(hasCells ? scoreMax : null)
+                            .avg(hasCells ? scoreSum / cells : null)
+                            .build())
+                    .clipped(clipped)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package likelion._th.ganzithon.service;
+
+import likelion._th.ganzithon.client.TmapsClient;
+import likelion._th.ganzithon.dto.RouteAnalysisData;
+import likelion._th.ganzithon.dto.request.BatchPathRequest;
+import likelion._th.ganzithon.dto.request.PathSearchRequest;
+import likelion._th.ganzithon.dto.response.BatchPathResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@Slf4j
+// 여러 출발지/도착지 쌍 일괄 분석 (학교 단위 통학로 평가 등)
+// - chunk-size 개씩 나눠서 처리, 끝난 chunk 부터 결과 전송
+// - 후보 경로 조회(로컬 그래프 또는 Tmap)는 batchTmapExecutor 크기만큼만 병렬
+// - chunk 안 모든 후보 경로의 셀 합집합을 1회 조회하고 cptedExecutor 에서 병렬 점수 계산
+//   (chunk 사이에 겹치는 셀은 셀 캐시에서 재사용)
+// - 기본은 AI 호출 없이 규칙 기반 문구
+//   ai_preview 면 chunk 의 프리뷰를 모두 시작한 뒤 기다림, chunk 크기는 ai-preview-chunk-size 로 제한
+//   (BACKGROUND 대기열(upstage.dispatch.max-background-queue)을 넘는 프리뷰는 바로 버려지므로)
+public class BatchPathService {
+
+    private final CptedService cptedService;
+    private final PathService pathService;
+    private final ThreadPoolTaskExecutor tmapExecutor;
+    private final Executor cptedExecutor;
+    private final int chunkSize;
+    private final int aiPreviewChunkSize;
+
+    public BatchPathService(
+            CptedService cptedService,
+            PathService pathService,
+            @Qualifier("batchTmapExecutor") ThreadPoolTaskExecutor tmapExecutor,
+            @Qualifier("cptedExecutor") Executor cptedExecutor,
+            @Value("${analysis.batch.chunk-size:20}") int chunkSize,
+            @Value("${analysis.batch.ai-preview-chunk-size:3}") int aiPreviewChunkSize
+    ) {
+        this.cptedService = cptedService;
+        this.pathService = pathService;
+        this.tmapExecutor = tmapExecutor;
+        this.cptedExecutor = cptedExecutor;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.aiPreviewChunkSize = Math.max(Math.min(aiPreviewChunkSize, this.chunkSize), 1);
+    }
+
+    // 결과 1건씩 전달 (전송 실패 = 클라이언트 이탈 → 중단)
+    @FunctionalInterface
+    public interface ResultSink {
+        void accept(BatchPathResult result) throws IOException;
+    }
+
+    public void analyze(BatchPathRequest request, ResultSink sink) throws InterruptedException, IOException {
+        List<PathSearchRequest> pairs = request.getPairs();
+        int size = request.isAiPreview() ? aiPreviewChunkSize : chunkSize;
+        log.info("일괄 경로 분석 시작: {} 쌍 (chunk {})", pairs.size(), size);
+
+        for (int from = 0; from < pairs.size(); from += size) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("일괄 경로 분석 중단");
+            }
+            analyzeChunk(pairs, from, Math.min(from + size, pairs.size()), request.isAiPreview(), sink);
+        }
+
+        log.info("일괄 경로 분석 완료: {} 쌍", pairs.size());
+    }
+
+    private void analyzeChunk(List<PathSearchRequest> pairs, int from, int to, boolean aiPreview,
+                              ResultSink sink) throws InterruptedException, IOException {
+        // 1. Tmap 경로 조회 (병렬, 풀 크기로 제한)
+        List<Future<List<TmapsClient.TmapRoute>>> lookups = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            PathSearchRequest pair = pairs.get(i);
+            lookups.add(tmapExecutor.submit(() -> pathService.findCandidateRoutes(pair)));
+        }
+
+        // 2. 성공한 쌍의 후보 경로를 한 목록으로 (쌍별 시작 위치 기록)
+        List<CptedService.RouteInput> inputs = new ArrayList<>();
+        List<Integer> pairIndexes = new ArrayList<>();
+        List<List<TmapsClient.TmapRoute>> pairRoutes = new ArrayList<>();
+        try {
+            for (int i = from; i < to; i++) {
+                List<TmapsClient.TmapRoute> routes;
+                try {
+                    routes = lookups.get(i - from).get();
+                } catch (ExecutionException e) {
+                    log.warn("일괄 분석 Tmap 조회 실패 (#{}): {}", i, e.getCause().getMessage());
+                    sink.accept(BatchPathResult.error(i, "경로 조회에 실패했습니다."));
+                    continue;
+                }
+                if (routes.isEmpty()) {
+                    sink.accept(BatchPathResult.error(i, "경로를 찾을 수 없습니다."));
+                    continue;
+                }
+
+                for (int r = 0; r < routes.size(); r++) {
+                    TmapsClient.TmapRoute route = routes.get(r);
+                    inputs.add(new CptedService.RouteInput(
+                            "path-" + (r + 1),
+                            route.getCoordinates(),
+                            route.getDistance(),
+                            route.getDuration()));
+                }
+                pairIndexes.add(i);
+                pairRoutes.add(routes);
+            }
+        } finally {
+            // 중단되면 남은 Tmap 호출 취소 (interrupt → WebClient 구독 취소)
+            lookups.forEach(lookup -> lookup.cancel(true));
+        }
+
+        if (inputs.isEmpty()) {
+            return;
+        }
+
+        // 3. 셀 합집합 1회 조회 + 경로별 점수 병렬 계산
+        List<RouteAnalysisData> analyzed;
+        try {
+            analyzed = cptedService.analyzeRoutes(inputs, cptedExecutor);
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("일괄 분석 CPTED 실패: #{}~#{}", from, to - 1, e);
+            for (int index : pairIndexes) {
+                sink.accept(BatchPathResult.error(index, "안전도 분석에 실패했습니다."));
+            }
+            return;
+        }
+
+        // 4. 쌍별로 경로 3개 선택 (AI 프리뷰는 chunk 전체를 먼저 시작) → 프리뷰를 기다려서 전송
+        List<PathService.BatchSelection> selections = new ArrayList<>(pairIndexes.size());
+        try {
+            int offset = 0;
+            for (List<TmapsClient.TmapRoute> routes : pairRoutes) {
+                List<RouteAnalysisData> pairAnalyzed = analyzed.subList(offset, offset + routes.size());
+                offset += routes.size();
+                selections.add(pathService.selectBatchPaths(routes, pairAnalyzed, aiPreview));
+            }
+            for (int p = 0; p < selections.size(); p++) {
+                sink.accept(BatchPathResult.ok(pairIndexes.get(p), pathService.buildBatchPaths(selections.get(p))));
+            }
+        } finally {
+            // 중단되면 아직 기다리지 않은 쌍의 프리뷰 호출 취소
+            selections.forEach(PathService.BatchSelection::cancel);
+        }
+    }
+}
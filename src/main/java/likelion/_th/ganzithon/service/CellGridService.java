@@ -0,0 +1,166 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.store.CellGrid;
+import likelion._th.ganzithon.store.CellStore;
+import likelion._th.ganzithon.util.GridIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+// 서비스 지역(grid.bbox) 셀 전체를 메모리 그리드(CellGrid)로 유지
+// - 기동 후 백그라운드에서 원본 저장소 범위 조회(scan)로 적재 (셀 캐시를 거치지 않아 L1 을 밀어내지 않음), grid.refresh-minutes 마다 다시 적재해서 교체
+// - 적재가 끝나기 전에는 빈 그리드 (타일 / 영역 조회는 빈 결과)
+// - 새 그리드로 교체되면 등록된 리스너 호출 (타일 캐시 무효화 / 선생성 등)
+public class CellGridService {
+
+    private final CellStore cellStore;
+    private final boolean enabled;
+    private final long minLatIdx;
+    private final long maxLatIdx;
+    private final long minLngIdx;
+    private final long maxLngIdx;
+    private final int stripRows;
+    private final long refreshMinutes;
+
+    private final List<Consumer<CellGrid>> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cell-grid-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CellGrid grid = CellGrid.empty();
+    // 그리드 교체 횟수 (타일 ETag 등에 사용)
+    private volatile long version;
+
+    public CellGridService(
+            @Qualifier("cellStoreBackend") CellStore cellStore,
+            AnalysisMetrics metrics,
+            @Value("${grid.enabled:true}") boolean enabled,
+            @Value("${grid.bbox:37.41,126.76,37.72,127.19}") List<Double> bbox,
+            @Value("${grid.strip-rows:4}") int stripRows,
+            @Value("${grid.refresh-minutes:60}") long refreshMinutes
+    ) {
+        if (bbox.size() != 4) {
+            throw new IllegalArgumentException("grid.bbox 는 minLat,minLng,maxLat,maxLng 형식이어야 합니다: " + bbox);
+        }
+        this.cellStore = cellStore;
+        this.enabled = enabled;
+        this.minLatIdx = GridIndex.latIndex(bbox.get(0));
+        this.minLngIdx = GridIndex.lngIndex(bbox.get(1));
+        this.maxLatIdx = GridIndex.latIndex(bbox.get(2));
+        this.maxLngIdx = GridIndex.lngIndex(bbox.get(3));
+        this.stripRows = Math.max(stripRows, 1);
+        this.refreshMinutes = refreshMinutes;
+        registerMetrics(metrics.registry());
+    }
+
+    // grid.cells / grid.blocks: 현재 메모리 그리드 크기
+    private void registerMetrics(MeterRegistry registry) {
+        Gauge.builder("grid.cells", this, s -> s.grid.cellCount())
+                .description("메모리 그리드에 적재된 셀 수")
+                .register(registry);
+        Gauge.builder("grid.blocks", this, s -> s.grid.blockCount())
+                .description("메모리 그리드 블록(64x64) 수")
+                .register(registry);
+    }
+
+    // 리스너가 모두 등록된 뒤 (기동 완료 후) 적재 시작
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("[GRID] 비활성화");
+            return;
+        }
+        if (refreshMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(this::reload, 0, refreshMinutes, TimeUnit.MINUTES);
+        } else {
+            scheduler.execute(this::reload);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public CellGrid current() {
+        return grid;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    // 첫 적재가 끝났으면 true
+    public boolean ready() {
+        return version > 0;
+    }
+
+    // 인덱스 범위를 적재 범위(grid.bbox)로 자른 {minLat, maxLat, minLng, maxLng}, 겹치지 않으면 null
+    public long[] clip(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx) {
+        long fromLat = Math.max(minLatIdx, this.minLatIdx);
+        long toLat = Math.min(maxLatIdx, this.maxLatIdx);
+        long fromLng = Math.max(minLngIdx, this.minLngIdx);
+        long toLng = Math.min(maxLngIdx, this.maxLngIdx);
+        if (fromLat > toLat || fromLng > toLng) {
+            return null;
+        }
+        return new long[]{fromLat, toLat, fromLng, toLng};
+    }
+
+    public void addListener(Consumer<CellGrid> listener) {
+        listeners.add(listener);
+    }
+
+    // 범위를 몇 행씩 나눠서 조회 (저장소 1회 조회 크기 / 대기 한도 안에 들도록)
+    void reload() {
+        long start = System.nanoTime();
+        List<FirebaseClient.SafetyCell> cells = new ArrayList<>();
+        try {
+            for (long fromLat = minLatIdx; fromLat <= maxLatIdx; fromLat += stripRows) {
+                long toLat = Math.min(fromLat + stripRows - 1, maxLatIdx);
+                cells.addAll(cellStore.scan(fromLat, toLat, minLngIdx, maxLngIdx));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            log.warn("[GRID] 적재 실패, 기존 그리드 유지: {}", e.getMessage());
+            return;
+        }
+
+        CellGrid loaded = CellGrid.build(cells);
+        grid = loaded;
+        version++;
+        log.info("[GRID] 적재 완료: 셀 {} 개, 블록 {} 개 ({} ms)",
+                loaded.cellCount(), loaded.blockCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        for (Consumer<CellGrid> listener : listeners) {
+            try {
+                listener.accept(loaded);
+            } catch (RuntimeException e) {
+                log.warn("[GRID] 리스너 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
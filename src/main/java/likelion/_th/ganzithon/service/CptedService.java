@@ -1,35 +1,93 @@
 package likelion._th.ganzithon.service;
 
-import likelion._th.ganzithon.client.FirebaseClient;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.domain.CellTable;
+import likelion._th.ganzithon.domain.CoordinateBuffer;
+import likelion._th.ganzithon.domain.RouteCorridor;
 import likelion._th.ganzithon.dto.RouteAnalysisData;
 import likelion._th.ganzithon.dto.request.ReportRequest;
-import lombok.RequiredArgsConstructor;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.monitoring.CptedAnalysisEvent;
+import likelion._th.ganzithon.store.CellStore;
+import likelion._th.ganzithon.util.GridIndex;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
+// 분석 모드 (cpted.analysis-mode)
+// - vertex: 경로 좌표가 들어 있는 셀만 집계
+// - corridor: 경로에서 cpted.corridor.buffer-meters 이내 셀을 거리 가중치로 집계 (domain.RouteCorridor)
+//   버퍼 셀도 전체 경로 합집합에 넣어서 한 번에 batch 조회
 public class CptedService {
 
-    private final FirebaseClient firebaseClient;
+    public enum AnalysisMode {
+        VERTEX, CORRIDOR;
+
+        static AnalysisMode parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final CellStore cellStore;
+    private final AnalysisMetrics metrics;
+    private final AnalysisMode analysisMode;
+    private final double corridorBufferMeters;
+    private final double corridorEdgeWeight;
+    // JFR CptedAnalysis 이벤트 기록 여부 (워밍업 사본은 기록하지 않음)
+    private final boolean recordEvents;
 
     // 200m 단위
     private static final int SEGMENT_SIZE = 200;
-    private static final double GRID_SIZE = 0.002;   // 200m ≒ 0.002도
+
+    @Autowired
+    public CptedService(
+            CellStore cellStore,
+            AnalysisMetrics metrics,
+            @Value("${cpted.analysis-mode:vertex}") String analysisMode,
+            @Value("${cpted.corridor.buffer-meters:100}") double corridorBufferMeters,
+            @Value("${cpted.corridor.edge-weight:0.3}") double corridorEdgeWeight
+    ) {
+        this(cellStore, metrics, AnalysisMode.parse(analysisMode), corridorBufferMeters, corridorEdgeWeight, true);
+        log.info("[CPTED] 분석 모드: {}{}", this.analysisMode,
+                this.analysisMode == AnalysisMode.CORRIDOR ? " (버퍼 " + corridorBufferMeters + "m)" : "");
+    }
+
+    private CptedService(CellStore cellStore, AnalysisMetrics metrics, AnalysisMode analysisMode,
+                         double corridorBufferMeters, double corridorEdgeWeight, boolean recordEvents) {
+        this.cellStore = cellStore;
+        this.metrics = metrics;
+        this.analysisMode = analysisMode;
+        this.corridorBufferMeters = corridorBufferMeters;
+        this.corridorEdgeWeight = corridorEdgeWeight;
+        this.recordEvents = recordEvents;
+    }
+
+    // 기동 워밍업용 사본: 같은 설정 / 셀 저장소, 지표는 버리는 레지스트리에 기록하고 JFR 이벤트는 남기지 않음
+    // (워밍업 반복이 운영 analysis.stage 분포와 JFR 녹화에 섞이지 않도록)
+    CptedService forWarmup() {
+        return new CptedService(cellStore, new AnalysisMetrics(new SimpleMeterRegistry()),
+                analysisMode, corridorBufferMeters, corridorEdgeWeight, false);
+    }
 
 
     // DB에서 사용하는 gridId 계산 공식 (무조건 이거만 사용)
+    // 구간 분석 메서드들은 벤치마크(src/jmh)에서 호출할 수 있도록 package-private
 
-    private String toGridId(double lat, double lng) {
-        long latIndex = (long) Math.floor(lat / GRID_SIZE);
-        long lngIndex = (long) Math.floor(lng / GRID_SIZE);
-        return latIndex + "_" + lngIndex;
+    String toGridId(double lat, double lng) {
+        return GridIndex.cellId(lat, lng);
     }
 
     // 경로별 CPTED 분석 (batch 조회 사용)
@@ -44,33 +102,129 @@ public class CptedService {
             return buildEmptyRouteAnalysis(routeId, totalDistance, totalTime);
         }
 
-        long startTime = System.currentTimeMillis();
+        RouteInput input = new RouteInput(routeId, coordinates, totalDistance, totalTime);
+        return analyzeRoutes(List.of(input), Runnable::run).get(0);
+    }
+
+    // 여러 후보 경로를 한 번에 분석
+    // - 모든 경로의 gridId 합집합을 한 번만 batch 조회 (겹치는 셀은 1회만 읽음)
+    // - 조회한 셀 테이블을 공유해서 경로별 점수를 executor 에서 병렬 계산
+    // - 결과는 입력 순서 그대로 반환
+    public List<RouteAnalysisData> analyzeRoutes(List<RouteInput> routes, Executor executor)
+            throws ExecutionException, InterruptedException, TimeoutException {
+
+        if (routes == null || routes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Timer.Sample sample = metrics.startTimer();
+        CptedAnalysisEvent event = new CptedAnalysisEvent();
+        event.begin();
+
+        // 실패 / 취소된 분석도 소요 시간과 JFR 이벤트를 남김
+        AnalysisMetrics.Outcome outcome = AnalysisMetrics.Outcome.SUCCESS;
+        Set<String> unionGridIds = new LinkedHashSet<>();
+        int totalPoints = 0;
+        CellTable cells = null;
+        try {
+            // Step 1: 경로별 좌표 → gridId 계산 + 전체 경로 gridId 합집합
+            // corridor 모드는 경로별 버퍼 셀을 합집합에 넣음 (좌표 셀도 포함됨)
+            boolean corridor = analysisMode == AnalysisMode.CORRIDOR;
+            List<String[]> routeGridIds = new ArrayList<>(routes.size());
+            List<RouteCorridor> routeCorridors = new ArrayList<>(corridor ? routes.size() : 0);
+
+            for (RouteInput route : routes) {
+                String[] pointGridIds = toGridIds(route.getCoordinates());
+                routeGridIds.add(pointGridIds);
+                totalPoints += pointGridIds.length;
+                if (corridor) {
+                    RouteCorridor routeCorridor = corridorOf(route.getCoordinates(), 0, pointGridIds.length);
+                    routeCorridors.add(routeCorridor);
+                    Collections.addAll(unionGridIds, routeCorridor.cellIds());
+                } else {
+                    Collections.addAll(unionGridIds, pointGridIds);
+                }
+            }
 
-        // Step 1: 필요한 모든 gridId를 먼저 수집 (중복 제거)
-        Set<String> uniqueGridIds = coordinates.stream()
-                .map(point -> toGridId(point.getLat(), point.getLng()))
-                .collect(Collectors.toSet());
+            log.info("경로 {} 개: 총 좌표 {} 개 → 고유 셀 {} 개",
+                    routes.size(), totalPoints, unionGridIds.size());
+
+            // Step 2: 합집합을 Batch로 한 번만 조회 후 슬롯 배열로 변환
+            CellTable table = unionGridIds.isEmpty()
+                    ? new CellTable()
+                    : CellTable.from(cellStore
+                            .getCells(new ArrayList<>(unionGridIds))
+                            .values());
+            cells = table;
+
+            // Step 3: 공유 셀 테이블로 경로별 점수 계산
+            List<CompletableFuture<RouteAnalysisData>> futures = new ArrayList<>(routes.size());
+            for (int i = 0; i < routes.size(); i++) {
+                RouteInput route = routes.get(i);
+                String[] pointGridIds = routeGridIds.get(i);
+                RouteCorridor routeCorridor = corridor ? routeCorridors.get(i) : null;
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> routeCorridor != null
+                                ? scoreCorridorRoute(route, routeCorridor, table)
+                                : scoreRoute(route, pointGridIds, table),
+                        executor));
+            }
+
+            List<RouteAnalysisData> results = new ArrayList<>(routes.size());
+            for (CompletableFuture<RouteAnalysisData> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        } catch (Exception e) {
+            outcome = AnalysisMetrics.Outcome.of(e);
+            throw e;
+        } finally {
+            metrics.stop(sample, AnalysisMetrics.Stage.CPTED, outcome);
+
+            event.routeCount = routes.size();
+            event.pointCount = totalPoints;
+            event.cellCount = unionGridIds.size();
+            event.foundCellCount = cells != null ? cells.size() : 0;
+            event.outcome = outcome.tag();
+            if (recordEvents) {
+                event.commit();
+            }
+        }
+    }
+
+    private String[] toGridIds(List<ReportRequest.Coordinate> coordinates) {
+        if (coordinates == null) {
+            return new String[0];
+        }
+        String[] gridIds = new String[coordinates.size()];
+        for (int i = 0; i < gridIds.length; i++) {
+            gridIds[i] = toGridId(CoordinateBuffer.latOf(coordinates, i), CoordinateBuffer.lngOf(coordinates, i));
+        }
+        return gridIds;
+    }
 
-        log.info("경로 {}: 총 좌표 {} 개 → 고유 셀 {} 개",
-                routeId, coordinates.size(), uniqueGridIds.size());
+    // 이미 조회된 셀 테이블로 경로 하나의 점수 계산 (DB 조회 없음)
+    private RouteAnalysisData scoreRoute(RouteInput route, String[] pointGridIds, CellTable cells) {
+        String routeId = route.getRouteId();
+        int totalDistance = route.getDistance();
+        int totalTime = route.getTime();
 
-        // Step 2: Batch로 한 번에 조회
-        Map<String, FirebaseClient.SafetyCell> visitedCells =
-                firebaseClient.getCellDataBatch(new ArrayList<>(uniqueGridIds));
+        if (pointGridIds.length == 0) {
+            return buildEmptyRouteAnalysis(routeId, totalDistance, totalTime);
+        }
 
-        long fetchTime = System.currentTimeMillis();
-        log.info("DB 조회 완료: {} ms", fetchTime - startTime);
+        int[] pointSlots = new int[pointGridIds.length];
+        for (int i = 0; i < pointGridIds.length; i++) {
+            pointSlots[i] = cells.slotOf(pointGridIds[i]);
+        }
 
-        // Step 3: 경로 전체 점수 계산
+        // 경로 전체 점수 계산
         double sumScoreForPath = 0.0;
         int validPointCount = 0;
 
-        for (ReportRequest.Coordinate point : coordinates) {
-            String gridId = toGridId(point.getLat(), point.getLng());
-            FirebaseClient.SafetyCell cell = visitedCells.get(gridId);
-
-            if (cell != null) {
-                sumScoreForPath += cell.getCptedScore();
+        for (int slot : pointSlots) {
+            if (slot != CellTable.MISSING) {
+                sumScoreForPath += cells.cptedScore(slot);
                 validPointCount++;
             }
         }
@@ -78,37 +232,42 @@ public class CptedService {
         double avgCpted = validPointCount == 0 ? 0.0 : sumScoreForPath / validPointCount;
         avgCpted = Math.round(avgCpted * 10.0) / 10.0;
 
-        log.info("경로 {}: 유효 셀 {} 개, 평균 CPTED {}",
-                routeId, visitedCells.size(), avgCpted);
-
-        // Step 4: 시설물 개수 합산
+        // 시설물 개수 합산 (이 경로가 지나는 셀만, 셀당 1회)
         int totalCctv = 0, totalLight = 0, totalStore = 0,
                 totalPolice = 0, totalSchool = 0;
+        int routeCellCount = 0;
+        boolean[] counted = new boolean[cells.size()];
 
-        for (FirebaseClient.SafetyCell cell : visitedCells.values()) {
-            totalCctv += cell.getCctvCount() != null ? cell.getCctvCount() : 0;
-            totalLight += cell.getLightCount() != null ? cell.getLightCount() : 0;
-            totalStore += cell.getStoreCount() != null ? cell.getStoreCount() : 0;
-            totalPolice += cell.getPoliceCount() != null ? cell.getPoliceCount() : 0;
-            totalSchool += cell.getSchoolCount() != null ? cell.getSchoolCount() : 0;
+        for (int slot : pointSlots) {
+            if (slot == CellTable.MISSING || counted[slot]) {
+                continue;
+            }
+            counted[slot] = true;
+            routeCellCount++;
+
+            totalCctv += cells.cctvCount(slot);
+            totalLight += cells.lightCount(slot);
+            totalStore += cells.storeCount(slot);
+            totalPolice += cells.policeCount(slot);
+            totalSchool += cells.schoolCount(slot);
         }
 
-        // Step 5: 200m 구간별 분석
+        log.info("경로 {}: 유효 셀 {} 개, 평균 CPTED {}",
+                routeId, routeCellCount, avgCpted);
+
+        // 200m 구간별 분석
         List<RouteAnalysisData.SegmentAnalysis> segments =
-                buildSegments(coordinates, visitedCells, totalDistance);
+                buildSegments(pointSlots, cells, totalDistance);
 
         int riskCount = (int) segments.stream()
                 .filter(s -> !s.getSafetyLevel().equals("안전"))
                 .count();
 
-        long endTime = System.currentTimeMillis();
-        log.info("경로 {} 분석 완료: {} ms", routeId, endTime - startTime);
-
         return RouteAnalysisData.builder()
                 .routeId(routeId)
                 .distance(totalDistance)
                 .time(totalTime)
-                .coordinates(coordinates)
+                .coordinates(route.getCoordinates())
                 .cctvCount(totalCctv)
                 .lightCount(totalLight)
                 .storeCount(totalStore)
@@ -120,6 +279,52 @@ public class CptedService {
                 .build();
     }
 
+    // corridor 모드: 버퍼 셀을 거리 가중치로 집계 (이미 조회된 셀 테이블 사용)
+    private RouteAnalysisData scoreCorridorRoute(RouteInput route, RouteCorridor corridor, CellTable cells) {
+        String routeId = route.getRouteId();
+        int totalDistance = route.getDistance();
+        int totalTime = route.getTime();
+        List<ReportRequest.Coordinate> coordinates = route.getCoordinates();
+
+        if (coordinates == null || coordinates.isEmpty()) {
+            return buildEmptyRouteAnalysis(routeId, totalDistance, totalTime);
+        }
+
+        SegmentStats total = calculateCorridorStats(corridor, cells);
+
+        log.info("경로 {}: corridor 셀 {} 개, 가중 평균 CPTED {}",
+                routeId, corridor.size(), total.avgScore);
+
+        List<RouteAnalysisData.SegmentAnalysis> segments =
+                buildCorridorSegments(coordinates, cells, totalDistance);
+
+        int riskCount = (int) segments.stream()
+                .filter(s -> !s.getSafetyLevel().equals("안전"))
+                .count();
+
+        return RouteAnalysisData.builder()
+                .routeId(routeId)
+                .distance(totalDistance)
+                .time(totalTime)
+                .coordinates(coordinates)
+                .cctvCount(total.cctvCount)
+                .lightCount(total.lightCount)
+                .storeCount(total.storeCount)
+                .policeCount(total.policeCount)
+                .schoolCount(total.schoolCount)
+                .cptedAvg(total.avgScore)
+                .segments(segments)
+                .riskSegmentCount(riskCount)
+                .build();
+    }
+
+    private RouteCorridor corridorOf(List<ReportRequest.Coordinate> coordinates, int from, int to) {
+        if (coordinates == null || from >= to) {
+            return RouteCorridor.build(List.of(), 0, 0, corridorBufferMeters, corridorEdgeWeight);
+        }
+        return RouteCorridor.build(coordinates, from, to, corridorBufferMeters, corridorEdgeWeight);
+    }
+
     // 빈 경로 데이터 반환
     private RouteAnalysisData buildEmptyRouteAnalysis(
             String routeId, int totalDistance, int totalTime) {
@@ -173,92 +378,127 @@ public class CptedService {
 
     // ==================== 구간별 분석 ====================
 
-    private List<RouteAnalysisData.SegmentAnalysis> buildSegments(
-            List<ReportRequest.Coordinate> coordinates,
-            Map<String, FirebaseClient.SafetyCell> visitedCells,
+    List<RouteAnalysisData.SegmentAnalysis> buildSegments(
+            int[] pointSlots,
+            CellTable cells,
             Integer totalDistance
     ) {
         List<RouteAnalysisData.SegmentAnalysis> segments = new ArrayList<>();
 
         int numSegments = (int) Math.ceil((double) totalDistance / SEGMENT_SIZE);
 
+        // 구간 내 셀 중복 제거용 (구간 번호를 스탬프로 사용)
+        int[] segmentStamp = new int[cells.size()];
+
         for (int i = 0; i < numSegments; i++) {
             int startDist = i * SEGMENT_SIZE;
             int endDist = Math.min((i + 1) * SEGMENT_SIZE, totalDistance);
 
-            List<ReportRequest.Coordinate> segmentCoords = getCoordinatesInSegment(
-                    coordinates,
+            int[] range = getSegmentPointRange(
+                    pointSlots.length,
                     startDist,
                     endDist,
                     totalDistance
             );
 
-            SegmentStats stats = calculateSegmentStats(segmentCoords, visitedCells);
+            SegmentStats stats = calculateSegmentStats(
+                    pointSlots, range[0], range[1], cells, segmentStamp, i + 1);
+
+            segments.add(toSegmentAnalysis(startDist, endDist, stats));
+        }
+
+        return segments;
+    }
+
+    // corridor 모드 200m 구간 분석 (구간 좌표 범위의 버퍼 셀, 구간 안에서만 중복 제거)
+    List<RouteAnalysisData.SegmentAnalysis> buildCorridorSegments(
+            List<ReportRequest.Coordinate> coordinates,
+            CellTable cells,
+            Integer totalDistance
+    ) {
+        List<RouteAnalysisData.SegmentAnalysis> segments = new ArrayList<>();
+
+        int numSegments = (int) Math.ceil((double) totalDistance / SEGMENT_SIZE);
+
+        for (int i = 0; i < numSegments; i++) {
+            int startDist = i * SEGMENT_SIZE;
+            int endDist = Math.min((i + 1) * SEGMENT_SIZE, totalDistance);
 
-            String safetyLevel = getSafetyLevel(stats.avgScore, stats.cctvCount, stats.lightCount);
-            String description = generateSegmentDescription(stats);
+            int[] range = getSegmentPointRange(
+                    coordinates.size(),
+                    startDist,
+                    endDist,
+                    totalDistance
+            );
 
-            segments.add(RouteAnalysisData.SegmentAnalysis.builder()
-                    .startDistance(startDist)
-                    .endDistance(endDist)
-                    .cptedScore(stats.avgScore)
-                    .description(description)
-                    .safetyLevel(safetyLevel)
-                    .cctvCount(stats.cctvCount)
-                    .lightCount(stats.lightCount)
-                    .build());
+            SegmentStats stats = calculateCorridorStats(
+                    corridorOf(coordinates, range[0], range[1]), cells);
+            segments.add(toSegmentAnalysis(startDist, endDist, stats));
         }
 
         return segments;
     }
 
-    private List<ReportRequest.Coordinate> getCoordinatesInSegment(
-            List<ReportRequest.Coordinate> allCoords,
+    private RouteAnalysisData.SegmentAnalysis toSegmentAnalysis(int startDist, int endDist, SegmentStats stats) {
+        String safetyLevel = getSafetyLevel(stats.avgScore, stats.cctvCount, stats.lightCount);
+        String description = generateSegmentDescription(stats);
+
+        return RouteAnalysisData.SegmentAnalysis.builder()
+                .startDistance(startDist)
+                .endDistance(endDist)
+                .cptedScore(stats.avgScore)
+                .description(description)
+                .safetyLevel(safetyLevel)
+                .cctvCount(stats.cctvCount)
+                .lightCount(stats.lightCount)
+                .build();
+    }
+
+    // 구간에 해당하는 좌표 인덱스 범위 [from, to)
+    private int[] getSegmentPointRange(
+            int coordsCount,
             int startDist,
             int endDist,
             int totalDist
     ) {
-        List<ReportRequest.Coordinate> result = new ArrayList<>();
-        int coordsCount = allCoords.size();
-
         int startIdx = (int) ((double) startDist / totalDist * coordsCount);
         int endIdx = (int) Math.ceil((double) endDist / totalDist * coordsCount);
+        endIdx = Math.min(endIdx, coordsCount);
 
-        for (int i = startIdx; i < Math.min(endIdx, coordsCount); i++) {
-            result.add(allCoords.get(i));
-        }
-
-        if (result.isEmpty() && startIdx < coordsCount) {
-            return List.of(allCoords.get(startIdx));
+        // 좌표가 하나도 안 걸리면 시작 좌표 하나만 사용
+        if (endIdx <= startIdx && startIdx < coordsCount) {
+            endIdx = startIdx + 1;
         }
 
-        return result;
+        return new int[]{startIdx, Math.max(startIdx, endIdx)};
     }
 
     private SegmentStats calculateSegmentStats(
-            List<ReportRequest.Coordinate> segmentCoords,
-            Map<String, FirebaseClient.SafetyCell> allCells
+            int[] pointSlots,
+            int from,
+            int to,
+            CellTable cells,
+            int[] segmentStamp,
+            int stamp
     ) {
-        Set<String> segmentCellIds = new HashSet<>();
-        for (ReportRequest.Coordinate coord : segmentCoords) {
-            segmentCellIds.add(toGridId(coord.getLat(), coord.getLng()));
-        }
-
         int cctv = 0, light = 0, store = 0, police = 0, school = 0;
         double totalScore = 0;
         int validCells = 0;
 
-        for (String cellId : segmentCellIds) {
-            FirebaseClient.SafetyCell cell = allCells.get(cellId);
-            if (cell != null) {
-                cctv += cell.getCctvCount();
-                light += cell.getLightCount();
-                store += cell.getStoreCount();
-                police += cell.getPoliceCount();
-                school += cell.getSchoolCount();
-                totalScore += cell.getCptedScore();
-                validCells++;
+        for (int i = from; i < to; i++) {
+            int slot = pointSlots[i];
+            if (slot == CellTable.MISSING || segmentStamp[slot] == stamp) {
+                continue;
             }
+            segmentStamp[slot] = stamp;
+
+            cctv += cells.cctvCount(slot);
+            light += cells.lightCount(slot);
+            store += cells.storeCount(slot);
+            police += cells.policeCount(slot);
+            school += cells.schoolCount(slot);
+            totalScore += cells.cptedScore(slot);
+            validCells++;
         }
 
         double avgScore = validCells > 0 ? totalScore / validCells : 0.0;
@@ -267,6 +507,36 @@ public class CptedService {
         return new SegmentStats(avgScore, cctv, light, store, police, school);
     }
 
+    // 버퍼 셀 가중 합계 (시설 개수는 가중 합을 반올림, 점수는 가중 평균)
+    private SegmentStats calculateCorridorStats(RouteCorridor corridor, CellTable cells) {
+        double cctv = 0, light = 0, store = 0, police = 0, school = 0;
+        double weightedScore = 0;
+        double totalWeight = 0;
+
+        for (int i = 0; i < corridor.size(); i++) {
+            int slot = cells.slotOf(corridor.cellId(i));
+            if (slot == CellTable.MISSING) {
+                continue;
+            }
+            double weight = corridor.weight(i);
+
+            cctv += weight * cells.cctvCount(slot);
+            light += weight * cells.lightCount(slot);
+            store += weight * cells.storeCount(slot);
+            police += weight * cells.policeCount(slot);
+            school += weight * cells.schoolCount(slot);
+            weightedScore += weight * cells.cptedScore(slot);
+            totalWeight += weight;
+        }
+
+        double avgScore = totalWeight > 0 ? weightedScore / totalWeight : 0.0;
+        avgScore = Math.round(avgScore * 10.0) / 10.0;
+
+        return new SegmentStats(avgScore,
+                (int) Math.round(cctv), (int) Math.round(light), (int) Math.round(store),
+                (int) Math.round(police), (int) Math.round(school));
+    }
+
     private String getSafetyLevel(double cptedScore, int cctvCount, int lightCount) {
         int totalSafety = cctvCount + lightCount;
 
@@ -279,7 +549,7 @@ public class CptedService {
         }
     }
 
-    private String generateSegmentDescription(SegmentStats stats) {
+    String generateSegmentDescription(SegmentStats stats) {
         double cctvContribution = stats.cctvCount * 0.4;
         double lightContribution = stats.lightCount * 0.3;
         double storeContribution = stats.storeCount * 0.2;
@@ -348,7 +618,7 @@ public class CptedService {
         }
     }
 
-    private static class SegmentStats {
+    static class SegmentStats {
         double avgScore;
         int cctvCount;
         int lightCount;
@@ -372,4 +642,14 @@ public class CptedService {
             this.schoolCount = schoolCount;
         }
     }
-}
+
+    // 다중 경로 분석 입력
+    @Getter
+    @AllArgsConstructor
+    public static class RouteInput {
+        private String routeId;
+        private List<ReportRequest.Coordinate> coordinates;
+        private int distance;   // 미터
+        private int time;       // 초
+    }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import likelion._th.ganzithon.dto.request.PathSearchRequest;
+import likelion._th.ganzithon.dto.response.PathSearchResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.util.TtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+// /paths 응답 전체 캐시 (같은 출발지 → 같은 도착지 검색이 계속 들어옴)
+// - 키: 출발/도착/경유지 좌표를 snap-degrees 격자로 반올림한 값 (이름은 제외)
+// - 같은 키를 동시에 요청하면 첫 요청만 Tmap → CPTED → LLM 을 실행하고 나머지는 결과를 기다림
+// - refresh-after 가 지난 항목은 기존 응답을 바로 주고 백그라운드에서 새로 계산 (stale-while-revalidate)
+//   재계산은 전용 executor 에서 refreshLoader 로 실행 (Upstage 호출을 BACKGROUND 우선순위로 돌릴 수 있도록)
+// - 실패 / 취소된 계산은 캐시하지 않음
+public class PathResponseCache {
+
+    private final boolean enabled;
+    private final double snapDegrees;
+    private final long refreshAfterNanos;
+    private final long waitSeconds;
+    private final Executor refreshExecutor;
+
+    private final TtlCache<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    public PathResponseCache(
+            @Qualifier("pathRefreshExecutor") Executor refreshExecutor,
+            @Value("${path-cache.enabled:true}") boolean enabled,
+            @Value("${path-cache.snap-degrees:0.0005}") double snapDegrees,
+            @Value("${path-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${path-cache.refresh-after-seconds:240}") long refreshAfterSeconds,
+            @Value("${path-cache.max-size:2000}") int maxSize,
+            @Value("${path-cache.wait-seconds:30}") long waitSeconds,
+            AnalysisMetrics metrics
+    ) {
+        this.refreshExecutor = refreshExecutor;
+        this.enabled = enabled;
+        this.snapDegrees = snapDegrees;
+        this.refreshAfterNanos = TimeUnit.SECONDS.toNanos(refreshAfterSeconds);
+        this.waitSeconds = waitSeconds;
+        this.entries = new TtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        registerMetrics(metrics.registry());
+    }
+
+    // path.cache{result}: 조회 결과 누적 횟수, path.cache.size: 캐시 항목 수
+    private void registerMetrics(MeterRegistry registry) {
+        Map<String, AtomicLong> results = Map.of(
+                "hit", hits,
+                "stale", staleHits,
+                "miss", misses,
+                "dedup", deduplicated,
+                "refresh", refreshes
+        );
+        results.forEach((result, counter) -> FunctionCounter
+                .builder("path.cache", counter, AtomicLong::doubleValue)
+                .description("/paths 응답 캐시 조회 결과")
+                .tag("result", result)
+                .register(registry));
+
+        Gauge.builder("path.cache.size", entries, TtlCache::size)
+                .description("/paths 응답 캐시 항목 수")
+                .register(registry);
+    }
+
+    // 캐시된 응답 반환, 없으면 loader 로 계산 (동시 요청은 계산 1회 공유)
+    public PathSearchResponse get(PathSearchRequest request, Callable<PathSearchResponse> loader)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return get(request, loader, loader);
+    }
+
+    // refreshLoader: stale 항목 백그라운드 재계산용 (응답을 기다리는 요청이 없는 계산)
+    public PathSearchResponse get(PathSearchRequest request, Callable<PathSearchResponse> loader,
+                                  Callable<PathSearchResponse> refreshLoader)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (!enabled) {
+            return call(loader);
+        }
+
+        String key = key(request);
+        // 앞선 계산이 취소되면(그 요청의 클라이언트 이탈) 한 번 더 시도
+        for (int attempt = 0; ; attempt++) {
+            Entry created = new Entry();
+            Entry entry = entries.computeIfAbsent(key, k -> created);
+
+            if (entry == created) {
+                misses.incrementAndGet();
+                return load(key, entry, loader);
+            }
+
+            if (entry.future.isDone() && !entry.future.isCompletedExceptionally()) {
+                if (System.nanoTime() - entry.completedAt > refreshAfterNanos) {
+                    staleHits.incrementAndGet();
+                    refresh(key, entry, refreshLoader);
+                } else {
+                    hits.incrementAndGet();
+                }
+                return entry.future.join();
+            }
+
+            deduplicated.incrementAndGet();
+            try {
+                return entry.future.get(waitSeconds, TimeUnit.SECONDS);
+            } catch (CancellationException e) {
+                // CompletableFuture.get 은 취소 예외를 ExecutionException 으로 감싸지 않음
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // 계산 없이 이미 완료된 응답만 조회 (간략 모드 요청에 전체 응답을 줄 수 있으면 사용)
+    public PathSearchResponse find(PathSearchRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(key(request));
+        if (entry == null || !entry.future.isDone() || entry.future.isCompletedExceptionally()) {
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.future.join();
+    }
+
+    private PathSearchResponse load(String key, Entry entry, Callable<PathSearchResponse> loader)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        try {
+            PathSearchResponse response = call(loader);
+            entry.complete(response);
+            return response;
+        } catch (InterruptedException | CancellationException e) {
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(new CancellationException("경로 검색 취소"));
+            throw e;
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 만료가 가까운 항목을 백그라운드에서 다시 계산해서 교체 (항목당 1개만)
+    private void refresh(String key, Entry stale, Callable<PathSearchResponse> loader) {
+        if (!stale.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Entry fresh = new Entry();
+                    fresh.complete(call(loader));
+                    entries.put(key, fresh);
+                    refreshes.incrementAndGet();
+                } catch (Exception e) {
+                    stale.refreshing.set(false);
+                    log.warn("[PATH CACHE] 재계산 실패: {}", e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            stale.refreshing.set(false);
+            log.debug("[PATH CACHE] executor 포화로 재계산 건너뜀");
+        }
+    }
+
+    private static PathSearchResponse call(Callable<PathSearchResponse> loader)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        try {
+            return loader.call();
+        } catch (ExecutionException | InterruptedException | TimeoutException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    // 좌표를 격자로 반올림한 캐시 키
+    String key(PathSearchRequest request) {
+        StringBuilder sb = new StringBuilder(64)
+                .append(snap(request.getStartLat())).append(',').append(snap(request.getStartLng()))
+                .append('>')
+                .append(snap(request.getEndLat())).append(',').append(snap(request.getEndLng()));
+        if (request.hasWaypoint()) {
+            sb.append('|')
+                    .append(snap(request.getWaypointLat())).append(',').append(snap(request.getWaypointLng()));
+        }
+        return sb.toString();
+    }
+
+    private long snap(double value) {
+        return Math.round(value / snapDegrees);
+    }
+
+    private static class Entry {
+        final CompletableFuture<PathSearchResponse> future = new CompletableFuture<>();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        // 계산이 끝난 시각 (refresh-after 기준, 계산 시간만큼 일찍 stale 이 되지 않도록)
+        volatile long completedAt;
+
+        void complete(PathSearchResponse response) {
+            completedAt = System.nanoTime();
+            future.complete(response);
+        }
+    }
+}
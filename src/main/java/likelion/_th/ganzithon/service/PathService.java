@@ -1,12 +1,16 @@
 package likelion._th.ganzithon.service;
 
+import io.micrometer.core.instrument.Timer;
 import likelion._th.ganzithon.client.TmapsClient;
 import likelion._th.ganzithon.client.UpstageAiClient;
+import likelion._th.ganzithon.client.UpstageDispatcher;
 import likelion._th.ganzithon.dto.RouteAnalysisData;
 import likelion._th.ganzithon.dto.request.PathSearchRequest;
 import likelion._th.ganzithon.dto.request.ReportRequest;
 import likelion._th.ganzithon.dto.response.PathInfo;
 import likelion._th.ganzithon.dto.response.PathSearchResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.routing.LocalRouteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -23,20 +27,55 @@ import java.util.stream.Collectors;
 public class PathService {
 
     private final TmapsClient tmapsClient;
+    private final LocalRouteService localRouteService;
     private final UpstageAiClient upstageAiClient;
     private final CptedService cptedService;
+    private final AnalysisResultStore analysisResultStore;
+    private final ReportService reportService;
+    private final ReportPrefetcher reportPrefetcher;
+    private final AnalysisMetrics metrics;
 
-    // AsyncConfig 에서 만든 aiExecutor 재사용 (CPTED 병렬에도 같이 사용)
-    @Qualifier("aiExecutor")
-    private final Executor aiExecutor;
+    // CPTED 점수 계산 전용 (AI 호출과 분리된 CPU executor)
+    @Qualifier("cptedExecutor")
+    private final Executor cptedExecutor;
 
     // 선택할 3개의 경로를 탐색
     public PathSearchResponse searchPaths(PathSearchRequest request)
             throws ExecutionException, InterruptedException, TimeoutException {
+        return searchPaths(request, false);
+    }
 
+    // degraded: 인스턴스 포화 시 간략 모드 (AI 추천/프리뷰/리포트 선생성 없이 CPTED 분석만)
+    public PathSearchResponse searchPaths(PathSearchRequest request, boolean degraded)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return searchPaths(request, degraded, UpstageDispatcher.Priority.INTERACTIVE, AnalysisMetrics.Stage.SEARCH);
+    }
+
+    // 응답 캐시 백그라운드 재계산용: Upstage 호출은 priority 로, 소요 시간은 search_refresh 로 기록
+    public PathSearchResponse searchPaths(PathSearchRequest request, UpstageDispatcher.Priority priority)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return searchPaths(request, false, priority, AnalysisMetrics.Stage.SEARCH_REFRESH);
+    }
 
-        long totalStart = System.currentTimeMillis();
-        long tmapStart = totalStart;
+    private PathSearchResponse searchPaths(PathSearchRequest request, boolean degraded,
+                                           UpstageDispatcher.Priority priority, AnalysisMetrics.Stage stage)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        // 실패 / 취소된 검색도 결과 태그를 붙여 기록 (성공만 기록하면 느린 실패가 분포에서 빠짐)
+        Timer.Sample searchSample = metrics.startTimer();
+        AnalysisMetrics.Outcome outcome = AnalysisMetrics.Outcome.SUCCESS;
+        try {
+            return searchPathsInternal(request, degraded, priority);
+        } catch (Exception e) {
+            outcome = AnalysisMetrics.Outcome.of(e);
+            throw e;
+        } finally {
+            metrics.stop(searchSample, stage, outcome);
+        }
+    }
+
+    private PathSearchResponse searchPathsInternal(PathSearchRequest request, boolean degraded,
+                                                   UpstageDispatcher.Priority priority)
+            throws ExecutionException, InterruptedException, TimeoutException {
 
         log.info("경로 검색 시작: ({},{}) → ({},{})",
                 request.getStartLat(), request.getStartLng(),
@@ -47,23 +86,15 @@ public class PathService {
         }
 
         // ---------------------------------------------------------------------
-        // 1. 티맵 API로 경로 조회
+        // 1. 후보 경로 조회 (로컬 보행자 그래프 사용 시 우선, 없으면 티맵 API)
         // ---------------------------------------------------------------------
-        List<TmapsClient.TmapRoute> tmapRoutes = tmapsClient.getRoutes(
-                request.getStartLat(),
-                request.getStartLng(),
-                request.getEndLat(),
-                request.getEndLng(),
-                request.getWaypointLat(),  // null 가능
-                request.getWaypointLng()   // null 가능
-        );
+        List<TmapsClient.TmapRoute> tmapRoutes = findCandidateRoutes(request);
 
         if (tmapRoutes.isEmpty()) {
             throw new IllegalArgumentException("경로를 찾을 수 없습니다. 출발지와 도착지를 확인해주세요.");
         }
 
-        long tmapEnd = System.currentTimeMillis();
-        log.info("티맵에서 {} 개 경로 수신 (소요: {}ms)", tmapRoutes.size(), (tmapEnd - tmapStart));
+        log.info("후보 경로 {} 개 수신", tmapRoutes.size());
 
         // 원본 폴리라인 미리 저장 (티맵 순서 그대로)
         List<List<ReportRequest.Coordinate>> polylines = tmapRoutes.stream()
@@ -71,60 +102,35 @@ public class PathService {
                 .collect(Collectors.toList());
 
         // ---------------------------------------------------------------------
-        // 2. 각 경로 CPTED 분석을 CompletableFuture 로 병렬 수행
+        // 2. 전체 후보 경로 CPTED 분석 (셀 조회는 합집합 1회, 점수 계산은 병렬)
         // ---------------------------------------------------------------------
-        long cptedStart = System.currentTimeMillis();
-
-        List<CompletableFuture<RouteAnalysisData>> cptedFutures = new ArrayList<>();
-
+        List<CptedService.RouteInput> cptedInputs = new ArrayList<>();
         for (int i = 0; i < tmapRoutes.size(); i++) {
             TmapsClient.TmapRoute tmapRoute = tmapRoutes.get(i);
-            String routeId = "path-" + (i + 1);
-
-            CompletableFuture<RouteAnalysisData> future =
-                    CompletableFuture.supplyAsync(() -> {
-                        try {
-                            return cptedService.analyzeRoute(
-                                    routeId,
-                                    tmapRoute.getCoordinates(),
-                                    tmapRoute.getDistance(),
-                                    tmapRoute.getDuration()
-                            );
-                        } catch (Exception e) {
-                            // CPTED 분석 실패 시 기본값으로 폴백
-                            log.error("CPTED 분석 실패: routeId={}", routeId, e);
-                            return RouteAnalysisData.builder()
-                                    .routeId(routeId)
-                                    .distance(tmapRoute.getDistance())
-                                    .time(tmapRoute.getDuration())
-                                    .coordinates(tmapRoute.getCoordinates())
-                                    .cctvCount(0)
-                                    .lightCount(0)
-                                    .storeCount(0)
-                                    .policeCount(0)
-                                    .schoolCount(0)
-                                    .cptedAvg(0.0)
-                                    .segments(Collections.emptyList())
-                                    .riskSegmentCount(0)
-                                    .build();
-                        }
-                    }, aiExecutor);
-
-            cptedFutures.add(future);
+            cptedInputs.add(new CptedService.RouteInput(
+                    "path-" + (i + 1),
+                    tmapRoute.getCoordinates(),
+                    tmapRoute.getDistance(),
+                    tmapRoute.getDuration()
+            ));
         }
 
-        // 병렬로 돌린 CPTED 분석 결과 모으기 (티맵 순서 유지)
-        List<RouteAnalysisData> analyzedRoutes = new ArrayList<>();
-        for (int i = 0; i < cptedFutures.size(); i++) {
-            RouteAnalysisData data = cptedFutures.get(i).join();
-            analyzedRoutes.add(data);
+        // 분석 결과 (티맵 순서 유지)
+        List<RouteAnalysisData> analyzedRoutes;
+        try {
+            analyzedRoutes = cptedService.analyzeRoutes(cptedInputs, cptedExecutor);
+        } catch (InterruptedException | CancellationException e) {
+            // 요청 취소 → 폴백 없이 중단
+            throw e;
+        } catch (Exception e) {
+            // CPTED 분석 실패 시 기본값으로 폴백
+            log.error("CPTED 분석 실패: {} 개 경로", cptedInputs.size(), e);
+            metrics.fallback(AnalysisMetrics.Fallback.CPTED);
+            analyzedRoutes = cptedInputs.stream()
+                    .map(this::buildFallbackAnalysis)
+                    .collect(Collectors.toList());
         }
-        // cpted 분석 완료 시간
-        long cptedEndTime = System.currentTimeMillis();
-
-        long cptedEnd = System.currentTimeMillis();
-        log.info("CPTED 분석 완료: {} 개 경로 (소요: {}ms)",
-                analyzedRoutes.size(), (cptedEnd - cptedStart));
+        log.info("CPTED 분석 완료: {} 개 경로", analyzedRoutes.size());
 
         // ---------------------------------------------------------------------
         // 3. 3개의 대표 경로 선택 (안전/빠른/균형)
@@ -145,69 +151,224 @@ public class PathService {
         // ---------------------------------------------------------------------
         // 4. AI 작업 (추천 경로 선택 + 프리뷰 생성 병렬)
         // ---------------------------------------------------------------------
-        long aiStart = System.currentTimeMillis();
-
-        // 4-1) 각 경로의 AI 프리뷰를 병렬로 시작 (@Async 사용)
+        // 4-1) 각 경로의 AI 프리뷰를 병렬로 시작 (non-blocking, cancel 하면 Upstage 호출도 취소)
+        //      간략 모드는 규칙 기반 기본 프리뷰
         Map<String, CompletableFuture<List<String>>> previewFutures = new HashMap<>();
         for (RouteAnalysisData route : selectedRoutes) {
             previewFutures.put(
                     route.getRouteId(),
-                    upstageAiClient.generateRoutePreviewAsync(route)
+                    degraded
+                            ? CompletableFuture.completedFuture(upstageAiClient.generateDefaultPreview(route))
+                            : upstageAiClient.generateRoutePreviewAsync(route, priority)
             );
         }
 
-        // 4-2) AI에게 추천 경로 한 번만 물어봄 (동기 호출이지만 1회)
-        String recommendedRouteId = upstageAiClient.selectRecommendedRoute(selectedRoutes);
-
-        // 4-3) PathInfo로 변환 (프리뷰 Future 결과 수집)
+        String recommendedRouteId;
         List<PathInfo> pathInfos = new ArrayList<>();
-        for (RouteAnalysisData route : selectedRoutes) {
-            int originalIndex = analyzedRoutes.indexOf(route);
-            List<ReportRequest.Coordinate> encodedPolyline = polylines.get(originalIndex);
-            boolean isRecommended = route.getRouteId().equals(recommendedRouteId);
-
-            List<String> aiPreview;
-            try {
-                // AI 프리뷰 15초 타임아웃
-                aiPreview = previewFutures.get(route.getRouteId())
-                        .get(15, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                log.warn("AI 프리뷰 지연/오류 ({}): {}", route.getRouteId(), e.getMessage());
-                aiPreview = List.of(
-                        "AI 프리뷰가 지연되고 있어요.",
-                        "잠시 후 다시 시도해 주세요.",
-                        "기본 안전 분석만 먼저 제공해요."
+        try {
+            // 4-2) AI에게 추천 경로 한 번만 물어봄 (동기 호출이지만 1회), 간략 모드는 CPTED 최고점
+            recommendedRouteId = degraded
+                    ? selectSafestRouteId(selectedRoutes)
+                    : upstageAiClient.selectRecommendedRoute(selectedRoutes, priority);
+
+            // 4-3) PathInfo로 변환 (프리뷰 Future 결과 수집)
+            for (RouteAnalysisData route : selectedRoutes) {
+                int originalIndex = analyzedRoutes.indexOf(route);
+                List<ReportRequest.Coordinate> encodedPolyline = polylines.get(originalIndex);
+                boolean isRecommended = route.getRouteId().equals(recommendedRouteId);
+
+                List<String> aiPreview;
+                CompletableFuture<List<String>> previewFuture = previewFutures.get(route.getRouteId());
+                try {
+                    // AI 프리뷰 15초 타임아웃 (초과 시 진행 중인 호출 취소)
+                    aiPreview = previewFuture.get(15, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    previewFuture.cancel(true);
+                    log.warn("AI 프리뷰 지연/오류 ({}): {}", route.getRouteId(), e.getMessage());
+                    metrics.fallback(AnalysisMetrics.Fallback.PREVIEW);
+                    aiPreview = List.of(
+                            "AI 프리뷰가 지연되고 있어요.",
+                            "잠시 후 다시 시도해 주세요.",
+                            "기본 안전 분석만 먼저 제공해요."
+                    );
+                }
+
+                // /report 에서 재사용할 수 있도록 분석 결과 보관
+                String routeToken = analysisResultStore.save(route);
+
+                pathInfos.add(
+                        convertToPathInfo(
+                                route,
+                                isRecommended,
+                                encodedPolyline,
+                                minDistance,
+                                minTime,
+                                aiPreview,
+                                routeToken
+                        )
                 );
             }
+        } finally {
+            // 정상 완료 시에는 모두 끝난 상태, 요청이 중단되면 남은 프리뷰 호출 취소
+            previewFutures.values().forEach(future -> future.cancel(true));
+        }
+
+        log.info("경로 검색 완료: 총 {} 개 경로 반환 (추천: {})",
+                pathInfos.size(), recommendedRouteId);
+
+        // ---------------------------------------------------------------------
+        // 5. 추천 경로 리포트 선생성 (백그라운드, 응답은 기다리지 않음)
+        // ---------------------------------------------------------------------
+        if (!degraded) {
+            prefetchRecommendedReport(request, selectedRoutes, pathInfos);
+        }
 
-            pathInfos.add(
-                    convertToPathInfo(
+        return PathSearchResponse.builder()
+                .message("후보 경로 조회 성공")
+                .paths(pathInfos)
+                .build();
+    }
+
+    // 추천 경로의 /report 응답을 미리 생성해 둠
+    private void prefetchRecommendedReport(
+            PathSearchRequest request,
+            List<RouteAnalysisData> selectedRoutes,
+            List<PathInfo> pathInfos
+    ) {
+        for (int i = 0; i < pathInfos.size(); i++) {
+            PathInfo info = pathInfos.get(i);
+            if (!info.isRecommended()) {
+                continue;
+            }
+
+            RouteAnalysisData route = selectedRoutes.get(i);
+            reportPrefetcher.schedule(
+                    info.getRouteToken(),
+                    request.getStartName(),
+                    request.getEndName(),
+                    info.getScore(),
+                    info.getGrade(),
+                    () -> reportService.buildReport(
+                            request.getStartName(),
+                            request.getEndName(),
+                            info.getScore(),
+                            info.getGrade(),
+                            route.getDistance(),
+                            route.getTime(),
                             route,
-                            isRecommended,
-                            encodedPolyline,
-                            minDistance,
-                            minTime,
-                            aiPreview
+                            UpstageDispatcher.Priority.BACKGROUND
                     )
             );
+            return;
         }
+    }
 
-        long aiEnd = System.currentTimeMillis();
+    // 일괄 분석용 1단계: 경로 3개 선택 + (aiPreview 면) BACKGROUND 우선순위 AI 프리뷰 시작
+    // - 추천은 CPTED 최고점, 프리뷰 기본값은 규칙 기반 문구
+    // - chunk 의 모든 쌍을 먼저 선택해서 프리뷰가 동시에 진행되도록 buildBatchPaths 와 분리
+    BatchSelection selectBatchPaths(
+            List<TmapsClient.TmapRoute> tmapRoutes,
+            List<RouteAnalysisData> analyzedRoutes,
+            boolean aiPreview
+    ) {
+        List<RouteAnalysisData> selectedRoutes = selectThreeRoutes(analyzedRoutes);
+        Map<String, CompletableFuture<List<String>>> previewFutures = new HashMap<>();
+        if (aiPreview) {
+            for (RouteAnalysisData route : selectedRoutes) {
+                previewFutures.put(route.getRouteId(),
+                        upstageAiClient.generateRoutePreviewAsync(route, UpstageDispatcher.Priority.BACKGROUND));
+            }
+        }
+        return new BatchSelection(tmapRoutes, analyzedRoutes, selectedRoutes,
+                selectSafestRouteId(selectedRoutes), previewFutures);
+    }
 
-        long totalEnd = System.currentTimeMillis();
+    // 일괄 분석용 2단계: 프리뷰를 기다려서 응답 경로 3개로 구성
+    // - 프리뷰는 시작 시점부터 15초까지만 기다림 (먼저 기다린 쌍의 대기 시간이 뒤 쌍에 더해지지 않음)
+    // - 대량 요청이 /report 용 분석 결과 저장소를 밀어내지 않도록 routeToken 은 발급하지 않음
+    List<PathInfo> buildBatchPaths(BatchSelection selection) throws InterruptedException {
+        List<RouteAnalysisData> selectedRoutes = selection.selectedRoutes;
+        int minDistance = selectedRoutes.stream().mapToInt(RouteAnalysisData::getDistance).min().orElse(1);
+        int minTime = selectedRoutes.stream().mapToInt(RouteAnalysisData::getTime).min().orElse(1);
+
+        List<PathInfo> pathInfos = new ArrayList<>(selectedRoutes.size());
+        try {
+            for (RouteAnalysisData route : selectedRoutes) {
+                int originalIndex = selection.analyzedRoutes.indexOf(route);
+                List<String> preview = upstageAiClient.generateDefaultPreview(route);
+                CompletableFuture<List<String>> previewFuture = selection.previewFutures.get(route.getRouteId());
+                if (previewFuture != null) {
+                    try {
+                        long remaining = selection.previewDeadline - System.nanoTime();
+                        preview = previewFuture.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                    } catch (ExecutionException | TimeoutException e) {
+                        previewFuture.cancel(true);
+                    }
+                }
+
+                pathInfos.add(convertToPathInfo(
+                        route,
+                        route.getRouteId().equals(selection.recommendedRouteId),
+                        selection.tmapRoutes.get(originalIndex).getEncodedPolyline(),
+                        minDistance,
+                        minTime,
+                        preview,
+                        null
+                ));
+            }
+        } finally {
+            selection.cancel();
+        }
+        return pathInfos;
+    }
 
-        log.info("경로 검색 완료: 총 {} 개 경로 반환 (추천: {}) | ⏱️ 전체 소요시간: {}ms (티맵: {}ms, CPTED: {}ms, AI: {}ms)",
-                pathInfos.size(),
-                recommendedRouteId,
-                (totalEnd - totalStart),
-                (tmapEnd - tmapStart),
-                (cptedEnd - cptedStart),
-                (aiEnd - aiStart)
+    // 로컬 그래프 후보 경로, 찾지 못하면 티맵 API (일괄 분석에서도 사용)
+    List<TmapsClient.TmapRoute> findCandidateRoutes(PathSearchRequest request) {
+        List<TmapsClient.TmapRoute> routes = localRouteService.findRoutes(
+                request.getStartLat(),
+                request.getStartLng(),
+                request.getEndLat(),
+                request.getEndLng(),
+                request.getWaypointLat(),  // null 가능
+                request.getWaypointLng()   // null 가능
         );
+        if (!routes.isEmpty()) {
+            return routes;
+        }
+        return tmapsClient.getRoutes(
+                request.getStartLat(),
+                request.getStartLng(),
+                request.getEndLat(),
+                request.getEndLng(),
+                request.getWaypointLat(),
+                request.getWaypointLng()
+        );
+    }
 
-        return PathSearchResponse.builder()
-                .message("후보 경로 조회 성공")
-                .paths(pathInfos)
+    private String selectSafestRouteId(List<RouteAnalysisData> routes) {
+        return routes.stream()
+                .max(Comparator.comparingDouble(RouteAnalysisData::getCptedAvg))
+                .map(RouteAnalysisData::getRouteId)
+                .orElse(routes.get(0).getRouteId());
+    }
+
+    // CPTED 분석 실패 시 기본값
+    private RouteAnalysisData buildFallbackAnalysis(CptedService.RouteInput input) {
+        return RouteAnalysisData.builder()
+                .routeId(input.getRouteId())
+                .distance(input.getDistance())
+                .time(input.getTime())
+                .coordinates(input.getCoordinates())
+                .cctvCount(0)
+                .lightCount(0)
+                .storeCount(0)
+                .policeCount(0)
+                .schoolCount(0)
+                .cptedAvg(0.0)
+                .segments(Collections.emptyList())
+                .riskSegmentCount(0)
                 .build();
     }
 
@@ -264,7 +425,8 @@ public class PathService {
             List<ReportRequest.Coordinate> encodedPolyline,
             int minDistance,
             int minTime,
-            List<String> aiPreview
+            List<String> aiPreview,
+            String routeToken
     ) {
         // 최종 점수 계산 (0~100)
         double rawScore = calcRouteScore(route, minDistance, minTime);
@@ -291,6 +453,7 @@ public class PathService {
                 .summaryGrade(summaryGrade)
                 .aiPreview(aiPreview)        // 전달받은 값 그대로 사용
                 .isRecommended(isRecommended)
+                .routeToken(routeToken)
                 .build();
     }
 
@@ -340,4 +503,32 @@ public class PathService {
         return "E";
     }
 
+    // 일괄 분석 1쌍의 선택 결과 + 진행 중인 AI 프리뷰
+    static final class BatchSelection {
+        private final List<TmapsClient.TmapRoute> tmapRoutes;
+        private final List<RouteAnalysisData> analyzedRoutes;
+        private final List<RouteAnalysisData> selectedRoutes;
+        private final String recommendedRouteId;
+        private final Map<String, CompletableFuture<List<String>>> previewFutures;
+        private final long previewDeadline;
+
+        private BatchSelection(List<TmapsClient.TmapRoute> tmapRoutes,
+                               List<RouteAnalysisData> analyzedRoutes,
+                               List<RouteAnalysisData> selectedRoutes,
+                               String recommendedRouteId,
+                               Map<String, CompletableFuture<List<String>>> previewFutures) {
+            this.tmapRoutes = tmapRoutes;
+            this.analyzedRoutes = analyzedRoutes;
+            this.selectedRoutes = selectedRoutes;
+            this.recommendedRouteId = recommendedRouteId;
+            this.previewFutures = previewFutures;
+            this.previewDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        }
+
+        // 끝나지 않은 프리뷰 호출 취소 (정상 완료 시에는 모두 끝난 상태)
+        void cancel() {
+            previewFutures.values().forEach(future -> future.cancel(true));
+        }
+    }
+
 }
@@ -0,0 +1,320 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import likelion._th.ganzithon.dto.request.ReportRequest;
+import likelion._th.ganzithon.dto.response.ReportResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.util.TtlCache;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+// 추천 경로 리포트 선생성 (사용자가 대부분 추천 경로의 리포트를 열기 때문)
+// - /paths 응답 직후 낮은 우선순위 executor 에서 리포트(Upstage 호출 포함)를 미리 생성
+// - 분당 생성 개수 제한(budget)으로 업스트림 비용 상한
+// - 조회 시점에 아직 생성 중이면 잠깐만 기다리고, 끝나지 않으면 선생성을 취소 (요청은 INTERACTIVE 로 새로 생성)
+// - 적중/미스 카운터로 선생성 효과 확인 (미스는 선생성 리포트가 있었지만 못 쓴 경우만, 선생성 안 한 경로 조회는 따로 집계)
+public class ReportPrefetcher {
+
+    private final Executor prefetchExecutor;
+    private final boolean enabled;
+    private final int maxPerMinute;
+    private final long waitMillis;
+
+    // routeToken → 생성 중이거나 생성된 리포트
+    private final TtlCache<String, Prefetch> reports;
+
+    // 분당 budget 윈도우
+    private final AtomicLong windowStart = new AtomicLong(System.currentTimeMillis());
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skippedBudget = new AtomicLong();
+    private final AtomicLong skippedQueueFull = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notPrefetched = new AtomicLong();
+    // 한 번 이상 사용된 선생성 리포트 수 (같은 리포트를 여러 번 열어도 1)
+    private final AtomicLong used = new AtomicLong();
+
+    public ReportPrefetcher(
+            @Qualifier("prefetchExecutor") Executor prefetchExecutor,
+            @Value("${report.prefetch.enabled:false}") boolean enabled,
+            @Value("${report.prefetch.max-per-minute:20}") int maxPerMinute,
+            @Value("${report.prefetch.ttl-seconds:300}") long ttlSeconds,
+            @Value("${report.prefetch.max-size:200}") int maxSize,
+            @Value("${report.prefetch.wait-ms:300}") long waitMillis,
+            AnalysisMetrics metrics
+    ) {
+        this.prefetchExecutor = prefetchExecutor;
+        this.enabled = enabled;
+        this.maxPerMinute = maxPerMinute;
+        this.waitMillis = waitMillis;
+        this.reports = new TtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        registerMetrics(metrics.registry());
+    }
+
+    // report.prefetch{event}: 선생성 이벤트 누적 횟수, report.prefetch.hit.rate: 적중률
+    private void registerMetrics(MeterRegistry registry) {
+        Map<String, AtomicLong> events = Map.of(
+                "issued", issued,
+                "completed", completed,
+                "failed", failed,
+                "skipped_budget", skippedBudget,
+                "skipped_queue_full", skippedQueueFull,
+                "hit", hits,
+                "miss", misses,
+                "not_prefetched", notPrefetched,
+                "used", used
+        );
+        events.forEach((event, counter) -> FunctionCounter
+                .builder("report.prefetch", counter, AtomicLong::doubleValue)
+                .description("추천 경로 리포트 선생성 이벤트")
+                .tag("event", event)
+                .register(registry));
+
+        Gauge.builder("report.prefetch.hit.rate", this, p -> p.stats().getHitRate())
+                .description("선생성 리포트가 있던 조회 중 그대로 사용한 비율")
+                .register(registry);
+    }
+
+    // 리포트 선생성 예약 (budget 초과 / 큐 포화 시 건너뜀)
+    public boolean schedule(
+            String routeToken,
+            String origin,
+            String destination,
+            int score,
+            String grade,
+            Callable<ReportResponse> task
+    ) {
+        if (!enabled || routeToken == null) {
+            return false;
+        }
+
+        if (!tryAcquireBudget()) {
+            skippedBudget.incrementAndGet();
+            log.debug("[PREFETCH] budget 초과로 건너뜀: 분당 {} 개", maxPerMinute);
+            return false;
+        }
+
+        Prefetch prefetch = new Prefetch();
+        try {
+            prefetchExecutor.execute(() -> {
+                // 큐에서 기다리는 사이 조회 쪽이 취소했으면 Upstage 호출 없이 종료
+                if (!prefetch.start()) {
+                    return;
+                }
+                try {
+                    ReportResponse response = task.call();
+                    if (prefetch.future.complete(new PrefetchedReport(origin, destination, score, grade, response))) {
+                        completed.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    if (!prefetch.future.isCancelled()) {
+                        failed.incrementAndGet();
+                        log.warn("[PREFETCH] 리포트 선생성 실패: {}", e.getMessage());
+                    }
+                    prefetch.future.completeExceptionally(e);
+                } finally {
+                    prefetch.finish();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            skippedQueueFull.incrementAndGet();
+            log.debug("[PREFETCH] executor 포화로 건너뜀");
+            return false;
+        }
+
+        issued.incrementAndGet();
+        reports.put(routeToken, prefetch);
+        return true;
+    }
+
+    // /report 요청과 같은 조건으로 선생성된 리포트가 있으면 반환
+    // 아직 생성 중이면 wait-ms 만큼만 기다리고, 그래도 안 끝나면 선생성을 취소하고 빈 값 반환
+    // (BACKGROUND 우선순위 호출을 기다리지 않고 호출한 쪽이 INTERACTIVE 로 바로 생성)
+    public Optional<ReportResponse> take(ReportRequest request) {
+        if (!enabled || request.getRouteToken() == null) {
+            return Optional.empty();
+        }
+
+        Prefetch prefetch = reports.get(request.getRouteToken());
+        if (prefetch == null) {
+            // 추천 경로가 아니거나 선생성하지 않은 경로 → 적중률에 넣지 않음
+            notPrefetched.incrementAndGet();
+            return Optional.empty();
+        }
+
+        PrefetchedReport prefetched;
+        try {
+            prefetched = prefetch.future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (prefetch.cancel()) {
+                reports.remove(request.getRouteToken(), prefetch);
+            }
+            log.debug("[PREFETCH] 선생성이 끝나지 않아 취소: routeId={}", request.getRouteId());
+            recordMiss();
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordMiss();
+            return Optional.empty();
+        } catch (Exception e) {
+            recordMiss();
+            return Optional.empty();
+        }
+
+        if (!prefetched.matches(request)) {
+            recordMiss();
+            return Optional.empty();
+        }
+
+        long hitCount = hits.incrementAndGet();
+        if (prefetched.used.compareAndSet(false, true)) {
+            used.incrementAndGet();
+        }
+        log.info("[PREFETCH] 선생성 리포트 사용: routeId={} (적중 {} / 미스 {} / 발행 {})",
+                request.getRouteId(), hitCount, misses.get(), issued.get());
+        return Optional.of(prefetched.response);
+    }
+
+    public PrefetchStats stats() {
+        return new PrefetchStats(
+                issued.get(), completed.get(), failed.get(),
+                skippedBudget.get(), skippedQueueFull.get(),
+                hits.get(), misses.get(), notPrefetched.get(), used.get());
+    }
+
+    private void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    // 1분 고정 윈도우 budget
+    private boolean tryAcquireBudget() {
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= 60_000 && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= maxPerMinute;
+    }
+
+    // 선생성 1건 (취소 시 대기 중이면 시작하지 않고, 실행 중이면 실행 스레드를 interrupt 해서 Upstage 호출 취소)
+    private static class Prefetch {
+        final CompletableFuture<PrefetchedReport> future = new CompletableFuture<>();
+        private Thread runner;
+
+        // 이미 취소됐으면 false
+        synchronized boolean start() {
+            if (future.isDone()) {
+                return false;
+            }
+            runner = Thread.currentThread();
+            return true;
+        }
+
+        // 실행 스레드는 풀로 돌아가므로 취소 interrupt 가 남지 않도록 지움
+        synchronized void finish() {
+            runner = null;
+            Thread.interrupted();
+        }
+
+        // 이미 끝났으면 false
+        synchronized boolean cancel() {
+            if (!future.cancel(false)) {
+                return false;
+            }
+            if (runner != null) {
+                runner.interrupt();
+            }
+            return true;
+        }
+    }
+
+    private static class PrefetchedReport {
+        final String origin;
+        final String destination;
+        final int score;
+        final String grade;
+        final ReportResponse response;
+        final AtomicBoolean used = new AtomicBoolean();
+
+        PrefetchedReport(String origin, String destination, int score,
+                         String grade, ReportResponse response) {
+            this.origin = origin;
+            this.destination = destination;
+            this.score = score;
+            this.grade = grade;
+            this.response = response;
+        }
+
+        // 리포트 요약에 들어가는 값이 요청과 같을 때만 재사용
+        boolean matches(ReportRequest request) {
+            int reqScore = request.getScore() != null ? request.getScore() : 0;
+            String reqGrade = request.getGrade() != null ? request.getGrade() : "N/A";
+            return Objects.equals(origin, request.getOrigin())
+                    && Objects.equals(destination, request.getDestination())
+                    && score == reqScore
+                    && Objects.equals(grade, reqGrade);
+        }
+    }
+
+    @Getter
+    public static class PrefetchStats {
+        private final long issued;
+        private final long completed;
+        private final long failed;
+        private final long skippedBudget;
+        private final long skippedQueueFull;
+        private final long hits;
+        private final long misses;
+        private final long notPrefetched;
+        private final long used;
+
+        PrefetchStats(long issued, long completed, long failed, long skippedBudget,
+                      long skippedQueueFull, long hits, long misses, long notPrefetched, long used) {
+            this.issued = issued;
+            this.completed = completed;
+            this.failed = failed;
+            this.skippedBudget = skippedBudget;
+            this.skippedQueueFull = skippedQueueFull;
+            this.hits = hits;
+            this.misses = misses;
+            this.notPrefetched = notPrefetched;
+            this.used = used;
+        }
+
+        // 선생성 리포트가 있던 조회 중 그대로 사용한 비율 (0 ~ 1)
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        // 생성 완료된 리포트 중 한 번이라도 사용된 비율 (0 ~ 1)
+        public double getUsedRate() {
+            return completed == 0 ? 0.0 : (double) used / completed;
+        }
+    }
+}
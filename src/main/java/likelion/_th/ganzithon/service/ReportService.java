@@ -1,11 +1,14 @@
 package likelion._th.ganzithon.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Timer;
 import likelion._th.ganzithon.client.UpstageAiClient;
+import likelion._th.ganzithon.client.UpstageDispatcher;
 import likelion._th.ganzithon.domain.LatLng;
 import likelion._th.ganzithon.dto.RouteAnalysisData;
 import likelion._th.ganzithon.dto.request.ReportRequest;
 import likelion._th.ganzithon.dto.response.ReportResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
 import likelion._th.ganzithon.util.PercentileCalculator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -25,22 +29,77 @@ import java.util.stream.Collectors;
 public class ReportService {
     private final CptedService cptedService;
     private final UpstageAiClient upstageAiClient;
+    private final AnalysisResultStore analysisResultStore;
+    private final ReportPrefetcher reportPrefetcher;
+    private final AnalysisMetrics metrics;
     private PercentileCalculator percentileCalc;
 
     public ReportResponse generateReport(ReportRequest request) throws JsonProcessingException, ExecutionException, InterruptedException, TimeoutException {
-        // 1. polyline 좌표 반환
-        List<ReportRequest.Coordinate> coordinates = request.getCoordinates().stream()
-                .map(c -> new ReportRequest.Coordinate(c.getLat(), c.getLng()))
-                .collect(Collectors.toList());
+        Timer.Sample reportSample = metrics.startTimer();
+        AnalysisMetrics.Outcome outcome = AnalysisMetrics.Outcome.SUCCESS;
+        try {
+            return generateReportInternal(request);
+        } catch (Exception e) {
+            outcome = AnalysisMetrics.Outcome.of(e);
+            throw e;
+        } finally {
+            metrics.stop(reportSample, AnalysisMetrics.Stage.REPORT, outcome);
+        }
+    }
 
-        // 2. CPTED 전체 분석 (구간별 포함)
-        RouteAnalysisData analysis = cptedService.analyzeRoute(
-                request.getRouteId(),
-                coordinates,
-                request.getTotalDistance(),
-                request.getTotalTime()
+    private ReportResponse generateReportInternal(ReportRequest request) throws JsonProcessingException, ExecutionException, InterruptedException, TimeoutException {
+        // 0. 추천 경로로 미리 생성해 둔 리포트가 있으면 그대로 사용
+        Optional<ReportResponse> prefetched = reportPrefetcher.take(request);
+        if (prefetched.isPresent()) {
+            return prefetched.get();
+        }
+
+        // 1~2. CPTED 전체 분석 (토큰이 유효하면 /paths 결과 재사용)
+        RouteAnalysisData analysis = resolveAnalysis(request);
+
+        int score = (request.getScore() != null) ? request.getScore() : 0;
+        String grade = (request.getGrade() != null) ? request.getGrade() : "N/A";
+
+        log.info("[REPORT_SVC_IN] routeId={}, reqScore={}, reqGrade={}",
+                request.getRouteId(), score, grade);
+
+        return buildReport(
+                request.getOrigin(),
+                request.getDestination(),
+                score,
+                grade,
+                request.getTotalDistance() != null ? request.getTotalDistance() : analysis.getDistance(),
+                request.getTotalTime() != null ? request.getTotalTime() : analysis.getTime(),
+                analysis
         );
+    }
+
+    // 분석 결과로 리포트 생성 (/report 요청)
+    public ReportResponse buildReport(
+            String origin,
+            String destination,
+            int score,
+            String grade,
+            Integer totalDistance,
+            Integer totalTime,
+            RouteAnalysisData analysis
+    ) throws JsonProcessingException {
+        return buildReport(origin, destination, score, grade, totalDistance, totalTime, analysis,
+                UpstageDispatcher.Priority.INTERACTIVE);
+    }
 
+    // 분석 결과로 리포트 생성 (/report 요청, 추천 경로 prefetch 공용)
+    // priority: 선생성은 BACKGROUND 로 사용자 요청보다 뒤에 Upstage 호출
+    public ReportResponse buildReport(
+            String origin,
+            String destination,
+            int score,
+            String grade,
+            Integer totalDistance,
+            Integer totalTime,
+            RouteAnalysisData analysis,
+            UpstageDispatcher.Priority priority
+    ) throws JsonProcessingException {
         // 3. CPTED 5대 평가 항목 계산
         ReportResponse.CptedEvaluation cptedEval = calculateCptedEvaluation(analysis);
 
@@ -49,26 +108,21 @@ public class ReportService {
 
         // 5. AI 종합 코멘트 생성
         String aiSummary = upstageAiClient.generateDetailReport(
-                request.getOrigin(),
-                request.getDestination(),
+                origin,
+                destination,
                 analysis,
-                cptedEval
+                cptedEval,
+                priority
         );
 
         // 6. 경로 요약 정보
-        int score = (request.getScore() != null) ? request.getScore() : 0;
-        String grade = (request.getGrade() != null) ? request.getGrade() : "N/A";
-
-        log.info("[REPORT_SVC_IN] routeId={}, reqScore={}, reqGrade={}",
-                request.getRouteId(), score, grade);
-
         String overallGrade = String.format("%s (%d점)", grade, score);
 
         ReportResponse.RouteSummary routeSummary = ReportResponse.RouteSummary.builder()
-                .origin(request.getOrigin())
-                .destination(request.getDestination())
-                .totalDistance(request.getTotalDistance())
-                .totalTime(request.getTotalTime())
+                .origin(origin)
+                .destination(destination)
+                .totalDistance(totalDistance)
+                .totalTime(totalTime)
                 .overallGrade(overallGrade)
                 .score(score)
                 .grade(grade)
@@ -91,6 +145,36 @@ public class ReportService {
                 .build();
     }
 
+    // 분석 결과 확보: 저장된 결과 우선, 없으면 좌표로 재분석
+    private RouteAnalysisData resolveAnalysis(ReportRequest request)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Optional<RouteAnalysisData> stored = analysisResultStore.find(request.getRouteToken());
+        if (stored.isPresent()) {
+            log.info("[REPORT] 저장된 분석 결과 사용: routeId={}", request.getRouteId());
+            return stored.get();
+        }
+
+        if (request.getCoordinates() == null || request.getCoordinates().isEmpty()) {
+            throw new IllegalArgumentException("경로 분석 결과가 만료되었습니다. 좌표와 함께 다시 요청해주세요.");
+        }
+
+        if (request.getRouteToken() != null) {
+            log.info("[REPORT] 분석 토큰 만료, 좌표로 재분석: routeId={}", request.getRouteId());
+        }
+
+        // polyline 좌표 반환
+        List<ReportRequest.Coordinate> coordinates = request.getCoordinates().stream()
+                .map(c -> new ReportRequest.Coordinate(c.getLat(), c.getLng()))
+                .collect(Collectors.toList());
+
+        return cptedService.analyzeRoute(
+                request.getRouteId(),
+                coordinates,
+                request.getTotalDistance(),
+                request.getTotalTime()
+        );
+    }
+
     // CPTED 5대 평가 항목 계산
     private ReportResponse.CptedEvaluation calculateCptedEvaluation(
             RouteAnalysisData analysis
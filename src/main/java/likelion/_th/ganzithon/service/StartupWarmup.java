@@ -0,0 +1,243 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import likelion._th.ganzithon.client.TmapsClient;
+import likelion._th.ganzithon.client.UpstageAiClient;
+import likelion._th.ganzithon.domain.CoordinateBuffer;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.store.CellStore;
+import likelion._th.ganzithon.util.GridIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+@Component
+@Slf4j
+// 콜드 스타트 워밍업 (min-instances 0 → 스케일 업 직후 첫 요청 지연 완화)
+// - 웹 서버보다 먼저 시작하는 lifecycle 이라 워밍업이 끝나야 포트가 열림
+//   → Cloud Run 기본 TCP startup probe 가 워밍업 완료 전에는 트래픽을 보내지 않음
+// - 단계: 셀 저장소 연결(Firestore 채널 등) → Tmap/Upstage 연결 풀 → 인기 지역 셀 캐시 → CPTED 분석 반복(JIT)
+// - 단계별 실패/시간 초과는 로그만 남기고 다음 단계 진행 (워밍업 때문에 기동 실패하지 않음)
+public class StartupWarmup implements SmartLifecycle {
+
+    // 웹 서버 시작 lifecycle(DEFAULT_PHASE - 2048)보다 먼저 실행
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    // 합성 경로: 좌표 300개, 간격 약 7m (북동 방향)
+    private static final int WARMUP_ROUTE_POINTS = 300;
+    private static final double WARMUP_ROUTE_STEP = 0.00005;
+    private static final int WARMUP_ROUTE_DISTANCE = WARMUP_ROUTE_POINTS * 7;
+    private static final double DEFAULT_LAT = 37.5665;
+    private static final double DEFAULT_LNG = 126.9780;
+
+    private final CellStore cellStore;
+    private final TmapsClient tmapsClient;
+    private final UpstageAiClient upstageAiClient;
+    // 운영 지표 / JFR 에 기록하지 않는 워밍업 전용 사본
+    private final CptedService cptedService;
+    private final MeterRegistry registry;
+
+    private final boolean enabled;
+    private final long timeoutSeconds;
+    private final List<HotArea> hotAreas;
+    private final int analysisIterations;
+
+    // 단계 → 소요 시간(ms), 마지막 워밍업 결과
+    private final Map<String, Long> stepMillis = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public StartupWarmup(
+            CellStore cellStore,
+            TmapsClient tmapsClient,
+            UpstageAiClient upstageAiClient,
+            CptedService cptedService,
+            AnalysisMetrics metrics,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.timeout-seconds:60}") long timeoutSeconds,
+            @Value("${warmup.hot-areas:}") List<String> hotAreas,
+            @Value("${warmup.analysis-iterations:50}") int analysisIterations
+    ) {
+        this.cellStore = cellStore;
+        this.tmapsClient = tmapsClient;
+        this.upstageAiClient = upstageAiClient;
+        this.cptedService = cptedService.forWarmup();
+        this.registry = metrics.registry();
+        this.enabled = enabled;
+        this.timeoutSeconds = timeoutSeconds;
+        this.hotAreas = HotArea.parseAll(hotAreas);
+        this.analysisIterations = analysisIterations;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            log.info("[WARMUP] 비활성화");
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        CoordinateBuffer route = buildWarmupRoute();
+
+        Map<String, Callable<String>> steps = new LinkedHashMap<>();
+        steps.put("cell_store", () -> {
+            cellStore.warmup();
+            return cellStore.getClass().getSimpleName();
+        });
+        steps.put("tmap", () -> {
+            tmapsClient.warmupConnection();
+            return "연결 풀";
+        });
+        steps.put("upstage", () -> {
+            upstageAiClient.warmupConnection();
+            return "연결 풀";
+        });
+        steps.put("hot_cells", () -> {
+            List<String> cellIds = hotCellIds(route);
+            int found = cellStore.preload(cellIds);
+            return found + " / " + cellIds.size() + " 셀";
+        });
+        steps.put("cpted", () -> {
+            for (int i = 0; i < analysisIterations; i++) {
+                cptedService.analyzeRoute("warmup", route, WARMUP_ROUTE_DISTANCE, WARMUP_ROUTE_DISTANCE);
+            }
+            return analysisIterations + " 회";
+        });
+
+        long startNanos = System.nanoTime();
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Map.Entry<String, Callable<String>> step : steps.entrySet()) {
+                runStep(executor, step.getKey(), step.getValue(), deadline);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        recordStep("total", totalMillis);
+        log.info("[WARMUP] 완료: 총 {}ms {}", totalMillis, stepMillis);
+    }
+
+    private void runStep(ExecutorService executor, String name, Callable<String> step, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            log.warn("[WARMUP] {} 건너뜀: 전체 제한 시간({}s) 초과", name, timeoutSeconds);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Future<String> future = executor.submit(step);
+        try {
+            String detail = future.get(remaining, TimeUnit.NANOSECONDS);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            recordStep(name, millis);
+            log.info("[WARMUP] {} {}ms ({})", name, millis, detail);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            recordStep(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.warn("[WARMUP] {} 시간 초과, 중단", name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        } catch (ExecutionException e) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            recordStep(name, millis);
+            log.warn("[WARMUP] {} 실패 {}ms: {}", name, millis, e.getCause().toString());
+        }
+    }
+
+    // startup.warmup.duration{step}: 단계별 소요 시간 (초)
+    private void recordStep(String name, long millis) {
+        if (stepMillis.put(name, millis) == null) {
+            Gauge.builder("startup.warmup.duration", stepMillis, m -> m.getOrDefault(name, 0L) / 1000.0)
+                    .description("기동 워밍업 단계별 소요 시간")
+                    .baseUnit("seconds")
+                    .tag("step", name)
+                    .register(registry);
+        }
+    }
+
+    // 인기 지역 + 합성 경로가 지나는 셀 → 셀 캐시에 적재 (합성 경로 분석 반복이 Firestore 를 다시 부르지 않도록)
+    private List<String> hotCellIds(CoordinateBuffer route) {
+        Set<String> cellIds = new LinkedHashSet<>();
+        for (HotArea area : hotAreas) {
+            cellIds.addAll(GridIndex.cellIdsAround(area.lat, area.lng, area.radiusMeters));
+        }
+        for (int i = 0; i < route.size(); i++) {
+            cellIds.add(GridIndex.cellId(route.lat(i), route.lng(i)));
+        }
+        return new ArrayList<>(cellIds);
+    }
+
+    // 첫 번째 인기 지역 중심에서 북동쪽으로 가는 경로
+    private CoordinateBuffer buildWarmupRoute() {
+        double lat = hotAreas.isEmpty() ? DEFAULT_LAT : hotAreas.get(0).lat;
+        double lng = hotAreas.isEmpty() ? DEFAULT_LNG : hotAreas.get(0).lng;
+        CoordinateBuffer route = new CoordinateBuffer(WARMUP_ROUTE_POINTS);
+        for (int i = 0; i < WARMUP_ROUTE_POINTS; i++) {
+            route.add(lat + i * WARMUP_ROUTE_STEP, lng + i * WARMUP_ROUTE_STEP);
+        }
+        return route;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // "위도:경도:반경(m)" (타일 선생성에서도 같은 설정 사용)
+    static class HotArea {
+        final double lat;
+        final double lng;
+        final double radiusMeters;
+
+        HotArea(double lat, double lng, double radiusMeters) {
+            this.lat = lat;
+            this.lng = lng;
+            this.radiusMeters = radiusMeters;
+        }
+
+        static List<HotArea> parseAll(List<String> specs) {
+            List<HotArea> areas = new ArrayList<>();
+            for (String spec : specs) {
+                if (spec == null || spec.isBlank()) {
+                    continue;
+                }
+                String[] parts = spec.trim().split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("warmup.hot-areas 형식은 위도:경도:반경(m) 입니다: " + spec);
+                }
+                areas.add(new HotArea(
+                        Double.parseDouble(parts[0]),
+                        Double.parseDouble(parts[1]),
+                        Double.parseDouble(parts[2])));
+            }
+            return areas;
+        }
+    }
+}
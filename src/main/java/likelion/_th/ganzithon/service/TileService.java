@@ -0,0 +1,262 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.store.CellGrid;
+import likelion._th.ganzithon.util.GridIndex;
+import likelion._th.ganzithon.util.TtlCache;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+@Component
+@Slf4j
+// CPTED 히트맵 타일 (z/x/y, Web Mercator)
+// - 메모리 그리드(CellGridService)에서 타일 범위의 셀만 순회해서 bins x bins 칸으로 집계
+// - 응답은 작은 바이너리 벡터 타일 "CTL1" (아래 encode 참고), 값이 있는 칸만 기록
+// - 그리드 버전 + z/x/y 로 캐시, ETag 는 타일 바이트의 CRC32
+// - 그리드 적재가 끝날 때마다 핫 영역(warmup.hot-areas)의 tiles.precompute-zooms 타일을 미리 생성
+public class TileService {
+
+    public static final String MEDIA_TYPE = "application/x-cpted-tile";
+
+    private static final byte[] MAGIC = {'C', 'T', 'L', '1'};
+    private static final int HEADER_BYTES = 4 + 1 + 4 + 4 + 1 + 2;
+    // row u8, col u8, cells u16, avgScore x100 u16, 시설 개수 int32 x 5
+    private static final int BIN_BYTES = 1 + 1 + 2 + 2 + 4 * 5;
+
+    private final CellGridService gridService;
+    private final int minZoom;
+    private final int maxZoom;
+    private final int bins;
+    private final List<Integer> precomputeZooms;
+    private final List<StartupWarmup.HotArea> hotAreas;
+
+    // "그리드 버전/z/x/y" → 타일
+    private final TtlCache<String, Tile> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong precomputed = new AtomicLong();
+
+    public TileService(
+            CellGridService gridService,
+            AnalysisMetrics metrics,
+            @Value("${tiles.min-zoom:10}") int minZoom,
+            @Value("${tiles.max-zoom:18}") int maxZoom,
+            @Value("${tiles.bins:64}") int bins,
+            @Value("${tiles.precompute-zooms:13,14,15}") List<Integer> precomputeZooms,
+            @Value("${warmup.hot-areas:}") List<String> hotAreas,
+            @Value("${tiles.cache.max-size:5000}") int cacheMaxSize,
+            @Value("${tiles.cache.ttl-minutes:120}") long cacheTtlMinutes
+    ) {
+        if (bins < 1 || bins > 255) {
+            throw new IllegalArgumentException("tiles.bins 는 1 ~ 255 이어야 합니다: " + bins);
+        }
+        this.gridService = gridService;
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        this.bins = bins;
+        this.precomputeZooms = precomputeZooms;
+        this.hotAreas = StartupWarmup.HotArea.parseAll(hotAreas);
+        this.cache = new TtlCache<>(cacheMaxSize, Duration.ofMinutes(cacheTtlMinutes));
+        registerMetrics(metrics.registry());
+        gridService.addListener(grid -> precompute());
+    }
+
+    // tiles{result}: 캐시 적중 / 생성 / 선생성 개수
+    private void registerMetrics(MeterRegistry registry) {
+        Map<String, AtomicLong> results = Map.of(
+                "hit", hits,
+                "miss", misses,
+                "precomputed", precomputed
+        );
+        results.forEach((result, counter) -> FunctionCounter
+                .builder("tiles", counter, AtomicLong::doubleValue)
+                .description("CPTED 타일 요청 / 생성 결과")
+                .tag("result", result)
+                .register(registry));
+    }
+
+    // 그리드 적재 전이면 false (빈 타일을 캐시하지 않도록)
+    public boolean ready() {
+        return gridService.ready();
+    }
+
+    public Tile tile(int z, int x, int y) {
+        if (z < minZoom || z > maxZoom) {
+            throw new IllegalArgumentException("zoom 은 " + minZoom + " ~ " + maxZoom + " 이어야 합니다: " + z);
+        }
+        long n = 1L << z;
+        if (x < 0 || x >= n || y < 0 || y >= n) {
+            throw new IllegalArgumentException("타일 좌표가 범위를 벗어났습니다: " + z + "/" + x + "/" + y);
+        }
+
+        long version = gridService.version();
+        String key = version + "/" + z + "/" + x + "/" + y;
+        Tile cached = cache.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        Tile tile = render(gridService.current(), version, z, x, y);
+        cache.put(key, tile);
+        return tile;
+    }
+
+    // 핫 영역을 덮는 타일 선생성 (그리드 적재 스레드에서 실행)
+    void precompute() {
+        if (hotAreas.isEmpty() || precomputeZooms.isEmpty()) {
+            return;
+        }
+        CellGrid grid = gridService.current();
+        long version = gridService.version();
+        int count = 0;
+        for (int z : precomputeZooms) {
+            if (z < minZoom || z > maxZoom) {
+                continue;
+            }
+            for (StartupWarmup.HotArea area : hotAreas) {
+                double dLat = GridIndex.latDegrees(area.radiusMeters);
+                double dLng = GridIndex.lngDegrees(area.radiusMeters, area.lat);
+                int minX = tileX(area.lng - dLng, z);
+                int maxX = tileX(area.lng + dLng, z);
+                int minY = tileY(area.lat + dLat, z);
+                int maxY = tileY(area.lat - dLat, z);
+                for (int x = minX; x <= maxX; x++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        String key = version + "/" + z + "/" + x + "/" + y;
+                        if (cache.get(key) == null) {
+                            cache.put(key, render(grid, version, z, x, y));
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        precomputed.addAndGet(count);
+        log.info("[TILE] 타일 {} 개 선생성 (zoom {})", count, precomputeZooms);
+    }
+
+    private Tile render(CellGrid grid, long version, int z, int x, int y) {
+        double n = 1L << z;
+        double west = x / n * 360.0 - 180.0;
+        double east = (x + 1) / n * 360.0 - 180.0;
+        double north = tileLat(y, z);
+        double south = tileLat(y + 1, z);
+
+        int binCount = bins * bins;
+        int[] cells = new int[binCount];
+        double[] scoreSum = new double[binCount];
+        int[] cctv = new int[binCount];
+        int[] light = new int[binCount];
+        int[] store = new int[binCount];
+        int[] police = new int[binCount];
+        int[] school = new int[binCount];
+
+        // 셀 중심이 타일 안에 있는 셀만, 중심의 mercator 위치로 칸 결정
+        grid.forEach(GridIndex.latIndex(south), GridIndex.latIndex(north),
+                GridIndex.lngIndex(west), GridIndex.lngIndex(east),
+                (latIdx, lngIdx, c, l, s, p, sc, score) -> {
+                    double lat = (latIdx + 0.5) * GridIndex.GRID_SIZE;
+                    double lng = (lngIdx + 0.5) * GridIndex.GRID_SIZE;
+                    double fx = (lng + 180.0) / 360.0 * n - x;
+                    double fy = mercatorY(lat) * n - y;
+                    if (fx < 0 || fx >= 1 || fy < 0 || fy >= 1) {
+                        return;
+                    }
+                    int bin = (int) (fy * bins) * bins + (int) (fx * bins);
+                    cells[bin]++;
+                    scoreSum[bin] += score;
+                    cctv[bin] += c;
+                    light[bin] += l;
+                    store[bin] += s;
+                    police[bin] += p;
+                    school[bin] += sc;
+                });
+
+        int filled = 0;
+        for (int count : cells) {
+            if (count > 0) {
+                filled++;
+            }
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + filled * BIN_BYTES);
+        buf.put(MAGIC)
+                .put((byte) z)
+                .putInt(x)
+                .putInt(y)
+                .put((byte) (bins - 1))
+                .putShort((short) filled);
+        for (int bin = 0; bin < binCount; bin++) {
+            if (cells[bin] == 0) {
+                continue;
+            }
+            long avgScore = Math.round(scoreSum[bin] / cells[bin] * 100);
+            buf.put((byte) (bin / bins))
+                    .put((byte) (bin % bins))
+                    .putShort((short) Math.min(cells[bin], 0xFFFF))
+                    .putShort((short) Math.max(0, Math.min(avgScore, 0xFFFF)))
+                    .putInt(cctv[bin])
+                    .putInt(light[bin])
+                    .putInt(store[bin])
+                    .putInt(police[bin])
+                    .putInt(school[bin]);
+        }
+
+        byte[] body = buf.array();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        String etag = "\"" + version + "-" + Long.toHexString(crc.getValue()) + "\"";
+        return new Tile(body, etag, filled);
+    }
+
+    // 위도 → mercator y (0 = 북쪽 끝, 1 = 남쪽 끝)
+    private static double mercatorY(double lat) {
+        double rad = Math.toRadians(lat);
+        return (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2;
+    }
+
+    private static double tileLat(int y, int z) {
+        double m = Math.PI * (1 - 2.0 * y / (1L << z));
+        return Math.toDegrees(Math.atan(Math.sinh(m)));
+    }
+
+    private static int tileX(double lng, int z) {
+        int n = 1 << z;
+        return Math.max(0, Math.min(n - 1, (int) Math.floor((lng + 180.0) / 360.0 * n)));
+    }
+
+    private static int tileY(double lat, int z) {
+        int n = 1 << z;
+        return Math.max(0, Math.min(n - 1, (int) Math.floor(mercatorY(lat) * n)));
+    }
+
+    // 타일 바이트 형식 (big-endian)
+    // header: "CTL1", zoom u8, x u32, y u32, bins-1 u8, 칸 개수 u16 (bins ≤ 255 라 255² 칸도 u16 안에 들어감)
+    // 칸:     row u8, col u8, 셀 개수 u16, 평균 cptedScore x100 u16,
+    //         cctv / light / store / police / school 개수 int32
+    @Getter
+    public static class Tile {
+        private final byte[] body;
+        private final String etag;
+        private final int filledBins;
+
+        Tile(byte[] body, String etag, int filledBins) {
+            this.body = body;
+            this.etag = etag;
+            this.filledBins = filledBins;
+        }
+    }
+}
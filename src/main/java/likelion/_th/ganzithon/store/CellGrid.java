@@ -0,0 +1,259 @@
+package likelion._th.ganzithon.store;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.util.GridIndex;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// 메모리에 올린 CPTED 그리드 (읽기 전용 스냅샷)
+// - 셀 인덱스 공간을 64 x 64 블록으로 나누고, 데이터가 있는 블록만 보관
+// - 블록 안은 항목별 primitive 배열 + 행 단위 비트마스크(셀 존재 여부)
+// - 범위 조회는 범위에 걸친 블록만 찾아서 순회 (셀 개수에 비례, 저장소 조회 없음)
+// - 사각형 합계는 적재 시 만든 누적합 테이블(SummedAreaTable)로 O(1)
+public class CellGrid {
+
+    public static final int BLOCK_BITS = 6;
+    public static final int BLOCK_SIZE = 1 << BLOCK_BITS;   // 64
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    // 누적합 테이블 최대 크기 (슬롯당 약 60 byte → 약 60MB), 넘으면 합계도 셀 순회로 계산
+    private static final long MAX_SUM_TABLE_CELLS = 1L << 20;
+
+    // 범위 순회 콜백 (셀 하나)
+    @FunctionalInterface
+    public interface CellVisitor {
+        void visit(long latIdx, long lngIdx, int cctv, int light, int store,
+                   int police, int school, double cptedScore);
+    }
+
+    private final Map<Long, Block> blocks;
+    private final int cellCount;
+    private final long minLatIdx;
+    private final long maxLatIdx;
+    private final long minLngIdx;
+    private final long maxLngIdx;
+    // build() 에서 한 번 채우고 이후 변경 없음
+    private SummedAreaTable sums;
+
+    private CellGrid(Map<Long, Block> blocks, int cellCount,
+                     long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx) {
+        this.blocks = blocks;
+        this.cellCount = cellCount;
+        this.minLatIdx = minLatIdx;
+        this.maxLatIdx = maxLatIdx;
+        this.minLngIdx = minLngIdx;
+        this.maxLngIdx = maxLngIdx;
+    }
+
+    public static CellGrid empty() {
+        return new CellGrid(Map.of(), 0, 0, -1, 0, -1);
+    }
+
+    // cellId 형식이 아닌 셀은 건너뜀, 같은 셀이 여러 번 있으면 마지막 값 사용
+    public static CellGrid build(Collection<FirebaseClient.SafetyCell> cells) {
+        Map<Long, Block> blocks = new HashMap<>();
+        int count = 0;
+        long minLat = Long.MAX_VALUE, maxLat = Long.MIN_VALUE;
+        long minLng = Long.MAX_VALUE, maxLng = Long.MIN_VALUE;
+
+        for (FirebaseClient.SafetyCell cell : cells) {
+            long[] idx = GridIndex.parseCellId(cell.getCellId());
+            if (idx == null) {
+                continue;
+            }
+            long latIdx = idx[0];
+            long lngIdx = idx[1];
+            Block block = blocks.computeIfAbsent(
+                    GridIndex.packKey(latIdx >> BLOCK_BITS, lngIdx >> BLOCK_BITS), k -> new Block());
+            if (block.put((int) (latIdx & BLOCK_MASK), (int) (lngIdx & BLOCK_MASK), cell)) {
+                count++;
+            }
+
+            minLat = Math.min(minLat, latIdx);
+            maxLat = Math.max(maxLat, latIdx);
+            minLng = Math.min(minLng, lngIdx);
+            maxLng = Math.max(maxLng, lngIdx);
+        }
+
+        if (count == 0) {
+            return empty();
+        }
+        blocks.values().forEach(Block::computeScoreRange);
+        CellGrid grid = new CellGrid(blocks, count, minLat, maxLat, minLng, maxLng);
+        grid.sums = SummedAreaTable.build(grid, minLat, maxLat, minLng, maxLng, MAX_SUM_TABLE_CELLS);
+        return grid;
+    }
+
+    public int cellCount() {
+        return cellCount;
+    }
+
+    public int blockCount() {
+        return blocks.size();
+    }
+
+    public boolean isEmpty() {
+        return cellCount == 0;
+    }
+
+    // 인덱스 범위 [minLatIdx, maxLatIdx] x [minLngIdx, maxLngIdx] (양끝 포함) 안의 셀 순회
+    public void forEach(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx, CellVisitor visitor) {
+        long fromLat = Math.max(minLatIdx, this.minLatIdx);
+        long toLat = Math.min(maxLatIdx, this.maxLatIdx);
+        long fromLng = Math.max(minLngIdx, this.minLngIdx);
+        long toLng = Math.min(maxLngIdx, this.maxLngIdx);
+        if (fromLat > toLat || fromLng > toLng) {
+            return;
+        }
+
+        for (long blockLat = fromLat >> BLOCK_BITS; blockLat <= toLat >> BLOCK_BITS; blockLat++) {
+            for (long blockLng = fromLng >> BLOCK_BITS; blockLng <= toLng >> BLOCK_BITS; blockLng++) {
+                Block block = blocks.get(GridIndex.packKey(blockLat, blockLng));
+                if (block == null) {
+                    continue;
+                }
+                long baseLat = blockLat << BLOCK_BITS;
+                long baseLng = blockLng << BLOCK_BITS;
+                int rowFrom = (int) (Math.max(fromLat, baseLat) - baseLat);
+                int rowTo = (int) (Math.min(toLat, baseLat + BLOCK_MASK) - baseLat);
+                int colFrom = (int) (Math.max(fromLng, baseLng) - baseLng);
+                int colTo = (int) (Math.min(toLng, baseLng + BLOCK_MASK) - baseLng);
+                block.forEach(baseLat, baseLng, rowFrom, rowTo, colFrom, colTo, visitor);
+            }
+        }
+    }
+
+    // 인덱스 사각형 (양끝 포함) 안 셀 값 합계 (AreaQueryService bbox 조회용)
+    // corridor 분석(RouteCorridor)은 셀마다 선분까지 거리 가중치를 곱하고 구간 안 중복을 빼야 해서 사각형 합으로 대신하지 않음
+    public SummedAreaTable.RectSum sum(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx) {
+        if (sums != null) {
+            return sums.sum(minLatIdx, maxLatIdx, minLngIdx, maxLngIdx);
+        }
+        long[] counts = new long[6];
+        double[] scoreSum = new double[1];
+        forEach(minLatIdx, maxLatIdx, minLngIdx, maxLngIdx, (latIdx, lngIdx, c, l, s, p, sc, score) -> {
+            counts[0]++;
+            counts[1] += c;
+            counts[2] += l;
+            counts[3] += s;
+            counts[4] += p;
+            counts[5] += sc;
+            scoreSum[0] += score;
+        });
+        return new SummedAreaTable.RectSum((int) counts[0], counts[1], counts[2], counts[3],
+                counts[4], counts[5], scoreSum[0]);
+    }
+
+    // 인덱스 사각형 안 cptedScore {최소, 최대}, 셀이 없으면 null
+    // 사각형이 블록 전체를 덮으면 블록 min/max 사용, 걸치기만 한 가장자리 블록만 셀 순회
+    public double[] scoreRange(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx) {
+        long fromLat = Math.max(minLatIdx, this.minLatIdx);
+        long toLat = Math.min(maxLatIdx, this.maxLatIdx);
+        long fromLng = Math.max(minLngIdx, this.minLngIdx);
+        long toLng = Math.min(maxLngIdx, this.maxLngIdx);
+        if (fromLat > toLat || fromLng > toLng) {
+            return null;
+        }
+
+        double[] range = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        CellVisitor visitor = (latIdx, lngIdx, c, l, s, p, sc, score) -> {
+            range[0] = Math.min(range[0], score);
+            range[1] = Math.max(range[1], score);
+        };
+        for (long blockLat = fromLat >> BLOCK_BITS; blockLat <= toLat >> BLOCK_BITS; blockLat++) {
+            for (long blockLng = fromLng >> BLOCK_BITS; blockLng <= toLng >> BLOCK_BITS; blockLng++) {
+                Block block = blocks.get(GridIndex.packKey(blockLat, blockLng));
+                if (block == null) {
+                    continue;
+                }
+                long baseLat = blockLat << BLOCK_BITS;
+                long baseLng = blockLng << BLOCK_BITS;
+                int rowFrom = (int) (Math.max(fromLat, baseLat) - baseLat);
+                int rowTo = (int) (Math.min(toLat, baseLat + BLOCK_MASK) - baseLat);
+                int colFrom = (int) (Math.max(fromLng, baseLng) - baseLng);
+                int colTo = (int) (Math.min(toLng, baseLng + BLOCK_MASK) - baseLng);
+                if (rowFrom == 0 && colFrom == 0 && rowTo == BLOCK_MASK && colTo == BLOCK_MASK) {
+                    range[0] = Math.min(range[0], block.minScore);
+                    range[1] = Math.max(range[1], block.maxScore);
+                } else {
+                    block.forEach(baseLat, baseLng, rowFrom, rowTo, colFrom, colTo, visitor);
+                }
+            }
+        }
+        return range[0] <= range[1] ? range : null;
+    }
+
+    // 셀 하나의 cptedScore, 없으면 missing
+    public double score(long latIdx, long lngIdx, double missing) {
+        Block block = blocks.get(GridIndex.packKey(latIdx >> BLOCK_BITS, lngIdx >> BLOCK_BITS));
+        int row = (int) (latIdx & BLOCK_MASK);
+        int col = (int) (lngIdx & BLOCK_MASK);
+        if (block == null || !block.present(row, col)) {
+            return missing;
+        }
+        return block.score[(row << BLOCK_BITS) | col];
+    }
+
+    // 셀 하나 조회, 없으면 false
+    public boolean contains(long latIdx, long lngIdx) {
+        Block block = blocks.get(GridIndex.packKey(latIdx >> BLOCK_BITS, lngIdx >> BLOCK_BITS));
+        return block != null && block.present((int) (latIdx & BLOCK_MASK), (int) (lngIdx & BLOCK_MASK));
+    }
+
+    // 64 x 64 셀 블록 (slot = row * 64 + col)
+    private static final class Block {
+        private final long[] presentRows = new long[BLOCK_SIZE];
+        private final int[] cctv = new int[BLOCK_SIZE * BLOCK_SIZE];
+        private final int[] light = new int[BLOCK_SIZE * BLOCK_SIZE];
+        private final int[] store = new int[BLOCK_SIZE * BLOCK_SIZE];
+        private final int[] police = new int[BLOCK_SIZE * BLOCK_SIZE];
+        private final int[] school = new int[BLOCK_SIZE * BLOCK_SIZE];
+        private final double[] score = new double[BLOCK_SIZE * BLOCK_SIZE];
+        private double minScore = Double.POSITIVE_INFINITY;
+        private double maxScore = Double.NEGATIVE_INFINITY;
+
+        // 새 셀이면 true
+        boolean put(int row, int col, FirebaseClient.SafetyCell cell) {
+            int slot = (row << BLOCK_BITS) | col;
+            boolean added = !present(row, col);
+            presentRows[row] |= 1L << col;
+            cctv[slot] = cell.getCctvCount();
+            light[slot] = cell.getLightCount();
+            store[slot] = cell.getStoreCount();
+            police[slot] = cell.getPoliceCount();
+            school[slot] = cell.getSchoolCount();
+            score[slot] = cell.getCptedScore();
+            return added;
+        }
+
+        // 적재가 끝난 뒤 한 번 (같은 셀 덮어쓰기가 있어도 최종 값 기준)
+        void computeScoreRange() {
+            forEach(0, 0, 0, BLOCK_MASK, 0, BLOCK_MASK, (latIdx, lngIdx, c, l, s, p, sc, cptedScore) -> {
+                minScore = Math.min(minScore, cptedScore);
+                maxScore = Math.max(maxScore, cptedScore);
+            });
+        }
+
+        boolean present(int row, int col) {
+            return (presentRows[row] & (1L << col)) != 0;
+        }
+
+        void forEach(long baseLat, long baseLng, int rowFrom, int rowTo, int colFrom, int colTo,
+                     CellVisitor visitor) {
+            // colFrom ~ colTo 비트만 남기는 마스크
+            long colMask = (colTo == BLOCK_MASK ? -1L : (1L << (colTo + 1)) - 1) & (-1L << colFrom);
+            for (int row = rowFrom; row <= rowTo; row++) {
+                long bits = presentRows[row] & colMask;
+                while (bits != 0) {
+                    int col = Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int slot = (row << BLOCK_BITS) | col;
+                    visitor.visit(baseLat + row, baseLng + col,
+                            cctv[slot], light[slot], store[slot], police[slot], school[slot], score[slot]);
+                }
+            }
+        }
+    }
+}
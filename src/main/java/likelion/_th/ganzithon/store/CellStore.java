@@ -0,0 +1,39 @@
+package likelion._th.ganzithon.store;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+// CPTED 그리드 셀 저장소 (cell-store.type 으로 구현 선택: firestore / memory / jdbc)
+// - 셀 키는 "latIdx_lngIdx" (util.GridIndex)
+// - 범위 조회는 인덱스 공간의 사각형 [minLatIdx, maxLatIdx] x [minLngIdx, maxLngIdx] (양끝 포함)
+public interface CellStore {
+
+    // 여러 셀을 한 번에 조회, 없는 셀은 결과에서 빠짐
+    Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    // getCells 와 같고, 원본에서 끝까지 확인하지 못한 셀(타임아웃 / 실패한 배치) id 를 unresolved 에 추가
+    // - 결과에도 unresolved 에도 없는 셀만 원본에 없다고 확정된 셀 (negative cache 대상)
+    default Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds, Set<String> unresolved)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return getCells(cellIds);
+    }
+
+    // 인덱스 범위 안의 셀 전체 조회
+    List<FirebaseClient.SafetyCell> scan(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx)
+            throws ExecutionException, InterruptedException, TimeoutException;
+
+    // 저장소 연결 준비 (기동 워밍업용)
+    default void warmup() throws Exception {
+    }
+
+    // 자주 쓰는 셀을 미리 읽어 둠, 읽은 셀 개수 반환 (기동 워밍업용)
+    default int preload(List<String> cellIds) throws Exception {
+        return getCells(cellIds).size();
+    }
+}
@@ -0,0 +1,46 @@
+package likelion._th.ganzithon.store;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+// Firestore cpted_grid 컬렉션 (기존 FirebaseClient 그대로 사용)
+// 범위 조회는 위도 행마다 문서 id 범위 쿼리 1회 (없는 셀은 읽지 않음 → 읽기 비용은 실제 셀 수만큼)
+@RequiredArgsConstructor
+public class FirestoreCellStore implements CellStore {
+
+    private final FirebaseClient firebaseClient;
+
+    @Override
+    public Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return firebaseClient.getCellDataBatch(cellIds);
+    }
+
+    @Override
+    public Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds, Set<String> unresolved)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return firebaseClient.getCellDataBatch(cellIds, unresolved);
+    }
+
+    @Override
+    public List<FirebaseClient.SafetyCell> scan(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        List<FirebaseClient.SafetyCell> cells = new ArrayList<>();
+        for (long latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+            cells.addAll(firebaseClient.scanRow(latIdx, minLngIdx, maxLngIdx));
+        }
+        return cells;
+    }
+
+    @Override
+    public void warmup() throws Exception {
+        firebaseClient.warmupChannel();
+    }
+}
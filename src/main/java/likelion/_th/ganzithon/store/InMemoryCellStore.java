@@ -0,0 +1,131 @@
+package likelion._th.ganzithon.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.util.GridIndex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// 메모리 셀 저장소 (로컬 실행 / 부하 테스트 / 벤치마크용)
+// - 파일: SafetyCell 필드를 가진 JSON 배열을 읽어서 보관
+// - synthetic: cellId 해시로 셀 값을 결정적으로 생성 (약 10% 는 없는 셀)
+// - latencyMs: 조회 1회당 지연 (원격 저장소 왕복 흉내)
+@Slf4j
+public class InMemoryCellStore implements CellStore {
+
+    private static final String SYNTHETIC = "synthetic";
+
+    // null 이면 synthetic
+    private final Map<String, FirebaseClient.SafetyCell> cells;
+    private final long latencyMs;
+    private final AnalysisMetrics metrics;
+
+    public InMemoryCellStore(Map<String, FirebaseClient.SafetyCell> cells, long latencyMs, AnalysisMetrics metrics) {
+        this.cells = cells;
+        this.latencyMs = latencyMs;
+        this.metrics = metrics;
+    }
+
+    // source: "synthetic" 또는 JSON 파일 경로
+    public static InMemoryCellStore load(String source, long latencyMs, AnalysisMetrics metrics) throws IOException {
+        if (SYNTHETIC.equalsIgnoreCase(source)) {
+            log.info("[CellStore] memory: synthetic 셀 (latency={}ms)", latencyMs);
+            return new InMemoryCellStore(null, latencyMs, metrics);
+        }
+
+        FirebaseClient.SafetyCell[] loaded = new ObjectMapper()
+                .readValue(Files.readAllBytes(Path.of(source)), FirebaseClient.SafetyCell[].class);
+        Map<String, FirebaseClient.SafetyCell> cells = new HashMap<>(loaded.length * 2);
+        for (FirebaseClient.SafetyCell cell : loaded) {
+            cells.put(cell.getCellId(), cell);
+        }
+        log.info("[CellStore] memory: {} 에서 {} 개 셀 로드 (latency={}ms)", source, cells.size(), latencyMs);
+        return new InMemoryCellStore(cells, latencyMs, metrics);
+    }
+
+    @Override
+    public Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds) throws InterruptedException {
+        Timer.Sample sample = metrics.startTimer();
+        simulateLatency();
+
+        Map<String, FirebaseClient.SafetyCell> results = new HashMap<>(cellIds.size() * 2);
+        for (String cellId : cellIds) {
+            FirebaseClient.SafetyCell cell = find(cellId);
+            if (cell != null) {
+                results.put(cellId, cell);
+            }
+        }
+
+        metrics.stop(sample, AnalysisMetrics.Stage.CELL_FETCH);
+        metrics.recordCells(cellIds.size(), results.size());
+        return results;
+    }
+
+    @Override
+    public List<FirebaseClient.SafetyCell> scan(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx)
+            throws InterruptedException {
+        simulateLatency();
+
+        List<FirebaseClient.SafetyCell> results = new ArrayList<>();
+        long area = (maxLatIdx - minLatIdx + 1) * (maxLngIdx - minLngIdx + 1);
+
+        // 범위가 보관 중인 셀 수보다 작으면 범위 안의 키를 직접 조회, 크면 전체 순회
+        if (cells == null || area <= cells.size()) {
+            for (long latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+                for (long lngIdx = minLngIdx; lngIdx <= maxLngIdx; lngIdx++) {
+                    FirebaseClient.SafetyCell cell = find(GridIndex.cellId(latIdx, lngIdx));
+                    if (cell != null) {
+                        results.add(cell);
+                    }
+                }
+            }
+            return results;
+        }
+
+        for (FirebaseClient.SafetyCell cell : cells.values()) {
+            long[] idx = GridIndex.parseCellId(cell.getCellId());
+            if (idx != null
+                    && idx[0] >= minLatIdx && idx[0] <= maxLatIdx
+                    && idx[1] >= minLngIdx && idx[1] <= maxLngIdx) {
+                results.add(cell);
+            }
+        }
+        return results;
+    }
+
+    private FirebaseClient.SafetyCell find(String cellId) {
+        return cells != null ? cells.get(cellId) : synthesize(cellId);
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+    }
+
+    private static FirebaseClient.SafetyCell synthesize(String cellId) {
+        SplittableRandom random = new SplittableRandom(cellId.hashCode());
+        if (random.nextInt(10) == 0) {
+            return null;
+        }
+        return FirebaseClient.SafetyCell.builder()
+                .cellId(cellId)
+                .cctvCount(random.nextInt(12))
+                .lightCount(random.nextInt(20))
+                .storeCount(random.nextInt(6))
+                .policeCount(random.nextInt(2))
+                .schoolCount(random.nextInt(3))
+                .cptedScore(Math.round(random.nextDouble(5.0) * 10.0) / 10.0)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package likelion._th.ganzithon.store;
+
+import io.micrometer.core.instrument.Timer;
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import likelion._th.ganzithon.util.GridIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+// SQL 셀 저장소 (H2 / MySQL, 스키마: resources/db/cpted_grid.sql)
+// - 셀 키를 정수 컬럼 (lat_idx, lng_idx) 복합 PK 로 저장
+// - batch 조회: 요청 키가 좁은 범위에 몰려 있으면 PK 범위 조회 1회 후 필터,
+//   흩어져 있으면 (lat_idx, lng_idx) IN ((?, ?), ...) 을 최대 500 키씩
+@Slf4j
+public class JdbcCellStore implements CellStore {
+
+    private static final String COLUMNS =
+            "lat_idx, lng_idx, cctv_count, light_count, store_count, police_count, school_count, cpted_score";
+
+    private static final String RANGE_QUERY = "SELECT " + COLUMNS + " FROM cpted_grid"
+            + " WHERE lat_idx BETWEEN ? AND ? AND lng_idx BETWEEN ? AND ?";
+
+    private static final int MAX_KEYS_PER_QUERY = 500;
+
+    // 범위 면적이 요청 키 개수의 이 배수 이하면 범위 조회 (경로 셀은 대부분 좁은 띠에 모여 있음)
+    private static final int RANGE_DENSITY_FACTOR = 4;
+
+    private static final RowMapper<FirebaseClient.SafetyCell> ROW_MAPPER = (rs, rowNum) ->
+            FirebaseClient.SafetyCell.builder()
+                    .cellId(GridIndex.cellId(rs.getLong("lat_idx"), rs.getLong("lng_idx")))
+                    .cctvCount(rs.getInt("cctv_count"))
+                    .lightCount(rs.getInt("light_count"))
+                    .storeCount(rs.getInt("store_count"))
+                    .policeCount(rs.getInt("police_count"))
+                    .schoolCount(rs.getInt("school_count"))
+                    .cptedScore(rs.getDouble("cpted_score"))
+                    .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AnalysisMetrics metrics;
+
+    public JdbcCellStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, AnalysisMetrics metrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds) {
+        if (cellIds == null || cellIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Timer.Sample sample = metrics.startTimer();
+
+        // 키 파싱 + 요청 범위 계산 (형식이 다른 키는 DB 에 없으므로 제외)
+        Set<String> requested = new HashSet<>(cellIds.size() * 2);
+        List<long[]> keys = new ArrayList<>(cellIds.size());
+        long minLat = Long.MAX_VALUE, maxLat = Long.MIN_VALUE;
+        long minLng = Long.MAX_VALUE, maxLng = Long.MIN_VALUE;
+        for (String cellId : cellIds) {
+            long[] idx = GridIndex.parseCellId(cellId);
+            if (idx == null || !requested.add(cellId)) {
+                continue;
+            }
+            keys.add(idx);
+            minLat = Math.min(minLat, idx[0]);
+            maxLat = Math.max(maxLat, idx[0]);
+            minLng = Math.min(minLng, idx[1]);
+            maxLng = Math.max(maxLng, idx[1]);
+        }
+
+        Map<String, FirebaseClient.SafetyCell> results = new HashMap<>(keys.size() * 2);
+        if (!keys.isEmpty()) {
+            long area = (maxLat - minLat + 1) * (maxLng - minLng + 1);
+            if (area <= (long) keys.size() * RANGE_DENSITY_FACTOR) {
+                for (FirebaseClient.SafetyCell cell : queryRange(minLat, maxLat, minLng, maxLng)) {
+                    if (requested.contains(cell.getCellId())) {
+                        results.put(cell.getCellId(), cell);
+                    }
+                }
+            } else {
+                for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_QUERY) {
+                    List<long[]> chunk = keys.subList(from, Math.min(from + MAX_KEYS_PER_QUERY, keys.size()));
+                    for (FirebaseClient.SafetyCell cell : queryKeys(chunk)) {
+                        results.put(cell.getCellId(), cell);
+                    }
+                }
+            }
+        }
+
+        metrics.stop(sample, AnalysisMetrics.Stage.CELL_FETCH);
+        metrics.recordCells(cellIds.size(), results.size());
+        return results;
+    }
+
+    @Override
+    public List<FirebaseClient.SafetyCell> scan(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx) {
+        return queryRange(minLatIdx, maxLatIdx, minLngIdx, maxLngIdx);
+    }
+
+    @Override
+    public void warmup() {
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+    }
+
+    // 셀 데이터 적재 (같은 키는 덮어씀)
+    // DELETE + INSERT 를 한 트랜잭션으로 (INSERT 가 실패해도 지운 셀이 빠진 채로 남지 않음, H2 / MySQL 공용)
+    public int upsertAll(Collection<FirebaseClient.SafetyCell> cells) {
+        List<Object[]> deletes = new ArrayList<>(cells.size());
+        List<Object[]> inserts = new ArrayList<>(cells.size());
+        for (FirebaseClient.SafetyCell cell : cells) {
+            long[] idx = GridIndex.parseCellId(cell.getCellId());
+            if (idx == null) {
+                log.warn("[CellStore] 잘못된 cellId 건너뜀: {}", cell.getCellId());
+                continue;
+            }
+            deletes.add(new Object[]{idx[0], idx[1]});
+            inserts.add(new Object[]{idx[0], idx[1],
+                    cell.getCctvCount(), cell.getLightCount(), cell.getStoreCount(),
+                    cell.getPoliceCount(), cell.getSchoolCount(), cell.getCptedScore()});
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("DELETE FROM cpted_grid WHERE lat_idx = ? AND lng_idx = ?", deletes);
+            jdbcTemplate.batchUpdate("INSERT INTO cpted_grid (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)", inserts);
+        });
+        return inserts.size();
+    }
+
+    private List<FirebaseClient.SafetyCell> queryRange(long minLat, long maxLat, long minLng, long maxLng) {
+        return jdbcTemplate.query(RANGE_QUERY, ROW_MAPPER, minLat, maxLat, minLng, maxLng);
+    }
+
+    private List<FirebaseClient.SafetyCell> queryKeys(List<long[]> keys) {
+        StringBuilder sql = new StringBuilder(64 + keys.size() * 8)
+                .append("SELECT ").append(COLUMNS)
+                .append(" FROM cpted_grid WHERE (lat_idx, lng_idx) IN (");
+        Object[] args = new Object[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            args[i * 2] = keys.get(i)[0];
+            args[i * 2 + 1] = keys.get(i)[1];
+        }
+        sql.append(')');
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args);
+    }
+}
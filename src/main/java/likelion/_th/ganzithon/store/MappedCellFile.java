@@ -0,0 +1,227 @@
+package likelion._th.ganzithon.store;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+// 메모리 맵 파일 기반 셀 해시 테이블 (L2 캐시)
+// - 고정 크기 슬롯, open addressing (linear probing), 키 = GridIndex.packKey
+// - 데이터가 힙 밖(page cache)에 있어 GC 대상이 아니고 힙보다 훨씬 많은 셀을 보관
+// - 인스턴스 수명 동안만 사용: 시작 시 새로 만들고 종료 시 삭제
+// - 삭제 없음, maxEntries 에 도달하면 더 넣지 않음
+// - ttl 마다 세대가 바뀌고, 이전 세대에 기록된 셀은 없는 것으로 봄 (다시 조회해서 같은 슬롯에 덮어씀)
+@Slf4j
+public class MappedCellFile implements Closeable {
+
+    // Firestore 에 없는 셀 (negative cache)
+    public static final FirebaseClient.SafetyCell ABSENT = new FirebaseClient.SafetyCell();
+
+    // 슬롯 40 bytes: key(8) cctv/light/store/police/school(4x5) score(8) state(1) + padding(1) + generation(2)
+    private static final int SLOT_BYTES = 40;
+    private static final int OFF_KEY = 0;
+    private static final int OFF_CCTV = 8;
+    private static final int OFF_LIGHT = 12;
+    private static final int OFF_STORE = 16;
+    private static final int OFF_POLICE = 20;
+    private static final int OFF_SCHOOL = 24;
+    private static final int OFF_SCORE = 28;
+    private static final int OFF_STATE = 36;
+    private static final int OFF_GENERATION = 38;
+
+    private static final byte EMPTY = 0;
+    private static final byte PRESENT = 1;
+    private static final byte NOT_FOUND = 2;
+
+    private static final double LOAD_FACTOR = 0.7;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int mask;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final long createdAt;
+    private final StampedLock lock = new StampedLock();
+    private int size;
+    private boolean fullLogged;
+
+    private MappedCellFile(Path path, FileChannel channel, MappedByteBuffer buffer, int capacity, int maxEntries,
+                           Duration ttl, LongSupplier nanoClock) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.createdAt = nanoClock.getAsLong();
+    }
+
+    public static MappedCellFile create(Path path, int maxEntries, Duration ttl) throws IOException {
+        return create(path, maxEntries, ttl, System::nanoTime);
+    }
+
+    // 테스트에서 시계를 바꿔 끼울 수 있도록 분리
+    static MappedCellFile create(Path path, int maxEntries, Duration ttl, LongSupplier nanoClock) throws IOException {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("L2 셀 캐시 ttl 은 0 보다 커야 합니다: " + ttl);
+        }
+        int capacity = Integer.highestOneBit((int) Math.ceil(maxEntries / LOAD_FACTOR) - 1) << 1;
+        long bytes = (long) capacity * SLOT_BYTES;
+        if (capacity <= 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("L2 셀 캐시 크기가 너무 큽니다: maxEntries=" + maxEntries);
+        }
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        // 이전 프로세스가 남긴 파일은 버리고 새로 시작 (0 으로 채워진 sparse 파일 = 전부 EMPTY)
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+
+        log.info("[CellCache] L2 파일 생성: {} (슬롯 {}, 최대 {} 셀, {}MB, ttl {})",
+                path, capacity, maxEntries, bytes / (1024 * 1024), ttl);
+        return new MappedCellFile(path, channel, buffer, capacity, maxEntries, ttl, nanoClock);
+    }
+
+    // 현재 세대에 보관 중이면 셀 또는 ABSENT, 없거나 이전 세대면 null
+    public FirebaseClient.SafetyCell get(long key, String cellId) {
+        short generation = generation();
+        long stamp = lock.tryOptimisticRead();
+        FirebaseClient.SafetyCell cell = probe(key, cellId, generation);
+        if (lock.validate(stamp)) {
+            return cell;
+        }
+
+        // 쓰기와 겹쳤으면 읽기 잠금으로 다시 읽음
+        stamp = lock.readLock();
+        try {
+            return probe(key, cellId, generation);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // cell 이 ABSENT 면 없는 셀로 기록, 가득 차서 못 넣으면 false
+    public boolean put(long key, FirebaseClient.SafetyCell cell) {
+        short generation = generation();
+        long stamp = lock.writeLock();
+        try {
+            int slot = indexOf(key);
+            for (int i = 0; i <= mask; i++) {
+                int base = slot * SLOT_BYTES;
+                byte state = buffer.get(base + OFF_STATE);
+                boolean sameKey = state != EMPTY && buffer.getLong(base + OFF_KEY) == key;
+                if (state == EMPTY || sameKey) {
+                    if (state == EMPTY && size >= maxEntries) {
+                        if (!fullLogged) {
+                            fullLogged = true;
+                            log.warn("[CellCache] L2 가득 참 ({} 셀), 이후 셀은 L2 에 저장하지 않음", size);
+                        }
+                        return false;
+                    }
+                    write(base, key, cell, generation);
+                    if (state == EMPTY) {
+                        size++;
+                    }
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    // 생성 후 ttl 이 몇 번 지났는지 (하위 16 bit 만 저장, ttl 1시간이면 7년 넘게 겹치지 않음)
+    private short generation() {
+        return (short) ((nanoClock.getAsLong() - createdAt) / ttlNanos);
+    }
+
+    private FirebaseClient.SafetyCell probe(long key, String cellId, short generation) {
+        int slot = indexOf(key);
+        for (int i = 0; i <= mask; i++) {
+            int base = slot * SLOT_BYTES;
+            byte state = buffer.get(base + OFF_STATE);
+            if (state == EMPTY) {
+                return null;
+            }
+            if (buffer.getLong(base + OFF_KEY) == key) {
+                if (buffer.getShort(base + OFF_GENERATION) != generation) {
+                    return null;
+                }
+                return state == NOT_FOUND ? ABSENT : read(base, cellId);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private FirebaseClient.SafetyCell read(int base, String cellId) {
+        return FirebaseClient.SafetyCell.builder()
+                .cellId(cellId)
+                .cctvCount(buffer.getInt(base + OFF_CCTV))
+                .lightCount(buffer.getInt(base + OFF_LIGHT))
+                .storeCount(buffer.getInt(base + OFF_STORE))
+                .policeCount(buffer.getInt(base + OFF_POLICE))
+                .schoolCount(buffer.getInt(base + OFF_SCHOOL))
+                .cptedScore(buffer.getDouble(base + OFF_SCORE))
+                .build();
+    }
+
+    private void write(int base, long key, FirebaseClient.SafetyCell cell, short generation) {
+        buffer.putLong(base + OFF_KEY, key);
+        buffer.putShort(base + OFF_GENERATION, generation);
+        if (cell == ABSENT) {
+            buffer.put(base + OFF_STATE, NOT_FOUND);
+            return;
+        }
+        buffer.putInt(base + OFF_CCTV, cell.getCctvCount());
+        buffer.putInt(base + OFF_LIGHT, cell.getLightCount());
+        buffer.putInt(base + OFF_STORE, cell.getStoreCount());
+        buffer.putInt(base + OFF_POLICE, cell.getPoliceCount());
+        buffer.putInt(base + OFF_SCHOOL, cell.getSchoolCount());
+        buffer.putDouble(base + OFF_SCORE, cell.getCptedScore());
+        buffer.put(base + OFF_STATE, PRESENT);
+    }
+
+    // 인접 셀 키가 연속된 슬롯에 몰리지 않도록 섞음 (murmur3 fmix64)
+    private int indexOf(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
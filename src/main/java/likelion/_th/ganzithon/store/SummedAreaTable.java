@@ -0,0 +1,164 @@
+package likelion._th.ganzithon.store;
+
+// 그리드 셀 값의 2차원 누적합 (summed-area table)
+// - 적재된 그리드의 인덱스 범위 전체를 (행 + 1) x (열 + 1) 배열로 두고, (i, j) 에 [0, i) x [0, j) 합 보관
+// - 임의의 셀 사각형 합 = 모서리 4개 값의 덧셈/뺄셈 (사각형 크기와 무관하게 O(1))
+// - 셀 개수 / 시설 개수 5종 / cptedScore 합
+public final class SummedAreaTable {
+
+    private final long minLatIdx;
+    private final long minLngIdx;
+    private final int rows;
+    private final int cols;
+    private final int stride;
+
+    private final int[] cells;
+    private final long[] cctv;
+    private final long[] light;
+    private final long[] store;
+    private final long[] police;
+    private final long[] school;
+    private final double[] score;
+
+    private SummedAreaTable(long minLatIdx, long minLngIdx, int rows, int cols) {
+        this.minLatIdx = minLatIdx;
+        this.minLngIdx = minLngIdx;
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = cols + 1;
+        int size = (rows + 1) * stride;
+        this.cells = new int[size];
+        this.cctv = new long[size];
+        this.light = new long[size];
+        this.store = new long[size];
+        this.police = new long[size];
+        this.school = new long[size];
+        this.score = new double[size];
+    }
+
+    // 그리드 범위가 maxTableCells 를 넘으면 null (호출 측은 셀 순회로 대체)
+    static SummedAreaTable build(CellGrid grid, long minLatIdx, long maxLatIdx,
+                                 long minLngIdx, long maxLngIdx, long maxTableCells) {
+        long rows = maxLatIdx - minLatIdx + 1;
+        long cols = maxLngIdx - minLngIdx + 1;
+        if (rows <= 0 || cols <= 0 || (rows + 1) * (cols + 1) > maxTableCells) {
+            return null;
+        }
+
+        SummedAreaTable table = new SummedAreaTable(minLatIdx, minLngIdx, (int) rows, (int) cols);
+        grid.forEach(minLatIdx, maxLatIdx, minLngIdx, maxLngIdx,
+                (latIdx, lngIdx, c, l, s, p, sc, cptedScore) -> {
+                    int i = (int) (latIdx - minLatIdx + 1) * table.stride + (int) (lngIdx - minLngIdx + 1);
+                    table.cells[i] = 1;
+                    table.cctv[i] = c;
+                    table.light[i] = l;
+                    table.store[i] = s;
+                    table.police[i] = p;
+                    table.school[i] = sc;
+                    table.score[i] = cptedScore;
+                });
+        table.accumulate();
+        return table;
+    }
+
+    // S(i, j) += S(i-1, j) + S(i, j-1) - S(i-1, j-1)
+    private void accumulate() {
+        for (int r = 1; r <= rows; r++) {
+            int row = r * stride;
+            int up = row - stride;
+            for (int c = 1; c <= cols; c++) {
+                int i = row + c;
+                int u = up + c;
+                cells[i] += cells[i - 1] + cells[u] - cells[u - 1];
+                cctv[i] += cctv[i - 1] + cctv[u] - cctv[u - 1];
+                light[i] += light[i - 1] + light[u] - light[u - 1];
+                store[i] += store[i - 1] + store[u] - store[u - 1];
+                police[i] += police[i - 1] + police[u] - police[u - 1];
+                school[i] += school[i - 1] + school[u] - school[u - 1];
+                score[i] += score[i - 1] + score[u] - score[u - 1];
+            }
+        }
+    }
+
+    // 인덱스 사각형 (양끝 포함) 합, 테이블 범위 밖은 잘라냄
+    public RectSum sum(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx) {
+        long r1 = Math.max(minLatIdx - this.minLatIdx, 0);
+        long r2 = Math.min(maxLatIdx - this.minLatIdx, rows - 1);
+        long c1 = Math.max(minLngIdx - this.minLngIdx, 0);
+        long c2 = Math.min(maxLngIdx - this.minLngIdx, cols - 1);
+        if (r1 > r2 || c1 > c2) {
+            return RectSum.EMPTY;
+        }
+
+        int a = (int) r1 * stride + (int) c1;               // 위쪽 왼쪽 바깥
+        int b = (int) r1 * stride + (int) c2 + 1;           // 위쪽 오른쪽
+        int c = ((int) r2 + 1) * stride + (int) c1;         // 아래쪽 왼쪽
+        int d = ((int) r2 + 1) * stride + (int) c2 + 1;     // 아래쪽 오른쪽
+        return new RectSum(
+                cells[d] - cells[b] - cells[c] + cells[a],
+                cctv[d] - cctv[b] - cctv[c] + cctv[a],
+                light[d] - light[b] - light[c] + light[a],
+                store[d] - store[b] - store[c] + store[a],
+                police[d] - police[b] - police[c] + police[a],
+                school[d] - school[b] - school[c] + school[a],
+                score[d] - score[b] - score[c] + score[a]);
+    }
+
+    // 사각형 집계 결과
+    public static final class RectSum {
+
+        public static final RectSum EMPTY = new RectSum(0, 0, 0, 0, 0, 0, 0);
+
+        private final int cells;
+        private final long cctv;
+        private final long light;
+        private final long store;
+        private final long police;
+        private final long school;
+        private final double scoreSum;
+
+        RectSum(int cells, long cctv, long light, long store, long police, long school, double scoreSum) {
+            this.cells = cells;
+            this.cctv = cctv;
+            this.light = light;
+            this.store = store;
+            this.police = police;
+            this.school = school;
+            this.scoreSum = scoreSum;
+        }
+
+        // 데이터가 있는 셀 개수
+        public int cells() {
+            return cells;
+        }
+
+        public long cctv() {
+            return cctv;
+        }
+
+        public long light() {
+            return light;
+        }
+
+        public long store() {
+            return store;
+        }
+
+        public long police() {
+            return police;
+        }
+
+        public long school() {
+            return school;
+        }
+
+        public double scoreSum() {
+            return scoreSum;
+        }
+
+        // 셀이 없으면 0
+        public double scoreAvg() {
+            return cells == 0 ? 0.0 : scoreSum / cells;
+        }
+    }
+}
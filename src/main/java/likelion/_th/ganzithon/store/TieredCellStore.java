@@ -0,0 +1,166 @@
+package likelion._th.ganzithon.store;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.util.GridIndex;
+import likelion._th.ganzithon.util.TtlCache;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 2단계 셀 캐시 + 원본 저장소
+// - L1: 힙 LRU (TtlCache), 자주 쓰는 셀
+// - L2: 메모리 맵 파일 (MappedCellFile), 힙에 못 담는 양의 셀을 인스턴스 수명 동안 보관
+// - 둘 다 없으면 원본 저장소(Firestore 등)에서 한 번에 조회 후 L1, L2 모두 채움
+// - 원본이 없다고 확인한 셀도 ABSENT 로 기록해서 다시 조회하지 않음 (타임아웃 / 실패로 확인하지 못한 셀은 기록하지 않음)
+// - L2 는 ttl 마다 세대가 바뀌어 원본 변경을 다시 읽음
+@Slf4j
+public class TieredCellStore implements CellStore, AutoCloseable {
+
+    private final CellStore backend;
+    private final TtlCache<String, FirebaseClient.SafetyCell> l1;
+    private final MappedCellFile l2;   // 비활성화 시 null
+
+    private final AtomicLong l1Hits = new AtomicLong();
+    private final AtomicLong l2Hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TieredCellStore(CellStore backend,
+                           TtlCache<String, FirebaseClient.SafetyCell> l1,
+                           MappedCellFile l2,
+                           MeterRegistry registry) {
+        this.backend = backend;
+        this.l1 = l1;
+        this.l2 = l2;
+        registerMetrics(registry);
+    }
+
+    // cell.cache{result}: 단계별 적중 횟수, cell.cache.size{tier}: 보관 셀 수
+    private void registerMetrics(MeterRegistry registry) {
+        Map<String, AtomicLong> results = Map.of(
+                "l1_hit", l1Hits,
+                "l2_hit", l2Hits,
+                "miss", misses
+        );
+        results.forEach((result, counter) -> FunctionCounter
+                .builder("cell.cache", counter, AtomicLong::doubleValue)
+                .description("셀 캐시 조회 결과")
+                .tag("result", result)
+                .register(registry));
+
+        Gauge.builder("cell.cache.size", l1, TtlCache::size)
+                .description("캐시에 보관 중인 셀 수")
+                .tag("tier", "l1")
+                .register(registry);
+        if (l2 != null) {
+            Gauge.builder("cell.cache.size", l2, MappedCellFile::size)
+                    .description("캐시에 보관 중인 셀 수")
+                    .tag("tier", "l2")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return getCells(cellIds, new HashSet<>());
+    }
+
+    @Override
+    public Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds, Set<String> unresolved)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        if (cellIds == null || cellIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, FirebaseClient.SafetyCell> results = new HashMap<>(cellIds.size() * 2);
+        List<String> missing = new ArrayList<>();
+
+        for (String cellId : cellIds) {
+            FirebaseClient.SafetyCell cell = l1.get(cellId);
+            if (cell != null) {
+                l1Hits.incrementAndGet();
+            } else if ((cell = getFromL2(cellId)) != null) {
+                l2Hits.incrementAndGet();
+                l1.put(cellId, cell);
+            } else {
+                misses.incrementAndGet();
+                missing.add(cellId);
+                continue;
+            }
+            if (cell != MappedCellFile.ABSENT) {
+                results.put(cellId, cell);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Set<String> failed = new HashSet<>();
+            Map<String, FirebaseClient.SafetyCell> fetched = backend.getCells(missing, failed);
+            for (String cellId : missing) {
+                FirebaseClient.SafetyCell cell = fetched.get(cellId);
+                if (cell == null && failed.contains(cellId)) {
+                    // 없는 셀인지 확인하지 못함 → 캐시하지 않고 다음 조회 때 다시 시도
+                    continue;
+                }
+                FirebaseClient.SafetyCell cached = cell != null ? cell : MappedCellFile.ABSENT;
+                l1.put(cellId, cached);
+                putToL2(cellId, cached);
+                if (cell != null) {
+                    results.put(cellId, cell);
+                }
+            }
+            unresolved.addAll(failed);
+        }
+
+        return results;
+    }
+
+    // 범위 조회는 캐시하지 않음
+    @Override
+    public List<FirebaseClient.SafetyCell> scan(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return backend.scan(minLatIdx, maxLatIdx, minLngIdx, maxLngIdx);
+    }
+
+    @Override
+    public void warmup() throws Exception {
+        backend.warmup();
+    }
+
+    // 인기 지역 셀을 캐시에 채움 (L1 에서 밀려나도 L2 에 남음)
+    @Override
+    public int preload(List<String> cellIds) throws Exception {
+        return getCells(cellIds).size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (l2 != null) {
+            l2.close();
+        }
+    }
+
+    private FirebaseClient.SafetyCell getFromL2(String cellId) {
+        if (l2 == null) {
+            return null;
+        }
+        long[] idx = GridIndex.parseCellId(cellId);
+        return idx != null ? l2.get(GridIndex.packKey(idx[0], idx[1]), cellId) : null;
+    }
+
+    private void putToL2(String cellId, FirebaseClient.SafetyCell cell) {
+        if (l2 == null) {
+            return;
+        }
+        long[] idx = GridIndex.parseCellId(cellId);
+        if (idx != null) {
+            l2.put(GridIndex.packKey(idx[0], idx[1]), cell);
+        }
+    }
+}
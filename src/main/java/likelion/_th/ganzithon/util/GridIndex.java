@@ -0,0 +1,95 @@
+package likelion._th.ganzithon.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// cpted_grid 셀 인덱스 계산 (문서 id = "latIdx_lngIdx")
+public final class GridIndex {
+
+    public static final double GRID_SIZE = 0.002;   // 200m ≒ 0.002도
+
+    // 위도 1도 ≒ 111km (미터 ↔ 도 변환은 모두 아래 메서드 사용)
+    public static final double METERS_PER_DEGREE = 111_000.0;
+
+    private GridIndex() {
+    }
+
+    public static long latIndex(double lat) {
+        return (long) Math.floor(lat / GRID_SIZE);
+    }
+
+    public static long lngIndex(double lng) {
+        return (long) Math.floor(lng / GRID_SIZE);
+    }
+
+    public static String cellId(long latIndex, long lngIndex) {
+        return latIndex + "_" + lngIndex;
+    }
+
+    public static String cellId(double lat, double lng) {
+        return cellId(latIndex(lat), lngIndex(lng));
+    }
+
+    // (latIdx, lngIdx) → long 키 하나 (상위 32bit 위도, 하위 32bit 경도 인덱스)
+    public static long packKey(long latIndex, long lngIndex) {
+        return (latIndex << 32) | (lngIndex & 0xFFFFFFFFL);
+    }
+
+    // "latIdx_lngIdx" → {latIdx, lngIdx}, 형식이 다르면 null
+    public static long[] parseCellId(String cellId) {
+        int sep = cellId.indexOf('_');
+        if (sep <= 0 || sep == cellId.length() - 1) {
+            return null;
+        }
+        try {
+            return new long[]{
+                    Long.parseLong(cellId, 0, sep, 10),
+                    Long.parseLong(cellId, sep + 1, cellId.length(), 10)
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 위도 lat 에서 경도 1도의 길이(m)
+    public static double metersPerDegreeLng(double lat) {
+        return METERS_PER_DEGREE * Math.cos(Math.toRadians(lat));
+    }
+
+    // 미터 → 위도 차이(도)
+    public static double latDegrees(double meters) {
+        return meters / METERS_PER_DEGREE;
+    }
+
+    // 미터 → 위도 lat 에서의 경도 차이(도)
+    public static double lngDegrees(double meters, double lat) {
+        return meters / metersPerDegreeLng(lat);
+    }
+
+    // 중심에서 반경(m) 정사각형 범위에 걸치는 셀 인덱스 {minLat, maxLat, minLng, maxLng}
+    public static long[] indexRangeAround(double lat, double lng, double radiusMeters) {
+        double dLat = latDegrees(radiusMeters);
+        double dLng = lngDegrees(radiusMeters, lat);
+        return new long[]{
+                latIndex(lat - dLat), latIndex(lat + dLat),
+                lngIndex(lng - dLng), lngIndex(lng + dLng)
+        };
+    }
+
+    // 중심에서 반경(m) 안에 걸치는 셀 id (정사각형 범위)
+    public static List<String> cellIdsAround(double lat, double lng, double radiusMeters) {
+        long[] range = indexRangeAround(lat, lng, radiusMeters);
+        long minLat = range[0];
+        long maxLat = range[1];
+        long minLng = range[2];
+        long maxLng = range[3];
+
+        List<String> cellIds = new ArrayList<>((int) ((maxLat - minLat + 1) * (maxLng - minLng + 1)));
+        for (long latIdx = minLat; latIdx <= maxLat; latIdx++) {
+            for (long lngIdx = minLng; lngIdx <= maxLng; lngIdx++) {
+                cellIds.add(cellId(latIdx, lngIdx));
+            }
+        }
+        return cellIds;
+    }
+}
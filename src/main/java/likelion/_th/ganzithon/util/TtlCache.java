@@ -0,0 +1,102 @@
+package likelion._th.ganzithon.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// 최대 개수 + TTL 이 있는 간단한 LRU 캐시
+// - 최대 개수를 넘으면 가장 오래 안 쓴 항목부터 제거
+// - 만료된 항목은 조회 시점에 제거
+public class TtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public TtlCache(int maxSize, Duration ttl) {
+        this.maxSize = Math.max(maxSize, 1);
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    // 없거나 만료됐으면 새로 만들어 넣고, 있으면 기존 값 반환 (생성 함수는 lock 안에서 실행되므로 가벼워야 함)
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        V created = factory.apply(key);
+        put(key, created);
+        return created;
+    }
+
+    public synchronized V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        return entry != null ? entry.value : null;
+    }
+
+    // 현재 값이 value 와 같은 객체일 때만 제거
+    public synchronized boolean remove(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.value != value) {
+            return false;
+        }
+        entries.remove(key);
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // 만료된 항목 일괄 정리, 제거한 개수 반환
+    public synchronized int evictExpired() {
+        long now = System.nanoTime();
+        int removed = 0;
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (isExpired(it.next(), now)) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.createdAt > ttlNanos;
+    }
+
+    private static class Entry<V> {
+        final V value;
+        final long createdAt;
+
+        Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
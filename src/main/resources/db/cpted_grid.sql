@@ -0,0 +1,13 @@
+-- CPTED 그리드 셀 (JdbcCellStore, H2 / MySQL 공용)
+-- lat_idx = floor(lat / 0.002), lng_idx = floor(lng / 0.002)
+CREATE TABLE IF NOT EXISTS cpted_grid (
+    lat_idx      BIGINT           NOT NULL,
+    lng_idx      BIGINT           NOT NULL,
+    cctv_count   INT              NOT NULL DEFAULT 0,
+    light_count  INT              NOT NULL DEFAULT 0,
+    store_count  INT              NOT NULL DEFAULT 0,
+    police_count INT              NOT NULL DEFAULT 0,
+    school_count INT              NOT NULL DEFAULT 0,
+    cpted_score  DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (lat_idx, lng_idx)
+);
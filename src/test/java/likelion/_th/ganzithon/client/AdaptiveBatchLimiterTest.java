@@ -0,0 +1,121 @@
+package likelion._th.ganzithon.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// AdaptiveBatchLimiter: in-flight 한도 대기 / 지연 기반 증감 / 과부하 시 절반
+class AdaptiveBatchLimiterTest {
+
+    private static final long TARGET_MS = 300;
+
+    private final AnalysisMetrics metrics = new AnalysisMetrics(new SimpleMeterRegistry());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void acquireWaitsUntilReleased() throws Exception {
+        AdaptiveBatchLimiter limiter = limiter(1, 4, 1, 10, 100, 30);
+
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(limiter.acquire(10, TimeUnit.MILLISECONDS)).isFalse();
+
+        // 한도가 찬 동안 기다리던 배치는 release 되면 들어감
+        Future<Boolean> waiter = executor.submit(() -> limiter.acquire(5, TimeUnit.SECONDS));
+        limiter.release();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void fastBatchesRaiseLimitsUpToMax() throws Exception {
+        AdaptiveBatchLimiter limiter = limiter(1, 3, 1, 10, 12, 10);
+
+        // 목표의 절반 이하: 동시성 +1/limit, 배치 크기 +1
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(limit("concurrency")).isEqualTo(2);
+        assertThat(limiter.batchSize()).isEqualTo(11);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertThat(limit("concurrency")).isEqualTo(3);
+        assertThat(limiter.batchSize()).isEqualTo(12);
+
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void batchWithinTargetButNotFastKeepsBatchSize() {
+        AdaptiveBatchLimiter limiter = limiter(1, 32, 4, 10, 100, 30);
+
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(TARGET_MS - 1));
+
+        assertThat(limiter.batchSize()).isEqualTo(30);
+        assertThat(limit("concurrency")).isEqualTo(4);
+    }
+
+    @Test
+    void slowBatchesShrinkLimitsGradually() {
+        AdaptiveBatchLimiter limiter = limiter(1, 32, 10, 10, 100, 50);
+
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(TARGET_MS + 1));
+
+        assertThat(limit("concurrency")).isEqualTo(9);
+        assertThat(limiter.batchSize()).isEqualTo(45);
+    }
+
+    @Test
+    void overloadHalvesLimitsDownToMin() {
+        AdaptiveBatchLimiter limiter = limiter(1, 32, 8, 10, 100, 40);
+
+        limiter.onOverload();
+        assertThat(limit("concurrency")).isEqualTo(4);
+        assertThat(limiter.batchSize()).isEqualTo(20);
+
+        limiter.onOverload();
+        limiter.onOverload();
+        limiter.onOverload();
+        assertThat(limit("concurrency")).isEqualTo(1);
+        assertThat(limiter.batchSize()).isEqualTo(10);
+        assertThat(metrics.registry().get("firestore.batch.overloads").functionCounter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void initialValuesAreClampedToRange() {
+        AdaptiveBatchLimiter limiter = limiter(2, 8, 50, 10, 100, 5);
+
+        assertThat(limit("concurrency")).isEqualTo(8);
+        assertThat(limiter.batchSize()).isEqualTo(10);
+    }
+
+    private AdaptiveBatchLimiter limiter(int minConcurrency, int maxConcurrency, int initialConcurrency,
+                                         int minBatchSize, int maxBatchSize, int initialBatchSize) {
+        return new AdaptiveBatchLimiter(minConcurrency, maxConcurrency, initialConcurrency,
+                minBatchSize, maxBatchSize, initialBatchSize, TARGET_MS, metrics);
+    }
+
+    private double limit(String knob) {
+        return metrics.registry().get("firestore.batch.limit").tag("knob", knob).gauge().value();
+    }
+
+    private double inFlight() {
+        return metrics.registry().get("firestore.batch.in_flight").gauge().value();
+    }
+}
@@ -0,0 +1,101 @@
+package likelion._th.ganzithon.client;
+
+import likelion._th.ganzithon.domain.CoordinateBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+// Tmap 보행자 경로 응답 스트리밍 파싱 (src/test/resources/tmap 의 실제 응답 형식)
+class TmapsClientTest {
+
+    @Test
+    void parsesLineStringCoordinatesAndTotals() throws IOException {
+        TmapsClient.TmapRoute route = TmapsClient.parseTmapRoute(fixture("pedestrian-route.json"));
+
+        assertThat(route).isNotNull();
+        // 첫 Point feature 의 totalDistance / totalTime (LineString 의 distance / time 은 무시)
+        assertThat(route.getDistance()).isEqualTo(412);
+        assertThat(route.getDuration()).isEqualTo(311);
+
+        // LineString 좌표만 순서대로 (Point 좌표는 건너뜀, 구간 경계 좌표는 중복 그대로)
+        CoordinateBuffer coordinates = (CoordinateBuffer) route.getCoordinates();
+        assertThat(coordinates.size()).isEqualTo(7);
+        assertPoint(coordinates, 0, 37.56668431, 126.97843593);
+        assertPoint(coordinates, 2, 37.56724257, 126.97912478);
+        assertPoint(coordinates, 3, 37.56724257, 126.97912478);
+        assertPoint(coordinates, 6, 37.56929816, 126.98027190);
+        assertThat(route.getEncodedPolyline()).isSameAs(route.getCoordinates());
+    }
+
+    @Test
+    void parsesWaypointResponse() throws IOException {
+        TmapsClient.TmapRoute route = TmapsClient.parseTmapRoute(fixture("pedestrian-route-waypoint.json"));
+
+        assertThat(route).isNotNull();
+        assertThat(route.getDistance()).isEqualTo(655);
+        assertThat(route.getDuration()).isEqualTo(498);
+
+        CoordinateBuffer coordinates = (CoordinateBuffer) route.getCoordinates();
+        assertThat(coordinates.size()).isEqualTo(7);
+        assertPoint(coordinates, 0, 37.56668431, 126.97843593);
+        // 경유지(PP1) 는 앞 구간의 끝이자 뒤 구간의 시작
+        assertPoint(coordinates, 2, 37.56817433, 126.97741106);
+        assertPoint(coordinates, 3, 37.56817433, 126.97741106);
+        assertPoint(coordinates, 6, 37.56929816, 126.98027190);
+        // List 뷰도 같은 좌표
+        assertThat(coordinates.get(4).getLat()).isEqualTo(coordinates.lat(4));
+        assertThat(coordinates.get(4).getLng()).isEqualTo(coordinates.lng(4));
+    }
+
+    @Test
+    void responseWithoutFeaturesIsNull() throws IOException {
+        assertThat(TmapsClient.parseTmapRoute(bytes("{\"error\":{\"code\":\"3102\"}}"))).isNull();
+        assertThat(TmapsClient.parseTmapRoute(bytes("[]"))).isNull();
+        assertThat(TmapsClient.parseTmapRoute(new byte[0])).isNull();
+        assertThat(TmapsClient.parseTmapRoute(null)).isNull();
+    }
+
+    @Test
+    void skipsMalformedCoordinates() throws IOException {
+        String json = "{\"features\":[{\"properties\":{\"totalDistance\":\"30\",\"totalTime\":20},"
+                + "\"geometry\":{\"type\":\"LineString\",\"coordinates\":"
+                + "[[127.0,37.5],[127.1],[\"x\",37.6],[127.2,37.7,12.5]]}}]}";
+
+        TmapsClient.TmapRoute route = TmapsClient.parseTmapRoute(bytes(json));
+
+        assertThat(route.getDistance()).isEqualTo(30);
+        CoordinateBuffer coordinates = (CoordinateBuffer) route.getCoordinates();
+        assertThat(coordinates.size()).isEqualTo(2);
+        assertPoint(coordinates, 0, 37.5, 127.0);
+        assertPoint(coordinates, 1, 37.7, 127.2);
+    }
+
+    @Test
+    void truncatedResponseFails() {
+        byte[] json = bytes("{\"features\":[{\"geometry\":{\"coordinates\":[[127.0,37.5],");
+
+        assertThatThrownBy(() -> TmapsClient.parseTmapRoute(json)).isInstanceOf(IOException.class);
+    }
+
+    private static void assertPoint(CoordinateBuffer coordinates, int index, double lat, double lng) {
+        assertThat(coordinates.lat(index)).isCloseTo(lat, within(1e-9));
+        assertThat(coordinates.lng(index)).isCloseTo(lng, within(1e-9));
+    }
+
+    private static byte[] fixture(String name) throws IOException {
+        try (InputStream in = TmapsClientTest.class.getResourceAsStream("/tmap/" + name)) {
+            assertThat(in).as(name).isNotNull();
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
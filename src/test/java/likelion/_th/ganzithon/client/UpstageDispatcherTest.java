@@ -0,0 +1,163 @@
+package likelion._th.ganzithon.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// UpstageDispatcher: 동시 호출 한도 / INTERACTIVE 우선 / BACKGROUND 버림 / 대기 중·시작 중·실행 중 취소
+// 가짜 호출은 구독되면 started 에 기록되고, 테스트가 complete(name) 으로 끝냄 (모두 테스트 스레드에서 동기 실행)
+class UpstageDispatcherTest {
+
+    private final AnalysisMetrics metrics = new AnalysisMetrics(new SimpleMeterRegistry());
+
+    private final List<String> started = new ArrayList<>();
+    private final List<String> cancelled = new ArrayList<>();
+    private final Map<String, MonoSink<String>> calls = new HashMap<>();
+    private final List<String> results = new ArrayList<>();
+    private final List<Throwable> errors = new ArrayList<>();
+
+    @Test
+    void runsInteractiveBeforeBackgroundWithinLimit() {
+        UpstageDispatcher dispatcher = dispatcher(1, 10, 30_000);
+
+        dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "a");
+        dispatch(dispatcher, UpstageDispatcher.Priority.BACKGROUND, "background");
+        dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "b");
+        assertThat(started).containsExactly("a");
+        assertThat(queue("interactive")).isEqualTo(1);
+        assertThat(queue("background")).isEqualTo(1);
+
+        complete("a");
+        assertThat(started).containsExactly("a", "b");
+        complete("b");
+        assertThat(started).containsExactly("a", "b", "background");
+        complete("background");
+
+        assertThat(results).containsExactly("a", "b", "background");
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void backgroundIsDroppedWhenQueueIsFull() {
+        UpstageDispatcher dispatcher = dispatcher(1, 1, 30_000);
+        dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "a");
+
+        dispatch(dispatcher, UpstageDispatcher.Priority.BACKGROUND, "queued");
+        dispatch(dispatcher, UpstageDispatcher.Priority.BACKGROUND, "dropped");
+
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(dropped("background")).isEqualTo(1);
+
+        complete("a");
+        assertThat(started).containsExactly("a", "queued");
+    }
+
+    @Test
+    void backgroundIsDroppedAfterWaitingTooLong() throws InterruptedException {
+        UpstageDispatcher dispatcher = dispatcher(1, 10, 1);
+        dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "a");
+        dispatch(dispatcher, UpstageDispatcher.Priority.BACKGROUND, "stale");
+        Thread.sleep(20);
+
+        complete("a");
+
+        // 오래 기다린 BACKGROUND 호출은 구독하지 않고 버림
+        assertThat(started).containsExactly("a");
+        assertThat(errors).hasSize(1);
+        assertThat(dropped("background")).isEqualTo(1);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void cancelWhileQueuedRemovesFromQueue() {
+        UpstageDispatcher dispatcher = dispatcher(1, 10, 30_000);
+        dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "a");
+        Disposable queued = dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "b");
+
+        queued.dispose();
+        assertThat(queue("interactive")).isZero();
+
+        complete("a");
+        assertThat(started).containsExactly("a");
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void cancelWhileRunningCancelsCallAndFreesSlot() {
+        UpstageDispatcher dispatcher = dispatcher(1, 10, 30_000);
+        Disposable running = dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "a");
+        dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "b");
+
+        running.dispose();
+
+        assertThat(cancelled).containsExactly("a");
+        assertThat(started).containsExactly("a", "b");
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelWhileStartingCancelsCallAfterSubscribe() {
+        UpstageDispatcher dispatcher = dispatcher(1, 10, 30_000);
+        dispatch(dispatcher, UpstageDispatcher.Priority.INTERACTIVE, "a");
+
+        // 자리가 나서 시작 표시는 됐지만 아직 구독이 끝나기 전에 취소
+        AtomicReference<Disposable> starting = new AtomicReference<>();
+        starting.set(dispatcher.dispatch(UpstageDispatcher.Priority.INTERACTIVE, () -> {
+            starting.get().dispose();
+            return call("b").get();
+        }).subscribe(results::add, errors::add));
+
+        complete("a");
+
+        assertThat(started).containsExactly("a", "b");
+        assertThat(cancelled).containsExactly("b");
+        assertThat(results).containsExactly("a");
+        assertThat(inFlight()).isZero();
+    }
+
+    private UpstageDispatcher dispatcher(int maxConcurrent, int maxBackgroundQueue, long backgroundMaxWaitMs) {
+        return new UpstageDispatcher(maxConcurrent, maxBackgroundQueue, backgroundMaxWaitMs, metrics);
+    }
+
+    private Disposable dispatch(UpstageDispatcher dispatcher, UpstageDispatcher.Priority priority, String name) {
+        return dispatcher.dispatch(priority, call(name)).subscribe(results::add, errors::add);
+    }
+
+    private Supplier<Mono<String>> call(String name) {
+        return () -> Mono.create(sink -> {
+            started.add(name);
+            calls.put(name, sink);
+            sink.onCancel(() -> cancelled.add(name));
+        });
+    }
+
+    private void complete(String name) {
+        calls.get(name).success(name);
+    }
+
+    private double queue(String priority) {
+        return metrics.registry().get("upstage.dispatch.queue").tag("priority", priority).gauge().value();
+    }
+
+    private double dropped(String priority) {
+        return metrics.registry().get("upstage.dispatch.dropped").tag("priority", priority).counter().count();
+    }
+
+    private double inFlight() {
+        return metrics.registry().get("upstage.dispatch.in_flight").gauge().value();
+    }
+}
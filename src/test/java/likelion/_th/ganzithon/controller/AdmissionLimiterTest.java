@@ -0,0 +1,150 @@
+package likelion._th.ganzithon.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// AdmissionLimiter 입장 단계(바로 / 대기 / 간략 / 거절)와 취소 시 입장권 반납
+class AdmissionLimiterTest {
+
+    private final AnalysisMetrics metrics = new AnalysisMetrics(new SimpleMeterRegistry());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fallsBackToDegradedThenRejects() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter("paths", 1, 1, 10, 1, metrics);
+
+        assertThat(limiter.acquire().admission()).isEqualTo(AdmissionLimiter.Admission.FULL);
+        // 대기열에서 10ms 기다려도 자리가 안 나면 간략 모드
+        assertThat(limiter.acquire().admission()).isEqualTo(AdmissionLimiter.Admission.DEGRADED);
+        assertThat(limiter.acquire().admission()).isEqualTo(AdmissionLimiter.Admission.REJECTED);
+
+        assertThat(count("admitted")).isEqualTo(1);
+        assertThat(count("degraded")).isEqualTo(1);
+        assertThat(count("rejected")).isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void queuedRequestIsAdmittedWhenPermitIsReleased() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter("paths", 1, 1, 5_000, 0, metrics);
+        AdmissionLimiter.Permit first = limiter.acquire();
+
+        Future<AdmissionLimiter.Admission> queued = executor.submit(() -> limiter.acquire().admission());
+        awaitWaiting(1);
+        first.release();
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(AdmissionLimiter.Admission.QUEUED);
+        assertThat(count("queued")).isEqualTo(1);
+    }
+
+    @Test
+    void releaseIsAppliedOnce() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter("paths", 1, 0, 0, 0, metrics);
+        AdmissionLimiter.Permit permit = limiter.acquire();
+        AdmissionLimiter.Permit rejected = limiter.acquire();
+
+        permit.release();
+        permit.release();
+        rejected.release();
+
+        assertThat(inFlight()).isZero();
+        assertThat(limiter.acquire().admission()).isEqualTo(AdmissionLimiter.Admission.FULL);
+        assertThat(limiter.acquire().admission()).isEqualTo(AdmissionLimiter.Admission.REJECTED);
+    }
+
+    @Test
+    void taskCancelledWhileQueuedReturnsPermit() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter("paths", 1, 0, 0, 0, metrics);
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.submit(() -> {
+            blocker.await();
+            return null;
+        });
+
+        AdmissionLimiter.Permit permit = limiter.acquire();
+        AtomicBoolean ran = new AtomicBoolean();
+        Future<?> task = executor.submit(() -> {
+            permit.start();
+            try {
+                ran.set(true);
+            } finally {
+                permit.release();
+            }
+        });
+
+        // 시작 전에 취소된 작업은 finally 가 돌지 않으므로 취소하는 쪽이 반납
+        assertThat(task.cancel(true)).isTrue();
+        permit.releaseIfNotStarted();
+        blocker.countDown();
+
+        assertThat(inFlight()).isZero();
+        assertThat(limiter.acquire().admission()).isEqualTo(AdmissionLimiter.Admission.FULL);
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void taskCancelledWhileRunningKeepsPermitUntilFinished() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter("paths", 1, 0, 0, 0, metrics);
+        AdmissionLimiter.Permit permit = limiter.acquire();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        Future<?> task = executor.submit(() -> {
+            permit.start();
+            try {
+                started.countDown();
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                permit.release();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 이미 시작한 작업의 입장권은 작업이 끝날 때까지 점유
+        permit.releaseIfNotStarted();
+        assertThat(inFlight()).isEqualTo(1);
+        assertThat(limiter.acquire().admission()).isEqualTo(AdmissionLimiter.Admission.REJECTED);
+
+        proceed.countDown();
+        task.get(5, TimeUnit.SECONDS);
+        assertThat(inFlight()).isZero();
+        assertThat(limiter.acquire().admission()).isEqualTo(AdmissionLimiter.Admission.FULL);
+    }
+
+    private double count(String result) {
+        return metrics.registry().get("analysis.admission")
+                .tag("endpoint", "paths")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private double inFlight() {
+        return metrics.registry().get("analysis.admission.in_flight").tag("endpoint", "paths").gauge().value();
+    }
+
+    private void awaitWaiting(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (metrics.registry().get("analysis.admission.waiting").tag("endpoint", "paths").gauge().value() < expected) {
+            assertThat(System.nanoTime()).as("대기열 진입").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
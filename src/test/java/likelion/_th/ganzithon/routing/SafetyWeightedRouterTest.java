@@ -0,0 +1,345 @@
+package likelion._th.ganzithon.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+// 보행자 그래프 로드(CSR / 가까운 노드) 와 A* 탐색을 단순 Dijkstra 와 비교
+class SafetyWeightedRouterTest {
+
+    private static final int ROWS = 20;
+    private static final int COLS = 20;
+    private static final double BASE_LAT = 37.50;
+    private static final double BASE_LNG = 127.00;
+    private static final double SPACING = 0.0005;   // 약 50m
+    private static final int MAX_SETTLED = 1_000_000;
+
+    @TempDir
+    Path tempDir;
+
+    private PedestrianGraph graph;
+    private SafetyWeightedRouter router;
+    private float[] risk;
+    private int isolatedNode;
+    // 파일에 적은 간선 (노드 번호 쌍)
+    private final List<int[]> fixtureEdges = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(7L);
+        StringBuilder file = new StringBuilder("# 테스트 격자 그래프\n");
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                file.append("n,").append(nodeId(r, c)).append(',')
+                        .append(BASE_LAT + r * SPACING).append(',')
+                        .append(BASE_LNG + c * SPACING).append('\n');
+            }
+        }
+        // 어떤 간선과도 연결되지 않은 노드 (도달 불가)
+        file.append("n,999999,").append(BASE_LAT + 0.01).append(',').append(BASE_LNG + 0.01).append('\n');
+
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                if (c + 1 < COLS && random.nextDouble() < 0.85) {
+                    appendEdge(file, random, r, c, r, c + 1);
+                }
+                if (r + 1 < ROWS && random.nextDouble() < 0.85) {
+                    appendEdge(file, random, r, c, r + 1, c);
+                }
+                if (r + 1 < ROWS && c + 1 < COLS && random.nextDouble() < 0.2) {
+                    appendEdge(file, random, r, c, r + 1, c + 1);
+                }
+            }
+        }
+
+        Path path = tempDir.resolve("graph.csv");
+        Files.writeString(path, file.toString());
+        graph = PedestrianGraph.load(path);
+        router = new SafetyWeightedRouter(graph);
+        isolatedNode = ROWS * COLS;
+
+        risk = new float[graph.edgeCount()];
+        for (int i = 0; i < risk.length; i++) {
+            risk[i] = (float) random.nextDouble();
+        }
+    }
+
+    // 길이 생략 / 직선보다 긴 길이 / 직선보다 짧은 길이(직선 거리로 올림) 섞어서 기록
+    private void appendEdge(StringBuilder file, SplittableRandom random, int r1, int c1, int r2, int c2) {
+        file.append("e,").append(nodeId(r1, c1)).append(',').append(nodeId(r2, c2));
+        double kind = random.nextDouble();
+        if (kind < 0.6) {
+            file.append(',').append(60 + random.nextInt(40));
+        } else if (kind < 0.7) {
+            file.append(",1");
+        }
+        file.append('\n');
+        fixtureEdges.add(new int[]{r1 * COLS + c1, r2 * COLS + c2});
+    }
+
+    private static long nodeId(int r, int c) {
+        return 1000L + r * COLS + c;
+    }
+
+    @Test
+    void csrContainsEveryFileEdgeInBothDirections() {
+        assertThat(graph.nodeCount()).isEqualTo(ROWS * COLS + 1);
+        assertThat(graph.edgeCount()).isEqualTo(fixtureEdges.size() * 2);
+        for (int[] edge : fixtureEdges) {
+            assertThat(findEdge(edge[0], edge[1])).isGreaterThanOrEqualTo(0);
+            assertThat(findEdge(edge[1], edge[0])).isGreaterThanOrEqualTo(0);
+        }
+        assertThat(graph.endEdge(isolatedNode) - graph.firstEdge(isolatedNode)).isZero();
+    }
+
+    @Test
+    void edgeLengthIsNeverShorterThanStraightLine() {
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int target = graph.edgeTarget(edge);
+                double straight = PedestrianGraph.distanceMeters(
+                        graph.lat(node), graph.lng(node), graph.lat(target), graph.lng(target));
+                assertThat((double) graph.edgeLength(edge)).isGreaterThanOrEqualTo(straight);
+            }
+        }
+    }
+
+    @Test
+    void rejectsNegativeEdgeLength() throws IOException {
+        Path path = tempDir.resolve("bad.csv");
+        Files.writeString(path, "n,1,37.5,127.0\nn,2,37.5,127.001\ne,1,2,-5\n");
+
+        assertThatThrownBy(() -> PedestrianGraph.load(path)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void nearestNodeMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(11L);
+        for (int i = 0; i < 500; i++) {
+            double lat = BASE_LAT - 0.001 + random.nextDouble() * (ROWS * SPACING + 0.002);
+            double lng = BASE_LNG - 0.001 + random.nextDouble() * (COLS * SPACING + 0.002);
+
+            int expected = -1;
+            double best = 150;
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                double meters = PedestrianGraph.distanceMeters(lat, lng, graph.lat(node), graph.lng(node));
+                if (meters <= best) {
+                    best = meters;
+                    expected = node;
+                }
+            }
+
+            int actual = graph.nearestNode(lat, lng, 150);
+            if (expected < 0) {
+                assertThat(actual).isEqualTo(-1);
+            } else {
+                assertThat(PedestrianGraph.distanceMeters(lat, lng, graph.lat(actual), graph.lng(actual)))
+                        .isCloseTo(best, within(1e-9));
+            }
+        }
+        assertThat(graph.nearestNode(BASE_LAT - 0.05, BASE_LNG, 150)).isEqualTo(-1);
+    }
+
+    @Test
+    void shortestPathMatchesDijkstra() {
+        assertMatchesDijkstra(0.0, null, 1.0, 1L);
+    }
+
+    @Test
+    void safetyWeightedPathMatchesDijkstra() {
+        assertMatchesDijkstra(3.0, null, 1.0, 2L);
+    }
+
+    @Test
+    void penalizedAlternativeMatchesDijkstra() {
+        SafetyWeightedRouter.RoutePath first = router.search(0, ROWS * COLS - 1, risk, 1.0, null, 1.0, MAX_SETTLED);
+        assertThat(first).isNotNull();
+        boolean[] penalized = new boolean[graph.nodeCount()];
+        for (int node : first.nodes) {
+            penalized[node] = true;
+        }
+
+        assertMatchesDijkstra(1.0, penalized, 1.5, 3L);
+
+        SafetyWeightedRouter.RoutePath alternative =
+                router.search(0, ROWS * COLS - 1, risk, 1.0, penalized, 1.5, MAX_SETTLED);
+        assertThat(alternative).isNotNull();
+        assertThat(cost(alternative.nodes, 1.0, penalized, 1.5))
+                .isCloseTo(dijkstra(0, ROWS * COLS - 1, 1.0, penalized, 1.5), within(1e-6));
+    }
+
+    @Test
+    void unreachableTargetReturnsNull() {
+        assertThat(router.search(0, isolatedNode, risk, 1.0, null, 1.0, MAX_SETTLED)).isNull();
+        // 실패한 탐색 뒤에도 상태 재사용이 정상인지
+        assertThat(router.search(0, COLS - 1, risk, 1.0, null, 1.0, MAX_SETTLED)).isNotNull();
+    }
+
+    @Test
+    void maxSettledLimitStopsSearch() {
+        int far = ROWS * COLS - 1;
+        assertThat(router.search(0, far, risk, 0.0, null, 1.0, 5)).isNull();
+        assertThat(router.search(0, far, risk, 0.0, null, 1.0, MAX_SETTLED)).isNotNull();
+    }
+
+    @Test
+    void sameSourceAndTarget() {
+        SafetyWeightedRouter.RoutePath path = router.search(42, 42, risk, 1.0, null, 1.0, MAX_SETTLED);
+
+        assertThat(path).isNotNull();
+        assertThat(path.nodes).containsExactly(42);
+        assertThat(path.lengthMeters).isZero();
+    }
+
+    @Test
+    void concurrentSearchesShareBoundedStatePool() throws Exception {
+        int nodes = ROWS * COLS;
+        SplittableRandom random = new SplittableRandom(5L);
+        int[][] queries = new int[200][];
+        double[] expected = new double[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new int[]{random.nextInt(nodes), random.nextInt(nodes)};
+            expected[i] = dijkstra(queries[i][0], queries[i][1], 1.0, null, 1.0);
+        }
+
+        // 풀 크기(CPU 수) 보다 많은 스레드가 동시에 상태를 빌려 감
+        int threads = Runtime.getRuntime().availableProcessors() * 2 + 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int n = 0; n < queries.length; n++) {
+                        int i = (n + offset * 17) % queries.length;
+                        SafetyWeightedRouter.RoutePath path = router.search(
+                                queries[i][0], queries[i][1], risk, 1.0, null, 1.0, MAX_SETTLED);
+                        if (Double.isInfinite(expected[i])) {
+                            assertThat(path).isNull();
+                        } else {
+                            assertThat(path).isNotNull();
+                            assertThat(cost(path.nodes, 1.0, null, 1.0)).isCloseTo(expected[i], within(1e-6));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertMatchesDijkstra(double weight, boolean[] penalized, double penalty, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int nodes = ROWS * COLS;
+        // 같은 스레드에서 연속 탐색 (스탬프 재사용 경로)
+        for (int i = 0; i < 300; i++) {
+            int source = random.nextInt(nodes);
+            int target = random.nextInt(nodes);
+            double expected = dijkstra(source, target, weight, penalized, penalty);
+            SafetyWeightedRouter.RoutePath path =
+                    router.search(source, target, risk, weight, penalized, penalty, MAX_SETTLED);
+
+            if (Double.isInfinite(expected)) {
+                assertThat(path).isNull();
+                continue;
+            }
+            assertThat(path).isNotNull();
+            assertThat(path.nodes[0]).isEqualTo(source);
+            assertThat(path.nodes[path.nodes.length - 1]).isEqualTo(target);
+            assertThat(cost(path.nodes, weight, penalized, penalty)).isCloseTo(expected, within(1e-6));
+            assertThat(path.lengthMeters).isCloseTo(length(path.nodes), within(1e-6));
+        }
+    }
+
+    private double edgeCost(int from, int edge, double weight, boolean[] penalized, double penalty, int target) {
+        int next = graph.edgeTarget(edge);
+        double cost = graph.edgeLength(edge) * (1.0 + weight * risk[edge]);
+        if (penalized != null && penalized[next] && next != target) {
+            cost *= penalty;
+        }
+        return cost;
+    }
+
+    // 경로 노드 순서대로 간선 비용 합 (연결되지 않은 노드가 있으면 실패)
+    private double cost(int[] nodes, double weight, boolean[] penalized, double penalty) {
+        int target = nodes[nodes.length - 1];
+        double total = 0;
+        for (int i = 0; i + 1 < nodes.length; i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (int edge = graph.firstEdge(nodes[i]); edge < graph.endEdge(nodes[i]); edge++) {
+                if (graph.edgeTarget(edge) == nodes[i + 1]) {
+                    best = Math.min(best, edgeCost(nodes[i], edge, weight, penalized, penalty, target));
+                }
+            }
+            assertThat(best).as("간선 없음: " + nodes[i] + " → " + nodes[i + 1]).isFinite();
+            total += best;
+        }
+        return total;
+    }
+
+    private double length(int[] nodes) {
+        double total = 0;
+        for (int i = 0; i + 1 < nodes.length; i++) {
+            total += graph.edgeLength(findEdge(nodes[i], nodes[i + 1]));
+        }
+        return total;
+    }
+
+    private int findEdge(int from, int to) {
+        for (int edge = graph.firstEdge(from); edge < graph.endEdge(from); edge++) {
+            if (graph.edgeTarget(edge) == to) {
+                return edge;
+            }
+        }
+        return -1;
+    }
+
+    // 휴리스틱 없는 기준 Dijkstra, 도달 불가면 무한대
+    private double dijkstra(int source, int target, double weight, boolean[] penalized, double penalty) {
+        double[] dist = new double[graph.nodeCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        queue.add(new double[]{0, source});
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int node = (int) top[1];
+            if (top[0] > dist[node]) {
+                continue;
+            }
+            if (node == target) {
+                return top[0];
+            }
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.edgeTarget(edge);
+                double candidate = top[0] + edgeCost(node, edge, weight, penalized, penalty, target);
+                if (candidate < dist[next]) {
+                    dist[next] = candidate;
+                    queue.add(new double[]{candidate, next});
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,196 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.dto.request.PathSearchRequest;
+import likelion._th.ganzithon.dto.response.PathSearchResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// PathResponseCache 동시 요청 공유 / 취소 후 재시도 / 실패 미캐시 / stale 재계산
+class PathResponseCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // 백그라운드 재계산은 테스트에서 직접 실행
+    private final List<Runnable> refreshQueue = new ArrayList<>();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentRequestsShareOneComputation() throws Exception {
+        PathResponseCache cache = cache(240);
+        PathSearchResponse response = response("shared");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<PathSearchResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> cache.get(request(37.5, 127.0), () -> {
+                calls.incrementAndGet();
+                release.await();
+                return response;
+            })));
+        }
+        awaitCount("dedup", 7);
+        release.countDown();
+
+        for (Future<PathSearchResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void waitingRequestRetriesAfterCancellation() throws Exception {
+        PathResponseCache cache = cache(240);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancel = new CountDownLatch(1);
+        PathSearchResponse retried = response("retried");
+
+        Future<PathSearchResponse> first = callers.submit(() -> cache.get(request(37.5, 127.0), () -> {
+            started.countDown();
+            cancel.await();
+            throw new CancellationException("클라이언트 이탈");
+        }));
+        started.await();
+        Future<PathSearchResponse> second = callers.submit(() -> cache.get(request(37.5, 127.0), () -> retried));
+        awaitCount("dedup", 1);
+        cancel.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(CancellationException.class);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(retried);
+        // 재시도 결과가 캐시됨
+        assertThat(cache.get(request(37.5, 127.0), this::failingLoader)).isSameAs(retried);
+    }
+
+    @Test
+    void failedComputationIsNotCached() throws Exception {
+        PathResponseCache cache = cache(240);
+
+        assertThatThrownBy(() -> cache.get(request(37.5, 127.0), this::failingLoader))
+                .isInstanceOf(IllegalStateException.class);
+
+        PathSearchResponse response = response("ok");
+        assertThat(cache.get(request(37.5, 127.0), () -> response)).isSameAs(response);
+        assertThat(cache.find(request(37.5, 127.0))).isSameAs(response);
+    }
+
+    @Test
+    void staleEntryIsServedWhileRefreshing() throws Exception {
+        PathResponseCache cache = cache(0);
+        PathSearchResponse old = response("old");
+        PathSearchResponse fresh = response("fresh");
+        cache.get(request(37.5, 127.0), () -> old);
+        Thread.sleep(5);
+
+        assertThat(cache.get(request(37.5, 127.0), () -> fresh)).isSameAs(old);
+        assertThat(cache.get(request(37.5, 127.0), () -> fresh)).isSameAs(old);
+        // 항목당 재계산은 1개만
+        assertThat(refreshQueue).hasSize(1);
+        assertThat(count("stale")).isEqualTo(2);
+
+        refreshQueue.remove(0).run();
+
+        assertThat(count("refresh")).isEqualTo(1);
+        assertThat(cache.find(request(37.5, 127.0))).isSameAs(fresh);
+    }
+
+    @Test
+    void staleRefreshUsesRefreshLoader() throws Exception {
+        PathResponseCache cache = cache(0);
+        PathSearchResponse old = response("old");
+        PathSearchResponse background = response("background");
+        cache.get(request(37.5, 127.0), () -> old);
+        Thread.sleep(5);
+
+        // 요청 쪽 loader 는 호출되지 않고, 재계산은 refreshLoader 로만 실행
+        assertThat(cache.get(request(37.5, 127.0), this::failingLoader, () -> background)).isSameAs(old);
+        refreshQueue.remove(0).run();
+
+        assertThat(cache.find(request(37.5, 127.0))).isSameAs(background);
+    }
+
+    @Test
+    void refreshAfterCountsFromCompletion() throws Exception {
+        PathResponseCache cache = cache(1);
+        PathSearchResponse response = response("slow");
+        cache.get(request(37.5, 127.0), () -> {
+            // refresh-after 보다 오래 걸리는 계산
+            Thread.sleep(1_200);
+            return response;
+        });
+
+        assertThat(cache.get(request(37.5, 127.0), this::failingLoader)).isSameAs(response);
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("stale")).isZero();
+        assertThat(refreshQueue).isEmpty();
+    }
+
+    @Test
+    void nearbyCoordinatesShareKey() {
+        PathResponseCache cache = cache(240);
+
+        assertThat(cache.key(request(37.50001, 127.00001))).isEqualTo(cache.key(request(37.5, 127.0)));
+        assertThat(cache.key(request(37.501, 127.0))).isNotEqualTo(cache.key(request(37.5, 127.0)));
+
+        PathSearchRequest withWaypoint = request(37.5, 127.0);
+        withWaypoint.setWaypointLat(37.49);
+        withWaypoint.setWaypointLng(127.01);
+        assertThat(cache.key(withWaypoint)).isNotEqualTo(cache.key(request(37.5, 127.0)));
+    }
+
+    private PathResponseCache cache(long refreshAfterSeconds) {
+        return new PathResponseCache(refreshQueue::add, true, 0.0005, 300, refreshAfterSeconds,
+                100, 5, new AnalysisMetrics(registry));
+    }
+
+    private PathSearchResponse failingLoader() {
+        throw new IllegalStateException("호출되면 안 됨");
+    }
+
+    private double count(String result) {
+        return registry.get("path.cache").tag("result", result).functionCounter().count();
+    }
+
+    private void awaitCount(String result, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(result) < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static PathSearchRequest request(double endLat, double endLng) {
+        PathSearchRequest request = new PathSearchRequest();
+        request.setStartLat(37.55);
+        request.setStartLng(126.97);
+        request.setEndLat(endLat);
+        request.setEndLng(endLng);
+        return request;
+    }
+
+    private static PathSearchResponse response(String message) {
+        return PathSearchResponse.builder().message(message).paths(List.of()).build();
+    }
+}
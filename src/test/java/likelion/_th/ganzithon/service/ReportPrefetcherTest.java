@@ -0,0 +1,118 @@
+package likelion._th.ganzithon.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.dto.request.ReportRequest;
+import likelion._th.ganzithon.dto.response.ReportResponse;
+import likelion._th.ganzithon.monitoring.AnalysisMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ReportPrefetcher 선생성 리포트 사용 / 조건 불일치 / 끝나지 않은 선생성 취소
+class ReportPrefetcherTest {
+
+    private static final long WAIT_MS = 50;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void completedPrefetchIsUsed() {
+        ReportPrefetcher prefetcher = prefetcher(Runnable::run);
+        ReportResponse response = new ReportResponse();
+        prefetcher.schedule("token", "출발", "도착", 80, "A", () -> response);
+
+        assertThat(prefetcher.take(request("token", 80, "A"))).containsSame(response);
+        assertThat(prefetcher.stats().getHits()).isEqualTo(1);
+        assertThat(prefetcher.stats().getUsed()).isEqualTo(1);
+    }
+
+    @Test
+    void mismatchedRequestIsMiss() {
+        ReportPrefetcher prefetcher = prefetcher(Runnable::run);
+        prefetcher.schedule("token", "출발", "도착", 80, "A", ReportResponse::new);
+
+        assertThat(prefetcher.take(request("token", 70, "B"))).isEmpty();
+        assertThat(prefetcher.take(request("other", 80, "A"))).isEmpty();
+
+        assertThat(prefetcher.stats().getMisses()).isEqualTo(1);
+        assertThat(prefetcher.stats().getNotPrefetched()).isEqualTo(1);
+    }
+
+    @Test
+    void runningPrefetchIsCancelledAfterShortWait() throws Exception {
+        ReportPrefetcher prefetcher = prefetcher(executor);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        prefetcher.schedule("token", "출발", "도착", 80, "A", () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return new ReportResponse();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        assertThat(prefetcher.take(request("token", 80, "A"))).isEmpty();
+
+        // 오래 기다리지 않고, 실행 중인 선생성은 interrupt 로 중단
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(prefetcher.stats().getMisses()).isEqualTo(1);
+        assertThat(prefetcher.stats().getFailed()).isZero();
+        // 취소된 선생성은 목록에서 빠짐
+        assertThat(prefetcher.take(request("token", 80, "A"))).isEmpty();
+        assertThat(prefetcher.stats().getNotPrefetched()).isEqualTo(1);
+    }
+
+    @Test
+    void queuedPrefetchIsSkippedAfterCancel() {
+        List<Runnable> queue = new ArrayList<>();
+        ReportPrefetcher prefetcher = prefetcher(queue::add);
+        AtomicBoolean called = new AtomicBoolean();
+        prefetcher.schedule("token", "출발", "도착", 80, "A", () -> {
+            called.set(true);
+            return new ReportResponse();
+        });
+
+        assertThat(prefetcher.take(request("token", 80, "A"))).isEmpty();
+        queue.remove(0).run();
+
+        assertThat(called).isFalse();
+        assertThat(prefetcher.stats().getCompleted()).isZero();
+    }
+
+    private static ReportPrefetcher prefetcher(Executor executor) {
+        return new ReportPrefetcher(executor, true, 100, 300, 100, WAIT_MS,
+                new AnalysisMetrics(new SimpleMeterRegistry()));
+    }
+
+    private static ReportRequest request(String routeToken, int score, String grade) {
+        return ReportRequest.builder()
+                .routeId("path-1")
+                .routeToken(routeToken)
+                .origin("출발")
+                .destination("도착")
+                .score(score)
+                .grade(grade)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package likelion._th.ganzithon.store;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.util.GridIndex;
+
+// store 테스트 공용 셀
+final class CellFixtures {
+
+    private CellFixtures() {
+    }
+
+    // 시설 개수는 항목마다 다르게 (항목 뒤바뀜 검출)
+    static FirebaseClient.SafetyCell cell(long latIdx, long lngIdx, int base, double score) {
+        return FirebaseClient.SafetyCell.builder()
+                .cellId(GridIndex.cellId(latIdx, lngIdx))
+                .cctvCount(base)
+                .lightCount(base + 1)
+                .storeCount(base * 2)
+                .policeCount(base % 3)
+                .schoolCount(base / 2)
+                .cptedScore(score)
+                .build();
+    }
+}
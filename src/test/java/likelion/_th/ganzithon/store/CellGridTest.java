@@ -0,0 +1,126 @@
+package likelion._th.ganzithon.store;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static likelion._th.ganzithon.store.CellFixtures.cell;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// CellGrid.sum / scoreRange (누적합 테이블, 블록 min/max) 를 forEach 전수 집계와 비교
+class CellGridTest {
+
+    private static final int RECTANGLES = 2_000;
+
+    @Test
+    void sumAndScoreRangeMatchBruteForce() {
+        // 서울 부근 인덱스, 블록(64) 경계를 여러 번 걸치도록
+        assertMatchesBruteForce(18_700, 63_380, 200, 230, 0.3, 1L);
+    }
+
+    @Test
+    void sparseGridWithEmptyBlocks() {
+        assertMatchesBruteForce(18_700, 63_380, 300, 300, 0.01, 2L);
+    }
+
+    @Test
+    void negativeIndicesAcrossZero() {
+        assertMatchesBruteForce(-100, -70, 200, 150, 0.4, 3L);
+    }
+
+    @Test
+    void emptyGrid() {
+        CellGrid grid = CellGrid.build(List.of());
+
+        assertThat(grid.isEmpty()).isTrue();
+        assertThat(grid.sum(0, 100, 0, 100).cells()).isZero();
+        assertThat(grid.scoreRange(0, 100, 0, 100)).isNull();
+    }
+
+    @Test
+    void duplicateCellKeepsLastValue() {
+        CellGrid grid = CellGrid.build(List.of(
+                cell(10, 10, 1, 2.0),
+                cell(10, 10, 5, 4.0)));
+
+        SummedAreaTable.RectSum sum = grid.sum(10, 10, 10, 10);
+        assertThat(grid.cellCount()).isEqualTo(1);
+        assertThat(sum.cells()).isEqualTo(1);
+        assertThat(sum.cctv()).isEqualTo(5);
+        assertThat(grid.scoreRange(0, 63, 0, 63)).containsExactly(4.0, 4.0);
+    }
+
+    private static void assertMatchesBruteForce(long baseLat, long baseLng, int rows, int cols,
+                                                double density, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<FirebaseClient.SafetyCell> cells = new ArrayList<>();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (random.nextDouble() < density) {
+                    cells.add(cell(baseLat + r, baseLng + c, random.nextInt(10),
+                            Math.round(random.nextDouble() * 50) / 10.0));
+                }
+            }
+        }
+        CellGrid grid = CellGrid.build(cells);
+        assertThat(grid.cellCount()).isEqualTo(cells.size());
+
+        for (int i = 0; i < RECTANGLES; i++) {
+            // 그리드 밖으로 최대 40 셀 나가는 사각형 포함
+            long minLat = baseLat - 40 + random.nextInt(rows + 80);
+            long maxLat = minLat + random.nextInt(150);
+            long minLng = baseLng - 40 + random.nextInt(cols + 80);
+            long maxLng = minLng + random.nextInt(150);
+            assertRectangle(grid, minLat, maxLat, minLng, maxLng);
+        }
+
+        // 블록 경계 정확히 맞춘 사각형 (scoreRange 블록 단위 경로)
+        long blockLat = Math.floorDiv(baseLat, CellGrid.BLOCK_SIZE) * CellGrid.BLOCK_SIZE + CellGrid.BLOCK_SIZE;
+        long blockLng = Math.floorDiv(baseLng, CellGrid.BLOCK_SIZE) * CellGrid.BLOCK_SIZE + CellGrid.BLOCK_SIZE;
+        assertRectangle(grid, blockLat, blockLat + CellGrid.BLOCK_SIZE - 1,
+                blockLng, blockLng + CellGrid.BLOCK_SIZE - 1);
+        assertRectangle(grid, blockLat, blockLat + 2 * CellGrid.BLOCK_SIZE - 1,
+                blockLng - 1, blockLng + CellGrid.BLOCK_SIZE);
+        // 전체 / 단일 셀 / 완전히 밖
+        assertRectangle(grid, baseLat - 1000, baseLat + 1000, baseLng - 1000, baseLng + 1000);
+        assertRectangle(grid, baseLat + 5, baseLat + 5, baseLng + 7, baseLng + 7);
+        assertRectangle(grid, baseLat + rows + 10, baseLat + rows + 20, baseLng, baseLng + cols);
+    }
+
+    private static void assertRectangle(CellGrid grid, long minLat, long maxLat, long minLng, long maxLng) {
+        long[] expected = new long[6];
+        double[] expectedScore = {0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        grid.forEach(minLat, maxLat, minLng, maxLng, (latIdx, lngIdx, cctv, light, store, police, school, score) -> {
+            expected[0]++;
+            expected[1] += cctv;
+            expected[2] += light;
+            expected[3] += store;
+            expected[4] += police;
+            expected[5] += school;
+            expectedScore[0] += score;
+            expectedScore[1] = Math.min(expectedScore[1], score);
+            expectedScore[2] = Math.max(expectedScore[2], score);
+        });
+
+        String rect = "[" + minLat + ".." + maxLat + "] x [" + minLng + ".." + maxLng + "]";
+        SummedAreaTable.RectSum sum = grid.sum(minLat, maxLat, minLng, maxLng);
+        assertThat(sum.cells()).as("cells " + rect).isEqualTo((int) expected[0]);
+        assertThat(sum.cctv()).as("cctv " + rect).isEqualTo(expected[1]);
+        assertThat(sum.light()).as("light " + rect).isEqualTo(expected[2]);
+        assertThat(sum.store()).as("store " + rect).isEqualTo(expected[3]);
+        assertThat(sum.police()).as("police " + rect).isEqualTo(expected[4]);
+        assertThat(sum.school()).as("school " + rect).isEqualTo(expected[5]);
+        assertThat(sum.scoreSum()).as("score " + rect).isCloseTo(expectedScore[0], within(1e-6));
+
+        double[] range = grid.scoreRange(minLat, maxLat, minLng, maxLng);
+        if (expected[0] == 0) {
+            assertThat(range).as("range " + rect).isNull();
+        } else {
+            assertThat(range).as("range " + rect).containsExactly(expectedScore[1], expectedScore[2]);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package likelion._th.ganzithon.store;
+
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.util.GridIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static likelion._th.ganzithon.store.CellFixtures.cell;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// MappedCellFile (L2 메모리 맵 해시 테이블) 저장 / 조회 / 덮어쓰기 / 최대 개수 / 세대 만료
+class MappedCellFileTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void putAndGetRoundTrip() throws IOException {
+        try (MappedCellFile file = MappedCellFile.create(tempDir.resolve("cells.bin"), 5_000, TTL)) {
+            SplittableRandom random = new SplittableRandom(1L);
+            Map<Long, FirebaseClient.SafetyCell> expected = new HashMap<>();
+            // 인접 셀 + 음수 인덱스 섞어서 충돌(linear probing) 경로도 지나가도록
+            while (expected.size() < 4_000) {
+                long latIdx = 18_700 + random.nextInt(-200, 200);
+                long lngIdx = random.nextBoolean() ? 63_380 + random.nextInt(100) : -random.nextInt(100);
+                FirebaseClient.SafetyCell cell = cell(latIdx, lngIdx, random.nextInt(50), random.nextDouble() * 100);
+                long key = GridIndex.packKey(latIdx, lngIdx);
+                if (expected.putIfAbsent(key, cell) == null) {
+                    assertThat(file.put(key, cell)).isTrue();
+                }
+            }
+
+            assertThat(file.size()).isEqualTo(expected.size());
+            expected.forEach((key, cell) -> assertSameCell(file.get(key, cell.getCellId()), cell));
+            assertThat(file.get(GridIndex.packKey(0, 0), GridIndex.cellId(0, 0))).isNull();
+        }
+    }
+
+    @Test
+    void absentCellIsStoredAsNegativeEntry() throws IOException {
+        try (MappedCellFile file = MappedCellFile.create(tempDir.resolve("cells.bin"), 100, TTL)) {
+            long key = GridIndex.packKey(18_700, 63_380);
+
+            assertThat(file.put(key, MappedCellFile.ABSENT)).isTrue();
+
+            assertThat(file.get(key, GridIndex.cellId(18_700, 63_380))).isSameAs(MappedCellFile.ABSENT);
+            assertThat(file.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void overwriteSwitchesBetweenAbsentAndPresent() throws IOException {
+        try (MappedCellFile file = MappedCellFile.create(tempDir.resolve("cells.bin"), 100, TTL)) {
+            long key = GridIndex.packKey(18_700, 63_380);
+            String cellId = GridIndex.cellId(18_700, 63_380);
+            FirebaseClient.SafetyCell first = cell(18_700, 63_380, 3, 42.5);
+            FirebaseClient.SafetyCell second = cell(18_700, 63_380, 9, 77.0);
+
+            file.put(key, MappedCellFile.ABSENT);
+            file.put(key, first);
+            assertSameCell(file.get(key, cellId), first);
+
+            file.put(key, MappedCellFile.ABSENT);
+            assertThat(file.get(key, cellId)).isSameAs(MappedCellFile.ABSENT);
+
+            file.put(key, second);
+            assertSameCell(file.get(key, cellId), second);
+            // 같은 키 덮어쓰기는 개수를 늘리지 않음
+            assertThat(file.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void stopsAcceptingNewKeysAtMaxEntries() throws IOException {
+        int maxEntries = 10;
+        try (MappedCellFile file = MappedCellFile.create(tempDir.resolve("cells.bin"), maxEntries, TTL)) {
+            for (int i = 0; i < maxEntries; i++) {
+                assertThat(file.put(GridIndex.packKey(i, i), cell(i, i, i, i))).isTrue();
+            }
+
+            long overflow = GridIndex.packKey(999, 999);
+            assertThat(file.put(overflow, cell(999, 999, 1, 1.0))).isFalse();
+            assertThat(file.put(overflow, MappedCellFile.ABSENT)).isFalse();
+            assertThat(file.get(overflow, GridIndex.cellId(999, 999))).isNull();
+            assertThat(file.size()).isEqualTo(maxEntries);
+
+            // 가득 찬 뒤에도 이미 있는 키는 덮어쓸 수 있음
+            FirebaseClient.SafetyCell updated = cell(3, 3, 30, 99.0);
+            assertThat(file.put(GridIndex.packKey(3, 3), updated)).isTrue();
+            assertSameCell(file.get(GridIndex.packKey(3, 3), updated.getCellId()), updated);
+            for (int i = 0; i < maxEntries; i++) {
+                assertThat(file.get(GridIndex.packKey(i, i), GridIndex.cellId(i, i))).isNotNull();
+            }
+        }
+    }
+
+    @Test
+    void entriesFromPreviousGenerationAreMisses() throws IOException {
+        AtomicLong now = new AtomicLong();
+        try (MappedCellFile file = MappedCellFile.create(tempDir.resolve("cells.bin"), 100, TTL, now::get)) {
+            long key = GridIndex.packKey(18_700, 63_380);
+            String cellId = GridIndex.cellId(18_700, 63_380);
+            long absentKey = GridIndex.packKey(18_701, 63_380);
+            file.put(key, cell(18_700, 63_380, 3, 42.5));
+            file.put(absentKey, MappedCellFile.ABSENT);
+
+            now.set(TTL.toNanos() - 1);
+            assertThat(file.get(key, cellId)).isNotNull();
+            assertThat(file.get(absentKey, GridIndex.cellId(18_701, 63_380))).isSameAs(MappedCellFile.ABSENT);
+
+            // ttl 이 지나면 값이 있는 셀도, 없는 셀 기록도 다시 조회해야 함
+            now.set(TTL.toNanos());
+            assertThat(file.get(key, cellId)).isNull();
+            assertThat(file.get(absentKey, GridIndex.cellId(18_701, 63_380))).isNull();
+
+            // 새 세대로 덮어쓰면 같은 슬롯을 다시 씀
+            FirebaseClient.SafetyCell updated = cell(18_700, 63_380, 9, 77.0);
+            assertThat(file.put(key, updated)).isTrue();
+            assertSameCell(file.get(key, cellId), updated);
+            assertThat(file.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void closeDeletesFile() throws IOException {
+        Path path = tempDir.resolve("cells.bin");
+        MappedCellFile file = MappedCellFile.create(path, 100, TTL);
+        assertThat(Files.exists(path)).isTrue();
+
+        file.close();
+
+        assertThat(Files.exists(path)).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidSize() {
+        assertThatThrownBy(() -> MappedCellFile.create(tempDir.resolve("cells.bin"), 0, TTL))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MappedCellFile.create(tempDir.resolve("cells.bin"), Integer.MAX_VALUE, TTL))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MappedCellFile.create(tempDir.resolve("cells.bin"), 100, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertSameCell(FirebaseClient.SafetyCell actual, FirebaseClient.SafetyCell expected) {
+        assertThat(actual).isNotNull().isNotSameAs(MappedCellFile.ABSENT);
+        assertThat(actual.getCellId()).isEqualTo(expected.getCellId());
+        assertThat(actual.getCctvCount()).isEqualTo(expected.getCctvCount());
+        assertThat(actual.getLightCount()).isEqualTo(expected.getLightCount());
+        assertThat(actual.getStoreCount()).isEqualTo(expected.getStoreCount());
+        assertThat(actual.getPoliceCount()).isEqualTo(expected.getPoliceCount());
+        assertThat(actual.getSchoolCount()).isEqualTo(expected.getSchoolCount());
+        assertThat(actual.getCptedScore()).isEqualTo(expected.getCptedScore());
+    }
+}
@@ -0,0 +1,116 @@
+package likelion._th.ganzithon.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import likelion._th.ganzithon.client.FirebaseClient;
+import likelion._th.ganzithon.util.GridIndex;
+import likelion._th.ganzithon.util.TtlCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// TieredCellStore: 원본이 없다고 확인한 셀만 negative cache, 확인하지 못한 셀은 다음 조회 때 다시 요청
+class TieredCellStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final FakeBackend backend = new FakeBackend();
+    private TieredCellStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new TieredCellStore(
+                backend,
+                new TtlCache<>(100, Duration.ofHours(1)),
+                MappedCellFile.create(tempDir.resolve("cells.bin"), 100, Duration.ofHours(1)),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void confirmedMissingCellIsNotFetchedAgain() throws Exception {
+        String present = GridIndex.cellId(18_700, 63_380);
+        String absent = GridIndex.cellId(18_700, 63_381);
+        backend.cells.put(present, cell(present));
+
+        assertThat(store.getCells(List.of(present, absent))).containsOnlyKeys(present);
+        assertThat(store.getCells(List.of(present, absent))).containsOnlyKeys(present);
+
+        assertThat(backend.requests).containsExactly(List.of(present, absent));
+    }
+
+    @Test
+    void unresolvedCellIsNotNegativeCached() throws Exception {
+        String present = GridIndex.cellId(18_700, 63_380);
+        String timedOut = GridIndex.cellId(18_700, 63_381);
+        backend.cells.put(present, cell(present));
+        backend.cells.put(timedOut, cell(timedOut));
+        backend.failing.add(timedOut);
+
+        Set<String> unresolved = new HashSet<>();
+        assertThat(store.getCells(List.of(present, timedOut), unresolved)).containsOnlyKeys(present);
+        assertThat(unresolved).containsExactly(timedOut);
+
+        // 원본이 회복되면 확인하지 못했던 셀만 다시 조회해서 받아 옴
+        backend.failing.clear();
+        assertThat(store.getCells(List.of(present, timedOut))).containsOnlyKeys(present, timedOut);
+
+        assertThat(backend.requests).containsExactly(List.of(present, timedOut), List.of(timedOut));
+    }
+
+    private static FirebaseClient.SafetyCell cell(String cellId) {
+        return FirebaseClient.SafetyCell.builder()
+                .cellId(cellId)
+                .cctvCount(1)
+                .cptedScore(50.0)
+                .build();
+    }
+
+    // failing 에 든 셀은 타임아웃난 배치처럼 결과에서 빠지고 unresolved 로 보고됨
+    private static class FakeBackend implements CellStore {
+        final Map<String, FirebaseClient.SafetyCell> cells = new HashMap<>();
+        final Set<String> failing = new HashSet<>();
+        final List<List<String>> requests = new ArrayList<>();
+
+        @Override
+        public Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds) {
+            return getCells(cellIds, new HashSet<>());
+        }
+
+        @Override
+        public Map<String, FirebaseClient.SafetyCell> getCells(List<String> cellIds, Set<String> unresolved) {
+            requests.add(List.copyOf(cellIds));
+            Map<String, FirebaseClient.SafetyCell> results = new HashMap<>();
+            for (String cellId : cellIds) {
+                if (failing.contains(cellId)) {
+                    unresolved.add(cellId);
+                } else if (cells.containsKey(cellId)) {
+                    results.put(cellId, cells.get(cellId));
+                }
+            }
+            return results;
+        }
+
+        @Override
+        public List<FirebaseClient.SafetyCell> scan(long minLatIdx, long maxLatIdx, long minLngIdx, long maxLngIdx) {
+            return List.of();
+        }
+    }
+}